@@ -13,7 +13,11 @@ import org.jpalite.JPACache;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @RegisterForReflection
@@ -26,7 +30,12 @@ public class JPALiteInfinispanCache implements JPACache
     private final String configuration;
     private final String regionPrefix;
 
-    private RemoteCacheManager remoteCacheManager;
+    /**
+     * The provider is shared by all the persistence contexts of a persistence unit, the region handles are resolved once
+     * and reused
+     */
+    private final Map<String, RemoteCache<String, ?>> regions = new ConcurrentHashMap<>();
+    private volatile RemoteCacheManager remoteCacheManager;
 
     public JPALiteInfinispanCache(String cacheClientName, String configuration, String regionPrefix)
     {
@@ -39,28 +48,62 @@ public class JPALiteInfinispanCache implements JPACache
                  regionPrefix);
     }
 
-    private <T> RemoteCache<String, T> getCache(String cacheRegion)
+    private synchronized RemoteCacheManager getRemoteCacheManager()
     {
         if (remoteCacheManager == null) {
             InstanceHandle<InfinispanClientProducer> infinispanClientProducer = Arc.container().instance(InfinispanClientProducer.class);
+            RemoteCacheManager cacheManager = null;
             if (infinispanClientProducer.isAvailable()) {
-                remoteCacheManager = infinispanClientProducer.get().getNamedRemoteCacheManager(cacheClientName);
+                cacheManager = infinispanClientProducer.get().getNamedRemoteCacheManager(cacheClientName);
             }//if
-            if (remoteCacheManager == null || !remoteCacheManager.isStarted()) {
-                remoteCacheManager = null;
+            if (cacheManager == null || !cacheManager.isStarted()) {
                 throw new CachingException("Error loading cache provider");
             }//if
+            remoteCacheManager = cacheManager;
         }//if
 
+        return remoteCacheManager;
+    }
 
-        RemoteCache<String, T> cache = remoteCacheManager.getCache(regionPrefix + cacheRegion);
+    private RemoteCache<String, ?> resolveCache(String cacheRegion)
+    {
+        RemoteCacheManager cacheManager = getRemoteCacheManager();
+        RemoteCache<String, ?> cache = cacheManager.getCache(regionPrefix + cacheRegion);
         if (cache == null) {
-            cache = remoteCacheManager.administration().getOrCreateCache(regionPrefix + cacheRegion, new StringConfiguration(configuration));
+            cache = cacheManager.administration().getOrCreateCache(regionPrefix + cacheRegion, new StringConfiguration(configuration));
         }//if
 
         return cache;
     }
 
+    /**
+     * Drop the cache manager and the region handles resolved from it. The next access resolves them again.
+     */
+    private synchronized void releaseHandles(RemoteCacheManager cacheManager)
+    {
+        if (remoteCacheManager == cacheManager) {
+            regions.clear();
+            remoteCacheManager = null;
+        }//if
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RemoteCache<String, T> getCache(String cacheRegion)
+    {
+        RemoteCacheManager cacheManager = remoteCacheManager;
+        if (cacheManager != null && !cacheManager.isStarted()) {
+            //The cache manager was stopped (eg. a Quarkus dev mode reload), the handles resolved from it are stale
+            releaseHandles(cacheManager);
+        }//if
+
+        RemoteCache<String, ?> cache = regions.get(cacheRegion);
+        if (cache == null) {
+            cache = regions.computeIfAbsent(cacheRegion, this::resolveCache);
+        }//if
+
+        return (RemoteCache<String, T>) cache;
+    }
+
     @Override
     public <T> T find(String cacheRegion, String key)
     {
@@ -68,6 +111,13 @@ public class JPALiteInfinispanCache implements JPACache
         return cache.get(key);
     }
 
+    @Override
+    public <T> Map<String, T> findAll(String cacheRegion, Collection<String> keys)
+    {
+        RemoteCache<String, T> cache = getCache(cacheRegion);
+        return cache.getAll(new HashSet<>(keys));
+    }
+
     @Override
     public boolean containsKey(String cacheRegion, String key)
     {
@@ -79,28 +129,49 @@ public class JPALiteInfinispanCache implements JPACache
     public <T> void add(String cacheRegion, String key, T value, long expireTime, TimeUnit expireTimeUnit)
     {
         getCache(cacheRegion).put(key, value, -1, TimeUnit.SECONDS, expireTime, expireTimeUnit);
-        getCache(REGION_TIMESTAMP_NAME).put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+        touch(cacheRegion);
     }
 
     @Override
     public <T> void replace(String cacheRegion, String key, T value, long expireTime, TimeUnit expireTimeUnit)
     {
         getCache(cacheRegion).replace(key, value, -1, TimeUnit.SECONDS, expireTime, expireTimeUnit);
-        getCache(REGION_TIMESTAMP_NAME).put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+        touch(cacheRegion);
     }
 
     @Override
     public void evict(String cacheRegion, String key)
     {
         getCache(cacheRegion).remove(key);
-        getCache(REGION_TIMESTAMP_NAME).put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+        touch(cacheRegion);
+    }
+
+    @Override
+    public <T> void putAll(String cacheRegion, Map<String, T> entries, long expireTime, TimeUnit expireTimeUnit)
+    {
+        if (!entries.isEmpty()) {
+            getCache(cacheRegion).putAll(entries, -1, TimeUnit.SECONDS, expireTime, expireTimeUnit);
+        }
+    }
+
+    @Override
+    public void removeAll(String cacheRegion, Collection<String> keys)
+    {
+        if (!keys.isEmpty()) {
+            //Hot Rod has no bulk remove, pipeline the removes and wait for all of them
+            RemoteCache<String, Object> cache = getCache(cacheRegion);
+            CompletableFuture.allOf(keys.stream()
+                                        .map(cache::removeAsync)
+                                        .toArray(CompletableFuture[]::new))
+                             .join();
+        }
     }
 
     @Override
     public void evictAll(String cacheRegion)
     {
         getCache(cacheRegion).clear();
-        getCache(REGION_TIMESTAMP_NAME).put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+        touch(cacheRegion);
     }
 
     @Override
@@ -117,11 +188,26 @@ public class JPALiteInfinispanCache implements JPACache
         RemoteCache<String, String> cache = getCache(REGION_TIMESTAMP_NAME);
         String lastModified = cache.get(cacheRegion);
         if (lastModified == null) {
+            //The value stored is not truncated so that a later read returns the same instant
             Instant time = Instant.now();
-            cache.put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(time.truncatedTo(ChronoUnit.MILLIS)));
+            cache.put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(time));
             return time;
         }
 
         return Instant.parse(lastModified);
     }
+
+    @Override
+    public void touch(String cacheRegion)
+    {
+        //The time is not truncated, two updates in the same millisecond must still change the timestamp
+        getCache(REGION_TIMESTAMP_NAME).put(cacheRegion, DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
+    }
+
+    @Override
+    public void close()
+    {
+        //The cache manager is owned by the Infinispan client extension, only the handles are released
+        releaseHandles(remoteCacheManager);
+    }
 }
@@ -0,0 +1,162 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite;
+
+/**
+ * Direct access to the fields of an entity. An implementation of the interface is generated for every entity class by
+ * the JPALite tooling and is named after the entity class with {@link #ACCESSOR_SUFFIX} appended. The generated class
+ * calls the getter and setter methods of the entity directly, avoiding the reflection overhead.
+ */
+public interface EntityAccessor
+{
+    /**
+     * The suffix appended to the entity class name to get the name of the generated accessor class
+     */
+    String ACCESSOR_SUFFIX = "$$JPALiteAccessor";
+
+    /**
+     * Find the accessor index assigned to a field. The method is only called when the entity metadata is built.
+     *
+     * @param fieldName The name of the field
+     * @return The index of the field or -1 if the field is not accessible via the accessor
+     */
+    int getFieldIndex(String fieldName);
+
+    /**
+     * Get the value of a field from the entity
+     *
+     * @param entity     The entity to get the value from
+     * @param fieldIndex The accessor index of the field
+     * @return The value retrieved from the entity
+     */
+    Object get(Object entity, int fieldIndex);
+
+    /**
+     * Set the value of a field on the entity
+     *
+     * @param entity     The entity to set the value on
+     * @param fieldIndex The accessor index of the field
+     * @param value      The value to set on the entity
+     */
+    void set(Object entity, int fieldIndex, Object value);
+
+    /**
+     * Set the value of a long field on the entity without boxing the value. The generated accessor calls the setter
+     * directly for fields declared as a primitive long, the default implementation boxes the value.
+     *
+     * @param entity     The entity to set the value on
+     * @param fieldIndex The accessor index of the field
+     * @param value      The value to set on the entity
+     */
+    default void setLong(Object entity, int fieldIndex, long value)
+    {
+        set(entity, fieldIndex, value);
+    }
+
+    /**
+     * Set the value of an int field on the entity without boxing the value.
+     *
+     * @param entity     The entity to set the value on
+     * @param fieldIndex The accessor index of the field
+     * @param value      The value to set on the entity
+     * @see #setLong(Object, int, long)
+     */
+    default void setInt(Object entity, int fieldIndex, int value)
+    {
+        set(entity, fieldIndex, value);
+    }
+
+    /**
+     * Set the value of a double field on the entity without boxing the value.
+     *
+     * @param entity     The entity to set the value on
+     * @param fieldIndex The accessor index of the field
+     * @param value      The value to set on the entity
+     * @see #setLong(Object, int, long)
+     */
+    default void setDouble(Object entity, int fieldIndex, double value)
+    {
+        set(entity, fieldIndex, value);
+    }
+
+    /**
+     * Set the value of a boolean field on the entity without boxing the value.
+     *
+     * @param entity     The entity to set the value on
+     * @param fieldIndex The accessor index of the field
+     * @param value      The value to set on the entity
+     * @see #setLong(Object, int, long)
+     */
+    default void setBoolean(Object entity, int fieldIndex, boolean value)
+    {
+        set(entity, fieldIndex, value);
+    }
+
+    /**
+     * Get the value of a long field from the entity without boxing the value. The generated accessor calls the getter
+     * directly for fields declared as a primitive long, the default implementation unboxes the value returned by
+     * {@link #get(Object, int)}.
+     *
+     * @param entity     The entity to get the value from
+     * @param fieldIndex The accessor index of the field
+     * @return The value retrieved from the entity
+     */
+    default long getLong(Object entity, int fieldIndex)
+    {
+        return (Long) get(entity, fieldIndex);
+    }
+
+    /**
+     * Get the value of an int field from the entity without boxing the value.
+     *
+     * @param entity     The entity to get the value from
+     * @param fieldIndex The accessor index of the field
+     * @return The value retrieved from the entity
+     * @see #getLong(Object, int)
+     */
+    default int getInt(Object entity, int fieldIndex)
+    {
+        return (Integer) get(entity, fieldIndex);
+    }
+
+    /**
+     * Get the value of a double field from the entity without boxing the value.
+     *
+     * @param entity     The entity to get the value from
+     * @param fieldIndex The accessor index of the field
+     * @return The value retrieved from the entity
+     * @see #getLong(Object, int)
+     */
+    default double getDouble(Object entity, int fieldIndex)
+    {
+        return (Double) get(entity, fieldIndex);
+    }
+
+    /**
+     * Get the value of a boolean field from the entity without boxing the value.
+     *
+     * @param entity     The entity to get the value from
+     * @param fieldIndex The accessor index of the field
+     * @return The value retrieved from the entity
+     * @see #getLong(Object, int)
+     */
+    default boolean getBoolean(Object entity, int fieldIndex)
+    {
+        return (Boolean) get(entity, fieldIndex);
+    }
+}//EntityAccessor
@@ -22,6 +22,9 @@ import jakarta.persistence.Cache;
 import jakarta.transaction.SystemException;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface EntityCache extends Cache
 {
@@ -61,6 +64,15 @@ public interface EntityCache extends Cache
 	 */
 	<T> T find(Class<T> entityType, Object primaryKey);
 
+	/**
+	 * Find all the entities with the given primary keys in a single cache lookup
+	 *
+	 * @param entityType  The entity type
+	 * @param primaryKeys The primary keys to look for
+	 * @return The entities found, keyed on the primary key. Keys not found in the cache are not included.
+	 */
+	<T> Map<Object, T> findAll(Class<T> entityType, Collection<?> primaryKeys);
+
 	/**
 	 * Add an entity to the cache.
 	 *
@@ -76,6 +88,51 @@ public interface EntityCache extends Cache
 	void replace(JPAEntity entity);
 
 
+	/**
+	 * Read the last modified time of the regions of the entity types used by a query. The timestamps must be read before
+	 * the query is executed and are stored with the result so that a change made while the query is running also
+	 * invalidates the result.
+	 *
+	 * @param entityTypes The entity types used by the query
+	 * @return The timestamps per region or null if the query result cache is disabled or an entity type is not cacheable
+	 */
+	Map<String, Instant> getRegionTimestamps(Collection<Class<?>> entityTypes);
+
+	/**
+	 * Find the result of a cached query. The result is only returned if the timestamps of the regions used by the query
+	 * are unchanged since the timestamps were read for the result.
+	 *
+	 * @param queryKey The key of the query, made up of the parsed query and the parameter values
+	 * @return The primary keys of the entities returned by the query or null if the result is not cached or stale
+	 */
+	List<Object> findQueryResult(Object queryKey);
+
+	/**
+	 * Add the result of a query to the query result cache
+	 *
+	 * @param queryKey         The key of the query, made up of the parsed query and the parameter values
+	 * @param primaryKeys      The primary keys of the entities returned by the query
+	 * @param regionTimestamps The region timestamps returned by {@link #getRegionTimestamps(Collection)} before the
+	 *                         query was executed
+	 */
+	void addQueryResult(Object queryKey, List<Object> primaryKeys, Map<String, Instant> regionTimestamps);
+
+	/**
+	 * Mark the region of an entity type as modified for rows that were changed without updating the cache, for example
+	 * an insert or a bulk update. The cached query results using the entity type are invalidated. In a transaction the
+	 * region is marked when the transaction is committed.
+	 *
+	 * @param entityType    The entity type
+	 * @param evictEntities If true the cached entities of the type are also evicted
+	 */
+	<T> void markModified(Class<T> entityType, boolean evictEntities);
+
+	/**
+	 * Evict all the regions for a change of which the entity types are not known, for example a native update. In a
+	 * transaction the regions are evicted when the transaction is committed.
+	 */
+	void markAllModified();
+
 	/**
 	 * Return the time for when an entity-type was last updated
 	 *
@@ -40,6 +40,96 @@ public interface EntityField
      */
     void invokeSetter(Object entity, Object value);
 
+    /**
+     * Set the value of a primitive long field without boxing the value. The default implementation boxes the value and
+     * calls {@link #invokeSetter(Object, Object)}.
+     *
+     * @param entity The entity to set the value on
+     * @param value  The value to set on the entity
+     */
+    default void invokeSetter(Object entity, long value)
+    {
+        invokeSetter(entity, (Object) value);
+    }
+
+    /**
+     * Set the value of a primitive int field without boxing the value.
+     *
+     * @param entity The entity to set the value on
+     * @param value  The value to set on the entity
+     */
+    default void invokeSetter(Object entity, int value)
+    {
+        invokeSetter(entity, (Object) value);
+    }
+
+    /**
+     * Set the value of a primitive double field without boxing the value.
+     *
+     * @param entity The entity to set the value on
+     * @param value  The value to set on the entity
+     */
+    default void invokeSetter(Object entity, double value)
+    {
+        invokeSetter(entity, (Object) value);
+    }
+
+    /**
+     * Set the value of a primitive boolean field without boxing the value.
+     *
+     * @param entity The entity to set the value on
+     * @param value  The value to set on the entity
+     */
+    default void invokeSetter(Object entity, boolean value)
+    {
+        invokeSetter(entity, (Object) value);
+    }
+
+    /**
+     * Get the value of a primitive long field without boxing the value. The default implementation unboxes the value
+     * returned by {@link #invokeGetter(Object)}.
+     *
+     * @param entity The entity to get the value from
+     * @return The value retrieved from the entity
+     */
+    default long invokeLongGetter(Object entity)
+    {
+        return (Long) invokeGetter(entity);
+    }
+
+    /**
+     * Get the value of a primitive int field without boxing the value.
+     *
+     * @param entity The entity to get the value from
+     * @return The value retrieved from the entity
+     */
+    default int invokeIntGetter(Object entity)
+    {
+        return (Integer) invokeGetter(entity);
+    }
+
+    /**
+     * Get the value of a primitive double field without boxing the value.
+     *
+     * @param entity The entity to get the value from
+     * @return The value retrieved from the entity
+     */
+    default double invokeDoubleGetter(Object entity)
+    {
+        return (Double) invokeGetter(entity);
+    }
+
+    /**
+     * Get the value of a primitive boolean field without boxing the value.
+     *
+     * @param entity The entity to get the value from
+     * @return The value retrieved from the entity
+     */
+    default boolean invokeBooleanGetter(Object entity)
+    {
+        return (Boolean) invokeGetter(entity);
+    }
+
     /**
      * Method to get the class of the entity
      *
@@ -17,6 +17,7 @@
 
 package org.jpalite;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface EntityLocalCache
@@ -65,6 +66,29 @@ public interface EntityLocalCache
 	 */
 	void foreach(Consumer<Object> action);
 
+	/**
+	 * Register an attached entity as dirty (the entity has a pending action or needs a version update). Only dirty
+	 * entities are visited when the persistence context is flushed. Entities not attached to the cache are ignored.
+	 *
+	 * @param entity The entity that was changed
+	 */
+	void markDirty(JPAEntity entity);
+
+	/**
+	 * Remove and return all the dirty entities in the order that they were marked as dirty.
+	 *
+	 * @return The list of dirty entities
+	 */
+	List<JPAEntity> drainDirty();
+
+	/**
+	 * Remove and return all the dirty entities of type entityType in the order that they were marked as dirty.
+	 *
+	 * @param entityType The entity class type
+	 * @return The list of dirty entities
+	 */
+	List<JPAEntity> drainDirty(Class<?> entityType);
+
 	/**
 	 * Attach an entity to the cache and mark the entity as ATTACHED. If there is no active transaction the entity will
 	 * not be attached and the entity will be marked as DETACHED.
@@ -18,8 +18,11 @@
 package org.jpalite;
 
 import org.jpalite.impl.ConverterClassImpl;
+import org.jpalite.impl.EntityGraphImpl;
 import org.jpalite.impl.EntityMetaDataImpl;
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +30,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.ServiceLoader;
@@ -41,9 +46,35 @@ public class EntityMetaDataManager
 	private static final Map<String, EntityMetaData<?>> REGISTRY_ENTITY_CLASSES = new ConcurrentHashMap<>();
 	private static final Map<String, String> REGISTRY_ENTITY_NAMES = new ConcurrentHashMap<>();
 	private static final Map<Class<?>, ConverterClass> REGISTRY_CONVERTERS = new ConcurrentHashMap<>();
+	/**
+	 * The named entity graphs. The graphs defined with {@link NamedEntityGraph} on the entities are only loaded on first
+	 * use as the subgraphs can reference entities that are not yet registered.
+	 */
+	private static final Map<String, EntityGraph<?>> REGISTRY_ENTITY_GRAPHS = new ConcurrentHashMap<>();
+	private static volatile boolean entityGraphsLoaded = false;
+	/**
+	 * Per class lookup of the metadata. The ClassValue avoids the canonical name lookup (and string hashing) done on
+	 * every call to {@link #getMetaData(Class)}. A holder is cached rather than the metadata itself so that classes
+	 * that are looked up before they are registered are picked up once they are registered.
+	 */
+	private static final ClassValue<MetaDataHolder> REGISTRY_CLASS_VALUES = new ClassValue<>()
+	{
+		@Override
+		protected MetaDataHolder computeValue(Class<?> type)
+		{
+			MetaDataHolder holder = new MetaDataHolder();
+			holder.metaData = REGISTRY_ENTITY_CLASSES.get(type.getCanonicalName());
+			return holder;
+		}//computeValue
+	};
 	private static boolean registryLoaded = false;
 	private static final ReentrantLock lock = new ReentrantLock();
 
+	private static final class MetaDataHolder
+	{
+		private volatile EntityMetaData<?> metaData;
+	}//MetaDataHolder
+
 	static {
 		loadEntities();
 	}
@@ -109,16 +140,30 @@ public class EntityMetaDataManager
 	}//getEntityCount
 
 	@Nonnull
+	@SuppressWarnings("unchecked")
 	public static <T> EntityMetaData<T> getMetaData(Class<?> entityName)
 	{
-		EntityMetaData metaData = REGISTRY_ENTITY_CLASSES.get(entityName.getCanonicalName());
+		EntityMetaData<?> metaData = findMetaData(entityName);
 		if (metaData == null) {
 			throw new IllegalArgumentException(entityName.getCanonicalName() + " is not a known entity or not yet registered");
 		}//if
 
-		return metaData;
+		return (EntityMetaData<T>) metaData;
 	}//getMetaData
 
+	private static EntityMetaData<?> findMetaData(Class<?> entityClass)
+	{
+		MetaDataHolder holder = REGISTRY_CLASS_VALUES.get(entityClass);
+		EntityMetaData<?> metaData = holder.metaData;
+		if (metaData == null && entityClass.getCanonicalName() != null) {
+			//Not registered when the holder was created, check if it has been registered since then
+			metaData        = REGISTRY_ENTITY_CLASSES.get(entityClass.getCanonicalName());
+			holder.metaData = metaData;
+		}//if
+
+		return metaData;
+	}//findMetaData
+
 	public static void registerConverter(@Nonnull FieldConvertType<?, ?> converter)
 	{
 		ConverterClass convertClass = new ConverterClassImpl(converter);
@@ -135,13 +180,75 @@ public class EntityMetaDataManager
 
 		REGISTRY_ENTITY_NAMES.put(metaData.getName(), metaData.getEntityClass().getCanonicalName());
 		REGISTRY_ENTITY_CLASSES.put(metaData.getEntityClass().getCanonicalName(), metaData);
+		REGISTRY_CLASS_VALUES.get(metaData.getEntityClass()).metaData = metaData;
 	}//register
 
 	public static boolean isRegistered(Class<?> entityName)
 	{
-		return REGISTRY_ENTITY_CLASSES.containsKey(entityName.getCanonicalName());
+		return findMetaData(entityName) != null;
 	}//isRegistered
 
+	private static void loadEntityGraphs()
+	{
+		if (!entityGraphsLoaded) {
+			lock.lock();
+			try {
+				if (!entityGraphsLoaded) {
+					for (EntityMetaData<?> metaData : REGISTRY_ENTITY_CLASSES.values()) {
+						for (NamedEntityGraph namedEntityGraph : metaData.getEntityClass().getAnnotationsByType(NamedEntityGraph.class)) {
+							EntityGraph<?> graph = EntityGraphImpl.fromAnnotation(namedEntityGraph, metaData.getEntityClass());
+							REGISTRY_ENTITY_GRAPHS.putIfAbsent(graph.getName(), graph);
+						}//for
+					}//for
+					entityGraphsLoaded = true;
+				}//if
+			}//try
+			finally {
+				lock.unlock();
+			}
+		}//if
+	}//loadEntityGraphs
+
+	/**
+	 * Register a named entity graph. An immutable copy of the graph is registered so that the named graph cannot be
+	 * changed by the caller afterwards.
+	 *
+	 * @param graphName   The name of the graph
+	 * @param entityGraph The graph, must be created by the JPALite entity manager
+	 */
+	public static void registerEntityGraph(@Nonnull String graphName, @Nonnull EntityGraph<?> entityGraph)
+	{
+		if (!(entityGraph instanceof EntityGraphImpl<?> graph)) {
+			throw new IllegalArgumentException("Only entity graphs created by the JPALite entity manager can be registered");
+		}//if
+
+		loadEntityGraphs();
+		REGISTRY_ENTITY_GRAPHS.put(graphName, graph.copy(graphName, true));
+	}//registerEntityGraph
+
+	public static EntityGraph<?> getEntityGraph(@Nonnull String graphName)
+	{
+		loadEntityGraphs();
+		EntityGraph<?> graph = REGISTRY_ENTITY_GRAPHS.get(graphName);
+		if (graph == null) {
+			throw new IllegalArgumentException(graphName + " is not a known entity graph");
+		}//if
+		return graph;
+	}//getEntityGraph
+
+	@SuppressWarnings("unchecked")
+	public static <T> List<EntityGraph<? super T>> getEntityGraphs(@Nonnull Class<T> entityClass)
+	{
+		loadEntityGraphs();
+		List<EntityGraph<? super T>> graphs = new ArrayList<>();
+		for (EntityGraph<?> graph : REGISTRY_ENTITY_GRAPHS.values()) {
+			if (graph instanceof EntityGraphImpl<?> graphImpl && graphImpl.getClassType().isAssignableFrom(entityClass)) {
+				graphs.add((EntityGraph<? super T>) graph);
+			}//if
+		}//for
+		return graphs;
+	}//getEntityGraphs
+
 	public static ConverterClass getConvertClass(Class<?> attributeType)
 	{
 		return REGISTRY_CONVERTERS.get(attributeType);
@@ -18,14 +18,17 @@
 package org.jpalite;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.AttributeConverter;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * Interface for defining entities field types
@@ -61,6 +64,23 @@ public interface FieldConvertType<X, Y> extends AttributeConverter<X, Y>
      */
     X fromJson(JsonNode json);
 
+    /**
+     * Reads an instance of type X from a streaming {@link JsonParser}. The parser is positioned on the first token of the
+     * value and must be left on the last token of the value.
+     * <p>
+     * The default implementation reads the value into a {@link JsonNode} and calls {@link #fromJson(JsonNode)}.
+     * Converters for scalar types should override the method to read the value directly from the parser.
+     *
+     * @param parser the JSON parser to read from
+     * @return an instance of type X read from the parser
+     * @throws IOException if an I/O error occurs while reading the value
+     */
+    default X fromJson(JsonParser parser) throws IOException
+    {
+        JsonNode json = parser.readValueAsTree();
+        return fromJson(json);
+    }
+
     /**
      * Writes a field value to a DataOutputStream.
      *
@@ -80,6 +100,29 @@ public interface FieldConvertType<X, Y> extends AttributeConverter<X, Y>
     X readField(DataInputStream in) throws IOException;
 
 
+    /**
+     * Binds a database column value, as returned by {@link #convertToDatabaseColumn(Object)}, to a parameter of a
+     * prepared statement.
+     * <p>
+     * The default implementation binds the value without a type and leaves it to the database to infer the type of the
+     * parameter. Converters for a type with a JDBC equivalent should override the method and use the typed setter, which
+     * allows the driver to send the value in binary form and the server to reuse the prepared statement.
+     *
+     * @param statement the prepared statement
+     * @param index     the parameter index, starting at 1
+     * @param value     the database column value, may be null
+     * @throws SQLException if the parameter could not be set
+     */
+    default void setParameter(PreparedStatement statement, int index, Y value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.OTHER);
+        }
+        else {
+            statement.setObject(index, value, Types.OTHER);
+        }
+    }
+
     /**
      * Converts a value from a database column to an entity attribute of type X using an attribute converter.
      *
@@ -91,6 +134,56 @@ public interface FieldConvertType<X, Y> extends AttributeConverter<X, Y>
     @SuppressWarnings("unchecked")
     default X convertToEntityAttribute(ResultSet resultSet, int column) throws SQLException
     {
-        return (resultSet.wasNull() ? null : convertToEntityAttribute((Y) resultSet.getObject(column)));
+        Object value = resultSet.getObject(column);
+        return (value == null ? null : convertToEntityAttribute((Y) value));
+    }
+
+    /**
+     * Reads a column from the result set and sets the value on the entity field.
+     * <p>
+     * The default implementation calls {@link #convertToEntityAttribute(ResultSet, int)} and sets the converted value.
+     * Converters for primitive attribute types should override the method to read the column with the typed getter and
+     * call the matching primitive {@link EntityField#invokeSetter(Object, long)} overload so that the value is not boxed.
+     *
+     * @param resultSet the ResultSet object representing the database result set
+     * @param column    the column index of the attribute in the ResultSet object
+     * @param field     the entity field to set
+     * @param entity    the entity to set the value on
+     * @throws SQLException if an error occurs while accessing the ResultSet object
+     */
+    default void readAttribute(ResultSet resultSet, int column, EntityField field, Object entity) throws SQLException
+    {
+        field.invokeSetter(entity, convertToEntityAttribute(resultSet, column));
+    }
+
+    /**
+     * Writes the value of the entity field to the binary cache stream.
+     * <p>
+     * The default implementation calls {@link #writeField(Object, DataOutputStream)} with the value of the field.
+     * Converters for primitive attribute types should override the method to get the value with the matching primitive
+     * getter, for example {@link EntityField#invokeLongGetter(Object)}, so that the value is not boxed.
+     *
+     * @param field  the entity field to write
+     * @param entity the entity to get the value from
+     * @param out    the stream to write the value to
+     * @throws IOException if an error occurs while writing to the stream
+     */
+    default void writeAttribute(EntityField field, Object entity, DataOutputStream out) throws IOException
+    {
+        writeField(field.invokeGetter(entity), out);
+    }
+
+    /**
+     * Reads the value of the entity field from the binary cache stream and sets the value on the entity.
+     *
+     * @param in     the stream to read the value from
+     * @param field  the entity field to set
+     * @param entity the entity to set the value on
+     * @throws IOException if an error occurs while reading from the stream
+     * @see #writeAttribute(EntityField, Object, DataOutputStream)
+     */
+    default void readAttribute(DataInputStream in, EntityField field, Object entity) throws IOException
+    {
+        field.invokeSetter(entity, readField(in));
     }
 }
@@ -1,12 +1,32 @@
 package org.jpalite;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 public interface JPACache
 {
 	<T> T find(String cacheRegion, String key);
 
+	/**
+	 * Find all the keys in a region using as few round trips as possible. Keys that are not found are not included in
+	 * the returned map. Providers should override the default implementation that finds the keys one by one.
+	 */
+	default <T> Map<String, T> findAll(String cacheRegion, Collection<String> keys)
+	{
+		Map<String, T> values = new HashMap<>();
+		for (String key : keys) {
+			T value = find(cacheRegion, key);
+			if (value != null) {
+				values.put(key, value);
+			}//if
+		}//for
+
+		return values;
+	}
+
 	boolean containsKey(String cacheRegion, String key);
 
 	<T> void add(String cacheRegion, String key, T value, long expireTime, TimeUnit expireTimeUnit);
@@ -15,9 +35,48 @@ public interface JPACache
 
 	void evict(String cacheRegion, String key);
 
+	/**
+	 * Add or replace all the entries in a region using as few round trips as possible. The region timestamp is not
+	 * updated, the caller calls {@link #touch(String)} once all the writes to the region were made. Providers should
+	 * override the default implementation that stores the entries one by one.
+	 */
+	default <T> void putAll(String cacheRegion, Map<String, T> entries, long expireTime, TimeUnit expireTimeUnit)
+	{
+		entries.forEach((key, value) -> add(cacheRegion, key, value, expireTime, expireTimeUnit));
+	}
+
+	/**
+	 * Remove all the keys from a region using as few round trips as possible. The region timestamp is not updated, the
+	 * caller calls {@link #touch(String)} once all the writes to the region were made. Providers should override the
+	 * default implementation that removes the keys one by one.
+	 */
+	default void removeAll(String cacheRegion, Collection<String> keys)
+	{
+		keys.forEach(key -> evict(cacheRegion, key));
+	}
+
 	void evictAll(String cacheRegion);
 
 	void evictAllRegions();
 
 	Instant getLastModified(String cacheRegion);
+
+	/**
+	 * Update the last modified time of a region without changing its entries. Used to invalidate the cached query
+	 * results when rows were changed without updating the cache, for example by an insert or a bulk update. Providers
+	 * should override the default implementation that evicts the whole region.
+	 */
+	default void touch(String cacheRegion)
+	{
+		evictAll(cacheRegion);
+	}
+
+	/**
+	 * Release the connections and region handles held by the provider. Called when the entity manager factory is
+	 * closed. Persistence contexts created before the close may still use the provider, in which case the resources
+	 * must be resolved again.
+	 */
+	default void close()
+	{
+	}
 }
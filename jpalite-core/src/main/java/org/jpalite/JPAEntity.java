@@ -21,6 +21,7 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.spi.LoadState;
 
+
 import java.io.Serializable;
 import java.sql.ResultSet;
 import java.util.Map;
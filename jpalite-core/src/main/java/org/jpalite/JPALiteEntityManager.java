@@ -18,6 +18,7 @@
 package org.jpalite;
 
 import jakarta.annotation.Nonnull;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Query;
@@ -68,6 +69,15 @@ public interface JPALiteEntityManager extends EntityManager, Closeable
 	 * If set to true entities retrieved in {@link Query#getResultList()} is also cached
 	 */
 	String PERSISTENCE_CACHE_RESULTLIST = "jpalite.cache.resultList";
+	/**
+	 * Valid values are TRUE or FALSE. If set to true the primary keys of the entities returned by
+	 * {@link Query#getResultList()} are kept in the query result cache. The next execution of the query with the same
+	 * parameters reads the entities from the L1 and L2 caches instead of the database for as long as none of the
+	 * entity types used in the query is modified and the result is not older than
+	 * <code>jpalite.persistence.l2cache.query.maxAge</code>. Only JPQL queries returning cacheable entities and executed
+	 * outside a transaction use the query result cache.
+	 */
+	String PERSISTENCE_CACHE_QUERY = "jpalite.cache.query";
 
 
 	/**
@@ -82,11 +92,55 @@ public interface JPALiteEntityManager extends EntityManager, Closeable
 	 * or LAZYly fetched.
 	 */
 	String PERSISTENCE_OVERRIDE_FETCHTYPE = "jpalite.override.FetchType";
+	/**
+	 * The value is an {@link EntityGraph} or the name of a named entity graph.
+	 * <p>
+	 * Hint the JQPL parser to only join the associations and select the basic fields listed in the graph. Attributes not
+	 * in the graph are treated as LAZY. The id fields are always fetched.
+	 */
+	String PERSISTENCE_FETCHGRAPH = "jakarta.persistence.fetchgraph";
+	/**
+	 * The value is an {@link EntityGraph} or the name of a named entity graph.
+	 * <p>
+	 * Hint the JQPL parser to join the associations listed in the graph. Attributes not in the graph are fetched
+	 * according to their fetch type.
+	 */
+	String PERSISTENCE_LOADGRAPH = "jakarta.persistence.loadgraph";
 	/**
 	 * Valid values are TRUE or FALSE. If the setting is not recognized it is ignored. A hint that can be passed to the
 	 * Entity Manager or any Query to log the actual query that is executed.
 	 */
 	String PERSISTENCE_SHOW_SQL = "jpalite.showSql";
+	/**
+	 * The jpalite.query.fetchSize hint defines the number of rows the JDBC driver fetches per round trip when the result
+	 * of a query is streamed using {@link Query#getResultStream()}. If not set the value of the jpalite.query.fetchSize
+	 * configuration property (default 100) is used.
+	 */
+	String PERSISTENCE_QUERY_FETCH_SIZE = "jpalite.query.fetchSize";
+	/**
+	 * Valid values are TRUE or FALSE. If set to true, entities returned by {@link Query#getResultStream()} are not
+	 * attached to the L1 cache of the persistence context and are returned in a DETACHED state. This keeps the memory
+	 * footprint of a long-running stream flat.
+	 */
+	String PERSISTENCE_QUERY_STREAM_DETACH = "jpalite.query.stream.detach";
+	/**
+	 * The jpalite.persistence.jdbc.batchSize hint defines the maximum number of statements the persistence context will
+	 * group into a single JDBC batch when flushing entities of the same type and action to the database. A value of 1
+	 * or less disables batching and every entity is flushed using its own statement.
+	 */
+	String PERSISTENCE_JDBC_BATCH_SIZE = "jpalite.persistence.jdbc.batchSize";
+	/**
+	 * The jpalite.persistence.batchFetchSize hint defines the maximum number of lazy associations of the same type
+	 * (and field) that are loaded with a single query when one of them is accessed. A value of 1 or less disables batch
+	 * fetching and every association is loaded on its own.
+	 */
+	String PERSISTENCE_BATCH_FETCH_SIZE = "jpalite.persistence.batchFetchSize";
+	/**
+	 * Valid values are TRUE or FALSE. If set to true, the statements created by the persistence context do not time the
+	 * execution, capture the bound parameters or log the queries, including slow queries. The setting is read when the
+	 * connection is opened and is normally set as a property of the persistence unit.
+	 */
+	String PERSISTENCE_JDBC_PASS_THROUGH = "jpalite.persistence.jdbc.passThrough";
 
 	/**
 	 * Synchronize the entity to the underlying database.
@@ -140,6 +140,16 @@ public interface PersistenceContext extends EntityTransaction
 	 */
 	EntityCache l2Cache();
 
+	/**
+	 * Attach an entity read from the L2 cache to the L1 cache. Unless the fetch type is overridden with LAZY the lazy
+	 * fields of the entity are fetched, matching what a query for the entity would have returned.
+	 *
+	 * @param entity            The entity read from the L2 cache
+	 * @param overrideFetchType The value of the {@link JPALiteEntityManager#PERSISTENCE_OVERRIDE_FETCHTYPE} hint, either
+	 *                          a FetchType or its name, or null if not set
+	 */
+	void manageCachedEntity(@Nonnull JPAEntity entity, Object overrideFetchType);
+
 	/**
 	 * Map the ResultSet to the given entity and the entity to the persistence context
 	 *
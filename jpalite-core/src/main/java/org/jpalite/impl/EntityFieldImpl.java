@@ -114,6 +114,14 @@ public class EntityFieldImpl implements EntityField
      * The setter reflection method for the field
      */
     private Method setterMethod;
+    /**
+     * The accessor generated for the entity class by the tooling, null if there is none
+     */
+    private EntityAccessor accessor;
+    /**
+     * The index of the field in the generated accessor
+     */
+    private int accessorIndex;
     /**
      * The {@link CascadeType} assigned to the field.
      */
@@ -177,8 +185,19 @@ public class EntityFieldImpl implements EntityField
         findConverter(field);
 
         findGetterSetter(field);
+
+        findAccessor(entityMetaData);
     }//EntityField
 
+    private void findAccessor(EntityMetaDataImpl<?> entityMetaData)
+    {
+        accessor      = entityMetaData.getEntityAccessor();
+        accessorIndex = (accessor != null) ? accessor.getFieldIndex(name) : -1;
+        if (accessorIndex < 0) {
+            accessor = null;
+        }//if
+    }//findAccessor
+
     private void findGetterSetter(Field field)
     {
         String vMethod = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
@@ -404,6 +423,10 @@ public class EntityFieldImpl implements EntityField
     public Object invokeGetter(Object entity)
     {
         try {
+            if (accessor != null) {
+                return accessor.get(entity, accessorIndex);
+            }//if
+
             if (getter == null) {
                 throw new PersistenceException("No getter method found for " + enityClass.getName() + "::" + getName());
             }//if
@@ -420,6 +443,11 @@ public class EntityFieldImpl implements EntityField
     public void invokeSetter(Object entity, Object value)
     {
         try {
+            if (accessor != null) {
+                accessor.set(entity, accessorIndex, value);
+                return;
+            }//if
+
             if (setter == null) {
                 throw new PersistenceException("No setter method found for " + enityClass.getName() + "::" + getName());
             }//if
@@ -435,4 +463,128 @@ public class EntityFieldImpl implements EntityField
             throw new PersistenceException("Failed to invoke setter for " + enityClass.getName() + "::" + getName(), ex);
         }//catch
     }//invokeSetter
+
+    @Override
+    public void invokeSetter(Object entity, long value)
+    {
+        if (accessor == null) {
+            invokeSetter(entity, (Object) value);
+            return;
+        }//if
+
+        try {
+            accessor.setLong(entity, accessorIndex, value);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke setter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeSetter
+
+    @Override
+    public void invokeSetter(Object entity, int value)
+    {
+        if (accessor == null) {
+            invokeSetter(entity, (Object) value);
+            return;
+        }//if
+
+        try {
+            accessor.setInt(entity, accessorIndex, value);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke setter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeSetter
+
+    @Override
+    public void invokeSetter(Object entity, double value)
+    {
+        if (accessor == null) {
+            invokeSetter(entity, (Object) value);
+            return;
+        }//if
+
+        try {
+            accessor.setDouble(entity, accessorIndex, value);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke setter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeSetter
+
+    @Override
+    public void invokeSetter(Object entity, boolean value)
+    {
+        if (accessor == null) {
+            invokeSetter(entity, (Object) value);
+            return;
+        }//if
+
+        try {
+            accessor.setBoolean(entity, accessorIndex, value);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke setter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeSetter
+
+    @Override
+    public long invokeLongGetter(Object entity)
+    {
+        if (accessor == null) {
+            return (Long) invokeGetter(entity);
+        }//if
+
+        try {
+            return accessor.getLong(entity, accessorIndex);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke getter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeLongGetter
+
+    @Override
+    public int invokeIntGetter(Object entity)
+    {
+        if (accessor == null) {
+            return (Integer) invokeGetter(entity);
+        }//if
+
+        try {
+            return accessor.getInt(entity, accessorIndex);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke getter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeIntGetter
+
+    @Override
+    public double invokeDoubleGetter(Object entity)
+    {
+        if (accessor == null) {
+            return (Double) invokeGetter(entity);
+        }//if
+
+        try {
+            return accessor.getDouble(entity, accessorIndex);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke getter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeDoubleGetter
+
+    @Override
+    public boolean invokeBooleanGetter(Object entity)
+    {
+        if (accessor == null) {
+            return (Boolean) invokeGetter(entity);
+        }//if
+
+        try {
+            return accessor.getBoolean(entity, accessorIndex);
+        }//try
+        catch (RuntimeException ex) {
+            throw new PersistenceException("Failed to invoke getter for " + enityClass.getName() + "::" + getName(), ex);
+        }//catch
+    }//invokeBooleanGetter
 }//EntityFieldImpl
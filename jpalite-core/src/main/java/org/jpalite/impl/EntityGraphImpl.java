@@ -0,0 +1,336 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.jpalite.impl;
+
+import jakarta.annotation.Nonnull;
+import jakarta.persistence.*;
+import jakarta.persistence.metamodel.Attribute;
+import org.jpalite.EntityField;
+import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
+
+import java.util.*;
+
+/**
+ * A fetch plan for an entity. The graph is used as both the root {@link EntityGraph} and the {@link Subgraph} of the
+ * attributes, listing the associations that the JQPL parser must join when the graph is passed to a query using the
+ * {@link org.jpalite.JPALiteEntityManager#PERSISTENCE_FETCHGRAPH} or
+ * {@link org.jpalite.JPALiteEntityManager#PERSISTENCE_LOADGRAPH} hint.
+ * <p>
+ * Named entity graphs are registered as immutable copies, any attempt to add nodes to them (or to their subgraphs)
+ * fails with an {@link IllegalStateException}. Key and subclass subgraphs are not supported.
+ *
+ * @param <T> The entity or embeddable type
+ */
+public class EntityGraphImpl<T> implements EntityGraph<T>, Subgraph<T>
+{
+    private static final String NOT_SUPPORTED = "Key and subclass subgraphs are not supported";
+    private static final String IMMUTABLE = "A named entity graph cannot be modified, use createEntityGraph to create a mutable copy";
+    private final String name;
+    private final Class<T> classType;
+    /**
+     * The attribute nodes sorted by name so that the fetch plan of two graphs with the same nodes are the same
+     */
+    private final Map<String, AttributeNodeImpl<?>> attributeNodes;
+    private boolean immutable;
+
+    private static class AttributeNodeImpl<X> implements AttributeNode<X>
+    {
+        private final String attributeName;
+        private final Map<Class, Subgraph> subgraphs;
+
+        private AttributeNodeImpl(String attributeName)
+        {
+            this.attributeName = attributeName;
+            subgraphs          = new LinkedHashMap<>();
+        }
+
+        @Override
+        public String getAttributeName()
+        {
+            return attributeName;
+        }
+
+        @Override
+        public Map<Class, Subgraph> getSubgraphs()
+        {
+            return Collections.unmodifiableMap(subgraphs);
+        }
+
+        @Override
+        public Map<Class, Subgraph> getKeySubgraphs()
+        {
+            return Collections.emptyMap();
+        }
+    }//AttributeNodeImpl
+
+    public EntityGraphImpl(String name, @Nonnull Class<T> classType)
+    {
+        this.name      = name;
+        this.classType = classType;
+        attributeNodes = new TreeMap<>();
+    }//EntityGraphImpl
+
+    /**
+     * Build an entity graph from a {@link NamedEntityGraph} annotation found on the entity class
+     *
+     * @param namedEntityGraph The annotation
+     * @param entityClass      The entity class annotated with the named graph
+     * @return The entity graph
+     */
+    public static <T> EntityGraphImpl<T> fromAnnotation(@Nonnull NamedEntityGraph namedEntityGraph, @Nonnull Class<T> entityClass)
+    {
+        String graphName = namedEntityGraph.name().isEmpty() ? EntityMetaDataManager.getMetaData(entityClass).getName() : namedEntityGraph.name();
+        EntityGraphImpl<T> graph = new EntityGraphImpl<>(graphName, entityClass);
+
+        if (namedEntityGraph.includeAllAttributes()) {
+            for (EntityField field : EntityMetaDataManager.getMetaData(entityClass).getEntityFields()) {
+                graph.addAttributeNode(field.getName());
+            }//for
+        }//if
+
+        Map<String, NamedSubgraph> subgraphs = new HashMap<>();
+        for (NamedSubgraph subgraph : namedEntityGraph.subgraphs()) {
+            subgraphs.put(subgraph.name(), subgraph);
+        }//for
+
+        graph.addNamedAttributeNodes(namedEntityGraph.attributeNodes(), subgraphs);
+        return graph.copy(graphName, true);
+    }//fromAnnotation
+
+    /**
+     * Create a deep copy of the graph and its subgraphs
+     *
+     * @param graphName     The name of the copy
+     * @param immutableCopy If true nodes cannot be added to the copy
+     * @return The copy
+     */
+    @SuppressWarnings("unchecked")
+    public EntityGraphImpl<T> copy(String graphName, boolean immutableCopy)
+    {
+        EntityGraphImpl<T> copy = new EntityGraphImpl<>(graphName, classType);
+        attributeNodes.forEach((attributeName, node) -> {
+            AttributeNodeImpl<?> nodeCopy = new AttributeNodeImpl<>(attributeName);
+            node.subgraphs.forEach((type, subgraph) -> nodeCopy.subgraphs.put(type, ((EntityGraphImpl<?>) subgraph).copy(null, immutableCopy)));
+            copy.attributeNodes.put(attributeName, nodeCopy);
+        });
+        copy.immutable = immutableCopy;
+        return copy;
+    }//copy
+
+    @SuppressWarnings("unchecked")
+    private void addNamedAttributeNodes(NamedAttributeNode[] namedAttributeNodes, Map<String, NamedSubgraph> subgraphs)
+    {
+        for (NamedAttributeNode namedAttributeNode : namedAttributeNodes) {
+            addAttributeNode(namedAttributeNode.value());
+            if (!namedAttributeNode.subgraph().isEmpty()) {
+                NamedSubgraph namedSubgraph = subgraphs.get(namedAttributeNode.subgraph());
+                if (namedSubgraph == null) {
+                    throw new IllegalArgumentException("Subgraph " + namedAttributeNode.subgraph() + " referenced by " + namedAttributeNode.value() + " is not defined in " + name);
+                }//if
+
+                EntityGraphImpl<Object> subgraph = (EntityGraphImpl<Object>) (namedSubgraph.type() == void.class ?
+                                                                              addSubgraph(namedAttributeNode.value()) :
+                                                                              addSubgraph(namedAttributeNode.value(), namedSubgraph.type()));
+                subgraph.addNamedAttributeNodes(namedSubgraph.attributeNodes(), subgraphs);
+            }//if
+        }//for
+    }//addNamedAttributeNodes
+
+    private AttributeNodeImpl<?> addAttributeNode(String attributeName)
+    {
+        if (immutable) {
+            throw new IllegalStateException(IMMUTABLE);
+        }//if
+
+        if (EntityMetaDataManager.isRegistered(classType) && !EntityMetaDataManager.getMetaData(classType).isEntityField(attributeName)) {
+            throw new IllegalArgumentException(attributeName + " is not an attribute of " + classType.getName());
+        }//if
+
+        return attributeNodes.computeIfAbsent(attributeName, AttributeNodeImpl::new);
+    }//addAttributeNode
+
+    @SuppressWarnings("unchecked")
+    private <X> Subgraph<X> addAttributeSubgraph(String attributeName, Class<X> type)
+    {
+        AttributeNodeImpl<?> node = addAttributeNode(attributeName);
+        return (Subgraph<X>) node.subgraphs.computeIfAbsent(type, k -> new EntityGraphImpl<>(null, type));
+    }//addAttributeSubgraph
+
+    @SuppressWarnings("unchecked")
+    private <X> Class<X> getAttributeType(String attributeName)
+    {
+        EntityMetaData<T> metaData = EntityMetaDataManager.getMetaData(classType);
+        if (!metaData.isEntityField(attributeName)) {
+            throw new IllegalArgumentException(attributeName + " is not an attribute of " + classType.getName());
+        }//if
+
+        return (Class<X>) metaData.getEntityField(attributeName).getType();
+    }//getAttributeType
+
+    /**
+     * Check if the graph has an attribute node for the given attribute
+     *
+     * @param attributeName The attribute name
+     * @return True if the attribute is part of the graph
+     */
+    public boolean hasAttributeNode(String attributeName)
+    {
+        return attributeNodes.containsKey(attributeName);
+    }//hasAttributeNode
+
+    /**
+     * Return the subgraph defined for an attribute node
+     *
+     * @param attributeName The attribute name
+     * @return The subgraph or null if the attribute is not in the graph or does not have a subgraph
+     */
+    public EntityGraphImpl<?> getAttributeSubgraph(String attributeName)
+    {
+        AttributeNodeImpl<?> node = attributeNodes.get(attributeName);
+        if (node == null || node.subgraphs.isEmpty()) {
+            return null;
+        }//if
+
+        return (EntityGraphImpl<?>) node.subgraphs.values().iterator().next();
+    }//getAttributeSubgraph
+
+    /**
+     * The fetch plan is a canonical representation of the graph, eg com.example.Employee(address,department(company)).
+     * Two graphs with the same attribute nodes and subgraphs will have the same fetch plan irrespective of the order in
+     * which the nodes were added or the name of the graph. The fetch plan is used as part of the key of the parsed
+     * query cache.
+     *
+     * @return The fetch plan
+     */
+    public String getFetchPlan()
+    {
+        StringBuilder fetchPlan = new StringBuilder(classType.getName());
+        appendFetchPlan(fetchPlan);
+        return fetchPlan.toString();
+    }//getFetchPlan
+
+    private void appendFetchPlan(StringBuilder fetchPlan)
+    {
+        fetchPlan.append('(');
+        String separator = "";
+        for (AttributeNodeImpl<?> node : attributeNodes.values()) {
+            fetchPlan.append(separator).append(node.attributeName);
+            EntityGraphImpl<?> subgraph = getAttributeSubgraph(node.attributeName);
+            if (subgraph != null) {
+                subgraph.appendFetchPlan(fetchPlan);
+            }//if
+            separator = ",";
+        }//for
+        fetchPlan.append(')');
+    }//appendFetchPlan
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public Class<T> getClassType()
+    {
+        return classType;
+    }
+
+    @Override
+    public void addAttributeNodes(String... attributeName)
+    {
+        for (String attribute : attributeName) {
+            addAttributeNode(attribute);
+        }//for
+    }
+
+    @Override
+    @SafeVarargs
+    public final void addAttributeNodes(Attribute<T, ?>... attribute)
+    {
+        for (Attribute<T, ?> attr : attribute) {
+            addAttributeNode(attr.getName());
+        }//for
+    }
+
+    @Override
+    public <X> Subgraph<X> addSubgraph(Attribute<T, X> attribute)
+    {
+        return addAttributeSubgraph(attribute.getName(), attribute.getJavaType());
+    }
+
+    @Override
+    public <X> Subgraph<? extends X> addSubgraph(Attribute<T, X> attribute, Class<? extends X> type)
+    {
+        return addAttributeSubgraph(attribute.getName(), type);
+    }
+
+    @Override
+    public <X> Subgraph<X> addSubgraph(String attributeName)
+    {
+        return addAttributeSubgraph(attributeName, getAttributeType(attributeName));
+    }
+
+    @Override
+    public <X> Subgraph<X> addSubgraph(String attributeName, Class<X> type)
+    {
+        return addAttributeSubgraph(attributeName, type);
+    }
+
+    @Override
+    public <X> Subgraph<X> addKeySubgraph(Attribute<T, X> attribute)
+    {
+        throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    @Override
+    public <X> Subgraph<? extends X> addKeySubgraph(Attribute<T, X> attribute, Class<? extends X> type)
+    {
+        throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    @Override
+    public <X> Subgraph<X> addKeySubgraph(String attributeName)
+    {
+        throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    @Override
+    public <X> Subgraph<X> addKeySubgraph(String attributeName, Class<X> type)
+    {
+        throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    @Override
+    public <X> Subgraph<? extends X> addSubclassSubgraph(Class<? extends X> type)
+    {
+        throw new UnsupportedOperationException(NOT_SUPPORTED);
+    }
+
+    @Override
+    public List<AttributeNode<?>> getAttributeNodes()
+    {
+        return List.copyOf(attributeNodes.values());
+    }
+
+    @Override
+    public String toString()
+    {
+        return "EntityGraph[" + name + "] " + getFetchPlan();
+    }
+}//EntityGraphImpl
@@ -21,21 +21,72 @@ import lombok.extern.slf4j.Slf4j;
 import org.jpalite.EntityLocalCache;
 import org.jpalite.EntityState;
 import org.jpalite.JPAEntity;
+import org.jpalite.PersistenceAction;
 import org.jpalite.PersistenceContext;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.function.Consumer;
 
+/**
+ * The L1 cache keeps track of all the entities attached to a persistence context. Entities are indexed on the entity
+ * type and primary key for constant time lookups and per entity type to allow the persistence context to only visit
+ * the entities of a given type.
+ */
 @Slf4j
 public class EntityL1LocalCacheImpl implements EntityLocalCache
 {
     private final PersistenceContext persistenceContext;
 
     /**
-     * All the entity attached to this persistence context
+     * All the entity attached to this persistence context, in the order they were attached
+     */
+    private final Map<EntityReference, JPAEntity> cache = new LinkedHashMap<>();
+    /**
+     * The attached entities indexed on the entity type and primary key
+     */
+    private final Map<EntityKey, JPAEntity> identityMap = new HashMap<>();
+    /**
+     * The attached entities grouped by entity type
+     */
+    private final Map<Class<?>, Map<EntityReference, JPAEntity>> typeIndex = new HashMap<>();
+    /**
+     * Attached entities that did not have a primary key when they were attached (eg new entities waiting to be
+     * inserted). These are added to the identity map once the primary key is known.
      */
-    private final List<JPAEntity> cache = new ArrayList<>();
+    private final Map<Class<?>, Set<EntityReference>> unkeyedEntities = new HashMap<>();
+    /**
+     * The attached entities that were changed since the last flush, in the order they were changed
+     */
+    private final Map<EntityReference, JPAEntity> dirtyEntities = new LinkedHashMap<>();
+
+    private record EntityKey(Class<?> entityType, Object primaryKey)
+    {
+    }
+
+    /**
+     * Wrapper used to index entities on identity rather than the equals() method of the entity.
+     */
+    private static final class EntityReference
+    {
+        private final JPAEntity entity;
+
+        private EntityReference(JPAEntity entity)
+        {
+            this.entity = entity;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            return other instanceof EntityReference reference && reference.entity == entity;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return System.identityHashCode(entity);
+        }
+    }//EntityReference
 
     public EntityL1LocalCacheImpl(PersistenceContext pPersistenceContext)
     {
@@ -46,8 +97,12 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
     @Override
     public void clear()
     {
-        cache.forEach(e -> e._setEntityState(EntityState.DETACHED));
+        cache.values().forEach(e -> e._setEntityState(EntityState.DETACHED));
         cache.clear();
+        identityMap.clear();
+        typeIndex.clear();
+        unkeyedEntities.clear();
+        dirtyEntities.clear();
         LOG.trace("Clearing L1 cache for {}", persistenceContext);
     }//clear
 
@@ -57,15 +112,42 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
         return find(entityType, primaryKey, false);
     }
 
+    /**
+     * Index the entities of the given type that were attached without a primary key but has since been assigned one.
+     *
+     * @param entityType The entity type
+     */
+    private void indexUnkeyed(Class<?> entityType)
+    {
+        Set<EntityReference> unkeyed = unkeyedEntities.get(entityType);
+        if (unkeyed != null) {
+            Iterator<EntityReference> iterator = unkeyed.iterator();
+            while (iterator.hasNext()) {
+                JPAEntity entity = iterator.next().entity;
+                Object primaryKey = entity._getPrimaryKey();
+                if (primaryKey != null) {
+                    identityMap.putIfAbsent(new EntityKey(entityType, primaryKey), entity);
+                    iterator.remove();
+                }//if
+            }//while
+
+            if (unkeyed.isEmpty()) {
+                unkeyedEntities.remove(entityType);
+            }//if
+        }//if
+    }//indexUnkeyed
+
     @SuppressWarnings("unchecked") //We are doing a valid casting
     public <T> T find(Class<T> entityType, Object primaryKey, boolean checkIfRemoved)
     {
         if (persistenceContext.isActive() && primaryKey != null) {
-            JPAEntity entity = cache.stream()
-                                    .filter(e -> e.get$$EntityClass().equals(entityType))
-                                    .filter(e -> primaryKey.equals(e._getPrimaryKey()))
-                                    .findFirst()
-                                    .orElse(null);
+            EntityKey key = new EntityKey(entityType, primaryKey);
+            JPAEntity entity = identityMap.get(key);
+            if (entity == null && unkeyedEntities.containsKey(entityType)) {
+                indexUnkeyed(entityType);
+                entity = identityMap.get(key);
+            }//if
+
             if (entity != null) {
                 if (entity._getEntityState() == EntityState.REMOVED) {
                     if (checkIfRemoved) {
@@ -86,9 +168,10 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
     public <T> void foreachType(Class<T> entityType, Consumer<T> action)
     {
         if (persistenceContext.isActive()) {
-            cache.stream()
-                 .filter(e -> e.get$$EntityClass().equals(entityType))
-                 .forEach(e -> action.accept((T) e));
+            Map<EntityReference, JPAEntity> entities = typeIndex.get(entityType);
+            if (entities != null) {
+                entities.values().forEach(e -> action.accept((T) e));
+            }//if
         }//if
     }//foreachType
 
@@ -99,7 +182,23 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
 
         //We only manage entities if we are in a transaction and if the entity type is supported by the persistence context
         if (persistenceContext.isActive()) {
-            cache.add(entity);
+            EntityReference reference = new EntityReference(entity);
+            if (cache.putIfAbsent(reference, entity) == null) {
+                Class<?> entityType = entity.get$$EntityClass();
+                typeIndex.computeIfAbsent(entityType, k -> new LinkedHashMap<>()).put(reference, entity);
+
+                Object primaryKey = entity._getPrimaryKey();
+                if (primaryKey != null) {
+                    identityMap.put(new EntityKey(entityType, primaryKey), entity);
+                }//if
+                else {
+                    unkeyedEntities.computeIfAbsent(entityType, k -> new LinkedHashSet<>()).add(reference);
+                }//else
+            }//if
+
+            if (entity._getPendingAction() != PersistenceAction.NONE) {
+                dirtyEntities.put(reference, entity);
+            }//if
             entity._setEntityState(EntityState.MANAGED);
             LOG.trace("Adding Entity to L1 cache. Context [{}], Entity [{}]", persistenceContext, entity);
         }//if
@@ -112,13 +211,31 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
     @Override
     public void detach(JPAEntity entity)
     {
-        for (JPAEntity cachedEntity : cache) {
-            if (cachedEntity == entity) {
-                LOG.trace("Removing Entity from L1 cache. Context [{}], Entity [{}]", persistenceContext, entity);
-                cache.remove(cachedEntity);
-                break;
+        EntityReference reference = new EntityReference(entity);
+        if (cache.remove(reference) != null) {
+            LOG.trace("Removing Entity from L1 cache. Context [{}], Entity [{}]", persistenceContext, entity);
+
+            Class<?> entityType = entity.get$$EntityClass();
+            Map<EntityReference, JPAEntity> entities = typeIndex.get(entityType);
+            if (entities != null) {
+                entities.remove(reference);
+                if (entities.isEmpty()) {
+                    typeIndex.remove(entityType);
+                }//if
             }//if
-        }//for
+
+            dirtyEntities.remove(reference);
+
+            Set<EntityReference> unkeyed = unkeyedEntities.get(entityType);
+            if (unkeyed != null && unkeyed.remove(reference) && unkeyed.isEmpty()) {
+                unkeyedEntities.remove(entityType);
+            }//if
+
+            Object primaryKey = entity._getPrimaryKey();
+            if (primaryKey != null) {
+                identityMap.remove(new EntityKey(entityType, primaryKey), entity);
+            }//if
+        }//if
 
         LOG.trace("Detaching Entity from L1 cache. Entity [{}]", entity);
         if (entity._getEntityState() != EntityState.TRANSIENT) {
@@ -126,6 +243,38 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
         }//if
     }//remove
 
+    @Override
+    public void markDirty(JPAEntity entity)
+    {
+        EntityReference reference = new EntityReference(entity);
+        if (cache.containsKey(reference)) {
+            dirtyEntities.putIfAbsent(reference, entity);
+        }//if
+    }//markDirty
+
+    @Override
+    public List<JPAEntity> drainDirty()
+    {
+        List<JPAEntity> entities = new ArrayList<>(dirtyEntities.values());
+        dirtyEntities.clear();
+        return entities;
+    }//drainDirty
+
+    @Override
+    public List<JPAEntity> drainDirty(Class<?> entityType)
+    {
+        List<JPAEntity> entities = new ArrayList<>();
+        Iterator<JPAEntity> iterator = dirtyEntities.values().iterator();
+        while (iterator.hasNext()) {
+            JPAEntity entity = iterator.next();
+            if (entity.get$$EntityClass().equals(entityType)) {
+                entities.add(entity);
+                iterator.remove();
+            }//if
+        }//while
+        return entities;
+    }//drainDirty
+
     @Override
     public boolean contains(JPAEntity entity)
     {
@@ -135,6 +284,6 @@ public class EntityL1LocalCacheImpl implements EntityLocalCache
     @Override
     public void foreach(Consumer<Object> action)
     {
-        cache.forEach(action);
+        cache.values().forEach(action);
     }
 }
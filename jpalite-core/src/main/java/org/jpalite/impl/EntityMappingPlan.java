@@ -0,0 +1,241 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl;
+
+import org.jpalite.EntityField;
+import org.jpalite.EntityMapException;
+import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
+import org.jpalite.MappingType;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precompiled plan mapping the columns of a result set to the fields of an entity. Resolving the column names to
+ * entity fields is done once when the plan is compiled, after which every row in the result set (and every result
+ * set with the same layout) can be mapped by walking the plan.
+ * <p>
+ * Plans for related entities (ONE_TO_ONE, MANY_TO_ONE and EMBEDDED fields) are compiled on first use and stored in
+ * the plan. The plan can be shared between threads; two threads resolving the same nested plan at the same time
+ * compile equivalent plans and the last one stored is kept.
+ * <p>
+ * Plans returned by {@link #forResultSet(EntityMetaData, String, ResultSetMetaData)} are cached per entity class,
+ * column prefix and result set layout so that a plan is only compiled once for every distinct query shape.
+ */
+public final class EntityMappingPlan
+{
+    /**
+     * The maximum number of plans cached, plans for new layouts are still compiled but not cached once reached
+     */
+    private static final int MAX_CACHED_PLANS = 2048;
+    private static final Map<PlanKey, EntityMappingPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final EntityMetaData<?> metaData;
+    private final String colPrefix;
+    /**
+     * The names of all the columns in the result set the plan was compiled for
+     */
+    private final String[] columnNames;
+    private final int[] columns;
+    private final EntityField[] fields;
+    private final String[] nextColPrefixes;
+    /**
+     * True if the column is the key column of a related entity (used to decide if a LAZY entity can be referenced)
+     */
+    private final boolean[] keyColumns;
+    private final EntityMappingPlan[] nestedPlans;
+
+    private EntityMappingPlan(EntityMetaData<?> metaData, String colPrefix, String[] columnNames, List<Integer> columns, List<EntityField> fields, List<String> nextColPrefixes, List<Boolean> keyColumns)
+    {
+        this.metaData        = metaData;
+        this.colPrefix       = colPrefix;
+        this.columnNames     = columnNames;
+        this.columns         = columns.stream().mapToInt(Integer::intValue).toArray();
+        this.fields          = fields.toArray(new EntityField[0]);
+        this.nextColPrefixes = nextColPrefixes.toArray(new String[0]);
+        this.keyColumns      = new boolean[keyColumns.size()];
+        for (int i = 0; i < this.keyColumns.length; i++) {
+            this.keyColumns[i] = keyColumns.get(i);
+        }//for
+        nestedPlans = new EntityMappingPlan[this.fields.length];
+    }//EntityMappingPlan
+
+    private record PlanKey(Class<?> entityClass, String colPrefix, List<String> columnNames)
+    {
+    }
+
+    /**
+     * Return the mapping plan for the entity given the layout of the result set. The plan is compiled the first time a
+     * layout is seen and then taken from the cache.
+     *
+     * @param metaData       The entity metadata
+     * @param colPrefix      The column prefix or null if the columns are mapped using the column names
+     * @param resultMetaData The result set metadata
+     * @return The mapping plan
+     */
+    public static EntityMappingPlan forResultSet(EntityMetaData<?> metaData, String colPrefix, ResultSetMetaData resultMetaData)
+    {
+        try {
+            String[] columnNames = new String[resultMetaData.getColumnCount()];
+            for (int i = 0; i < columnNames.length; i++) {
+                columnNames[i] = resultMetaData.getColumnName(i + 1);
+            }//for
+
+            PlanKey key = new PlanKey(metaData.getEntityClass(), colPrefix, Arrays.asList(columnNames));
+            EntityMappingPlan plan = PLANS.get(key);
+            if (plan == null || plan.metaData != metaData) {
+                plan = compile(metaData, colPrefix, resultMetaData);
+                if (PLANS.size() < MAX_CACHED_PLANS) {
+                    PLANS.put(key, plan);
+                }//if
+            }//if
+
+            return plan;
+        }//try
+        catch (SQLException ex) {
+            throw new EntityMapException("Error extracting the ResultSet Metadata", ex);
+        }//catch
+    }//forResultSet
+
+    /**
+     * Compile a mapping plan for the entity given the layout of the result set.
+     *
+     * @param metaData       The entity metadata
+     * @param colPrefix      The column prefix or null if the columns are mapped using the column names
+     * @param resultMetaData The result set metadata
+     * @return The mapping plan
+     */
+    public static EntityMappingPlan compile(EntityMetaData<?> metaData, String colPrefix, ResultSetMetaData resultMetaData)
+    {
+        try {
+            int columnCount = resultMetaData.getColumnCount();
+            String[] columnNames = new String[columnCount];
+            List<Integer> columns = new ArrayList<>();
+            List<EntityField> fields = new ArrayList<>();
+            List<String> nextColPrefixes = new ArrayList<>();
+            List<Boolean> keyColumns = new ArrayList<>();
+
+            Set<String> columnsProcessed = new HashSet<>();
+            for (int i = 1; i <= columnCount; i++) {
+                String column = resultMetaData.getColumnName(i);
+                columnNames[i - 1] = column;
+
+                EntityField field = null;
+                String nextColPrefix = null;
+                if (colPrefix == null) {
+                    field = metaData.getEntityFieldByColumn(column);
+                }//if
+                else {
+                    if (column.length() <= colPrefix.length() || !column.startsWith(colPrefix)) {
+                        continue;
+                    }//if
+
+                    String fieldName = column.substring(colPrefix.length() + 1).split("-")[0];
+                    if (!fieldName.isEmpty() && !columnsProcessed.contains(fieldName)) {
+                        columnsProcessed.add(fieldName);
+                        field         = metaData.getEntityFieldByNr(Integer.parseInt(fieldName));
+                        nextColPrefix = colPrefix + "-" + fieldName;
+                    }//if
+                }//else
+
+                if (field != null) {
+                    columns.add(i);
+                    fields.add(field);
+                    nextColPrefixes.add(nextColPrefix);
+                    keyColumns.add(nextColPrefix == null || nextColPrefix.equals(column));
+                }//if
+            }//for
+
+            return new EntityMappingPlan(metaData, colPrefix, columnNames, columns, fields, nextColPrefixes, keyColumns);
+        }//try
+        catch (SQLException | RuntimeException ex) {
+            throw new EntityMapException("Error extracting the ResultSet Metadata", ex);
+        }//catch
+    }//compile
+
+    public EntityMetaData<?> getMetaData()
+    {
+        return metaData;
+    }
+
+    public String getColPrefix()
+    {
+        return colPrefix;
+    }
+
+    /**
+     * @return The number of entity fields mapped by the plan
+     */
+    public int size()
+    {
+        return fields.length;
+    }
+
+    public int getColumn(int index)
+    {
+        return columns[index];
+    }
+
+    public EntityField getField(int index)
+    {
+        return fields[index];
+    }
+
+    public String getNextColPrefix(int index)
+    {
+        return nextColPrefixes[index];
+    }
+
+    public boolean isKeyColumn(int index)
+    {
+        return keyColumns[index];
+    }
+
+    /**
+     * Return the plan used to map the related entity found in the given mapping entry. The plan is compiled when first
+     * requested.
+     *
+     * @param index     The mapping entry
+     * @param resultSet The result set being mapped
+     * @return The plan for the related entity
+     */
+    public EntityMappingPlan getNestedPlan(int index, ResultSet resultSet) throws SQLException
+    {
+        EntityMappingPlan plan = nestedPlans[index];
+        if (plan == null) {
+            EntityField field = fields[index];
+            if (field.getMappingType() != MappingType.ONE_TO_ONE && field.getMappingType() != MappingType.MANY_TO_ONE && field.getMappingType() != MappingType.EMBEDDED) {
+                throw new EntityMapException("Field '" + field.getName() + "' is not a related entity");
+            }//if
+
+            plan               = compile(EntityMetaDataManager.getMetaData(field.getType()), nextColPrefixes[index], resultSet.getMetaData());
+            nestedPlans[index] = plan;
+        }//if
+
+        return plan;
+    }//getNestedPlan
+}//EntityMappingPlan
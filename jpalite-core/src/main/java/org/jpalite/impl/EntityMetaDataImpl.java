@@ -49,15 +49,20 @@ public class EntityMetaDataImpl<T> implements EntityMetaData<T>
     private EntityMetaData<?> primaryKey;
     private final List<EntityField> idFields;
     private final Map<String, EntityField> entityFields;
+    private final Map<String, EntityField> entityFieldsByColumn;
+    private EntityField[] entityFieldsByNr;
     private EntityField versionField;
+    private final EntityAccessor entityAccessor;
 
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     public EntityMetaDataImpl(Class<T> entityClass)
     {
         entityType   = EntityType.ENTITY;
-        entityFields = new LinkedHashMap<>();
-        idFields     = new ArrayList<>();
+        entityFields         = new LinkedHashMap<>();
+        entityFieldsByColumn = new HashMap<>();
+        entityFieldsByNr     = new EntityField[0];
+        idFields             = new ArrayList<>();
 
         this.entityClass = entityClass;
 
@@ -111,6 +116,8 @@ public class EntityMetaDataImpl<T> implements EntityMetaData<T>
             }//if
         }//if
 
+        entityAccessor = loadEntityAccessor(entityClass);
+
         versionField = null;
         StringBuilder stringBuilder = new StringBuilder();
         for (Field vField : entityClass.getDeclaredFields()) {
@@ -141,6 +148,33 @@ public class EntityMetaDataImpl<T> implements EntityMetaData<T>
         }//else
     }//EntityMetaDataImpl
 
+    private static EntityAccessor loadEntityAccessor(Class<?> entityClass)
+    {
+        try {
+            Class<?> accessorClass = Class.forName(entityClass.getName() + EntityAccessor.ACCESSOR_SUFFIX, true, entityClass.getClassLoader());
+            return (EntityAccessor) accessorClass.getConstructor().newInstance();
+        }//try
+        catch (ClassNotFoundException ex) {
+            //The entity was not processed by the tooling, the fields will be accessed via method handles
+            return null;
+        }//catch
+        catch (ReflectiveOperationException | ClassCastException ex) {
+            LOG.warn("Error loading the generated field accessor for {} - falling back to method handles", entityClass.getName(), ex);
+            return null;
+        }//catch
+    }//loadEntityAccessor
+
+    /**
+     * The accessor generated by the tooling for the entity
+     *
+     * @return The accessor or null if no accessor was generated
+     */
+    @Nullable
+    EntityAccessor getEntityAccessor()
+    {
+        return entityAccessor;
+    }//getEntityAccessor
+
     private void processEntityField(Field field, StringBuilder stringBuilder)
     {
         EntityField entityField = new EntityFieldImpl(this, entityClass, field, entityFields.size() + 1);
@@ -179,6 +213,18 @@ public class EntityMetaDataImpl<T> implements EntityMetaData<T>
         }//if
 
         entityFields.put(entityField.getName(), entityField);
+
+        if (entityField.getColumn() != null) {
+            //Keep the first field mapped to a column, as the linear search used to do
+            entityFieldsByColumn.putIfAbsent(entityField.getColumn().toLowerCase(Locale.ROOT), entityField);
+        }//if
+
+        if (entityField.getFieldNr() >= entityFieldsByNr.length) {
+            entityFieldsByNr = Arrays.copyOf(entityFieldsByNr, entityField.getFieldNr() + 1);
+        }//if
+        if (entityFieldsByNr[entityField.getFieldNr()] == null) {
+            entityFieldsByNr[entityField.getFieldNr()] = entityField;
+        }//if
     }//processEntityField
 
     @Override
@@ -288,28 +334,19 @@ public class EntityMetaDataImpl<T> implements EntityMetaData<T>
     @Nullable
     public EntityField getEntityFieldByColumn(String column)
     {
-        for (EntityField field : entityFields.values()) {
-            if (column.equalsIgnoreCase(field.getColumn())) {
-                return field;
-            }//if
-        }//for
-
-        return null;
+        return entityFieldsByColumn.get(column.toLowerCase(Locale.ROOT));
     }//getEntityFieldByColumn
 
     @Override
     @Nonnull
     public EntityField getEntityFieldByNr(int fieldNr)
     {
-        Optional<EntityField> entityField = entityFields.values()
-                                                        .stream()
-                                                        .filter(f -> f.getFieldNr() == fieldNr)
-                                                        .findFirst();
-        if (entityField.isEmpty()) {
+        EntityField entityField = (fieldNr >= 0 && fieldNr < entityFieldsByNr.length) ? entityFieldsByNr[fieldNr] : null;
+        if (entityField == null) {
             throw new EntityNotFoundException("There is no entity field with a fields number of " + fieldNr + " in entity " + this.entityName);
         }//if
 
-        return entityField.get();
+        return entityField;
     }//getEntityFieldByNr
 
     @Override
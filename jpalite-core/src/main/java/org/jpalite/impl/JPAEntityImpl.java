@@ -17,17 +17,16 @@
 
 package org.jpalite.impl;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.*;
 import jakarta.persistence.spi.LoadState;
 import org.jpalite.PersistenceContext;
 import org.jpalite.*;
+import org.jpalite.impl.caching.BinaryCacheCodec;
+import org.jpalite.impl.caching.JsonCacheCodec;
 import org.jpalite.impl.queries.JPALiteQueryImpl;
 import org.jpalite.impl.queries.QueryImpl;
 import org.jpalite.queries.QueryLanguage;
@@ -59,6 +58,10 @@ public class JPAEntityImpl implements JPAEntity
     public static final String SELECT_CLAUSE = "select ";
     public static final String FROM_CLAUSE = " from ";
     public static final String WHERE_CLAUSE = " where ";
+    /**
+     * The batch fetch size used if the persistence context does not define one
+     */
+    private static final int DEFAULT_BATCH_FETCH_SIZE = 50;
     /**
      * A set of fields that was modified
      */
@@ -307,17 +310,20 @@ public class JPAEntityImpl implements JPAEntity
             PersistenceContext persistenceContext = _getPersistenceContext();
             persistenceContext.l1Cache().detach(this);
 
-            String queryStr = SELECT_CLAUSE + $$metadata.getName() + FROM_CLAUSE + $$metadata.getName() + WHERE_CLAUSE + $$metadata.getIdField().getName() + "=:p";
-            JPALiteQueryImpl<?> query = new JPALiteQueryImpl<>(queryStr,
-                                                               QueryLanguage.JPQL,
-                                                               persistenceContext,
-                                                               $$metadata.getEntityClass(),
-                                                               properties,
-                                                               $$lockMode);
-            query.setParameter("p", _getPrimaryKey());
-            JPAEntity replaceEntity = (JPAEntity) query.getSingleResult();
-            _replaceWith(replaceEntity);
-            $$lazyLoaded = false;
+            //A lazy reference is loaded together with the other pending references of the same type unless it must be locked
+            if (!($$lazyLoaded && !_isPessimisticLock($$lockMode) && properties.isEmpty() && _loadReferences(persistenceContext))) {
+                String queryStr = SELECT_CLAUSE + $$metadata.getName() + FROM_CLAUSE + $$metadata.getName() + WHERE_CLAUSE + $$metadata.getIdField().getName() + "=:p";
+                JPALiteQueryImpl<?> query = new JPALiteQueryImpl<>(queryStr,
+                                                                   QueryLanguage.JPQL,
+                                                                   persistenceContext,
+                                                                   $$metadata.getEntityClass(),
+                                                                   properties,
+                                                                   $$lockMode);
+                query.setParameter("p", _getPrimaryKey());
+                JPAEntity replaceEntity = (JPAEntity) query.getSingleResult();
+                _replaceWith(replaceEntity);
+                $$lazyLoaded = false;
+            }//if
 
             for (EntityField field : _getMetaData().getEntityFields()) {
                 if ((field.getCascade().contains(CascadeType.ALL) || field.getCascade().contains(CascadeType.REFRESH))) {
@@ -347,18 +353,139 @@ public class JPAEntityImpl implements JPAEntity
         }//catch
     }//_refreshEntity
 
-    private void _queryOneToMany(EntityField entityField)
+    /**
+     * Load this lazy reference together with the other lazy references of the same type managed by the persistence
+     * context. The references are looked up in the L2 cache using a single multi-get and the references not found in
+     * the cache are read using a single IN query.
+     *
+     * @param persistenceContext The persistence context
+     * @return true if this entity was loaded, false if it must be loaded on its own
+     */
+    private boolean _loadReferences(PersistenceContext persistenceContext)
     {
-        EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityField.getType());
-        EntityField mappingField = metaData.getEntityField(entityField.getMappedBy());
+        int batchSize = _getBatchFetchSize(persistenceContext);
+        if (batchSize <= 1 || $$metadata.hasMultipleIdFields() || $$metadata.getIdField() == null) {
+            return false;
+        }//if
 
-        JPALiteQueryImpl<?> query = new JPALiteQueryImpl<>(SELECT_CLAUSE + metaData.getName() + FROM_CLAUSE + metaData.getName() + WHERE_CLAUSE + mappingField.getName() + "=:p",
+        Map<Object, JPAEntityImpl> references = new LinkedHashMap<>();
+        references.put(_getPrimaryKey(), this);
+        persistenceContext.l1Cache().foreachType($$metadata.getEntityClass(), e -> {
+            if (references.size() < batchSize && e instanceof JPAEntityImpl reference && reference.$$lazyLoaded && !reference.$$blankEntity && reference._getPrimaryKey() != null) {
+                references.putIfAbsent(reference._getPrimaryKey(), reference);
+            }//if
+        });
+        if (references.size() == 1) {
+            return false;
+        }//if
+
+        references.values().forEach(r -> persistenceContext.l1Cache().detach(r));
+        try {
+            Map<Object, JPAEntity> loaded = new HashMap<>();
+            if ($$metadata.isCacheable()) {
+                for (Map.Entry<Object, ?> entry : persistenceContext.l2Cache().findAll($$metadata.getEntityClass(), references.keySet()).entrySet()) {
+                    JPAEntity entity = (JPAEntity) entry.getValue();
+                    persistenceContext.l1Cache().manage(entity);
+                    entity._lazyFetchAll(false);
+                    loaded.put(entry.getKey(), entity);
+                }//for
+            }//if
+
+            List<Object> misses = references.keySet().stream().filter(k -> !loaded.containsKey(k)).toList();
+            if (!misses.isEmpty()) {
+                for (Object entity : _queryIn(persistenceContext, $$metadata, $$metadata.getIdField().getName(), misses)) {
+                    loaded.put(((JPAEntity) entity)._getPrimaryKey(), (JPAEntity) entity);
+                }//for
+            }//if
+
+            loaded.forEach((primaryKey, entity) -> {
+                JPAEntityImpl reference = references.remove(primaryKey);
+                if (reference != null) {
+                    reference._replaceWith(entity);
+                    reference.$$lazyLoaded = false;
+                }//if
+            });
+        }//try
+        finally {
+            //Return the references that were not loaded to the persistence context
+            references.values()
+                      .stream()
+                      .filter(r -> r != this)
+                      .forEach(r -> persistenceContext.l1Cache().manage(r));
+        }//finally
+
+        return !references.containsValue(this);
+    }//_loadReferences
+
+    private static boolean _isPessimisticLock(LockModeType lockMode)
+    {
+        return (lockMode == PESSIMISTIC_READ || lockMode == PESSIMISTIC_FORCE_INCREMENT || lockMode == PESSIMISTIC_WRITE);
+    }//_isPessimisticLock
+
+    private static int _getBatchFetchSize(PersistenceContext persistenceContext)
+    {
+        Object batchSize = persistenceContext.getProperties().get(JPALiteEntityManager.PERSISTENCE_BATCH_FETCH_SIZE);
+        return (batchSize instanceof Number number) ? number.intValue() : DEFAULT_BATCH_FETCH_SIZE;
+    }//_getBatchFetchSize
+
+    /**
+     * Select all the entities where the given field matches one of the keys. The keys are bound as a single array
+     * parameter so that the same query is used for any number of keys.
+     *
+     * @param persistenceContext The persistence context
+     * @param metaData           The entity to select
+     * @param fieldName          The field to match
+     * @param keys               The keys to match
+     * @return The entities found
+     */
+    private static List<?> _queryIn(PersistenceContext persistenceContext, EntityMetaData<?> metaData, String fieldName, List<Object> keys)
+    {
+        JPALiteQueryImpl<?> query = new JPALiteQueryImpl<>(SELECT_CLAUSE + metaData.getName() + FROM_CLAUSE + metaData.getName() + WHERE_CLAUSE + fieldName + " in (:p)",
                                                            QueryLanguage.JPQL,
-                                                           _getPersistenceContext(),
+                                                           persistenceContext,
                                                            metaData.getEntityClass(),
                                                            Collections.emptyMap());
-        query.setParameter("p", _getPrimaryKey());
-        entityField.invokeSetter(this, query.getResultList());
+        query.setParameter("p", keys);
+        return query.getResultList();
+    }//_queryIn
+
+    private void _queryOneToMany(EntityField entityField)
+    {
+        EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityField.getType());
+        EntityField mappingField = metaData.getEntityField(entityField.getMappedBy());
+        PersistenceContext persistenceContext = _getPersistenceContext();
+
+        //Collect the other entities of the same type where the same field is still waiting to be fetched
+        Map<Object, JPAEntityImpl> owners = new LinkedHashMap<>();
+        owners.put(_getPrimaryKey(), this);
+        int batchSize = _getBatchFetchSize(persistenceContext);
+        if (batchSize > 1 && !$$metadata.hasMultipleIdFields()) {
+            persistenceContext.l1Cache().foreachType($$metadata.getEntityClass(), e -> {
+                if (owners.size() < batchSize && e instanceof JPAEntityImpl owner && !owner.$$lazyLoaded && owner.$$fetchLazy.contains(entityField.getName()) && owner._getPrimaryKey() != null) {
+                    owners.putIfAbsent(owner._getPrimaryKey(), owner);
+                }//if
+            });
+        }//if
+
+        if (owners.size() == 1) {
+            JPALiteQueryImpl<?> query = new JPALiteQueryImpl<>(SELECT_CLAUSE + metaData.getName() + FROM_CLAUSE + metaData.getName() + WHERE_CLAUSE + mappingField.getName() + "=:p",
+                                                               QueryLanguage.JPQL,
+                                                               persistenceContext,
+                                                               metaData.getEntityClass(),
+                                                               Collections.emptyMap());
+            query.setParameter("p", _getPrimaryKey());
+            entityField.invokeSetter(this, query.getResultList());
+            return;
+        }//if
+
+        Map<Object, List<Object>> children = new HashMap<>();
+        for (Object child : _queryIn(persistenceContext, metaData, mappingField.getName(), new ArrayList<>(owners.keySet()))) {
+            if (mappingField.invokeGetter(child) instanceof JPAEntity owner) {
+                children.computeIfAbsent(owner._getPrimaryKey(), k -> new ArrayList<>()).add(child);
+            }//if
+        }//for
+
+        owners.forEach((primaryKey, owner) -> entityField.invokeSetter(owner, children.computeIfAbsent(primaryKey, k -> new ArrayList<>())));
     }//_fetchOneToMany
 
     private void _queryBasicField(EntityField entityField)
@@ -578,6 +705,9 @@ public class JPAEntityImpl implements JPAEntity
         }//if
 
         $$lockMode = lockMode;
+        if (lockMode == OPTIMISTIC_FORCE_INCREMENT && $$persistenceContext != null) {
+            $$persistenceContext.l1Cache().markDirty(this);
+        }//if
     }
 
     @Override
@@ -634,6 +764,9 @@ public class JPAEntityImpl implements JPAEntity
     public void _setPendingAction(PersistenceAction pendingAction)
     {
         $$pendingAction = pendingAction;
+        if (pendingAction != PersistenceAction.NONE && $$persistenceContext != null) {
+            $$persistenceContext.l1Cache().markDirty(this);
+        }//if
     }
 
     @Override
@@ -752,27 +885,54 @@ public class JPAEntityImpl implements JPAEntity
     }//_setPrimaryKey
 
     public JPAEntity _JPAReadEntity(EntityField field, ResultSet resultSet, String colPrefix, int col) throws SQLException
+    {
+        return _JPAReadEntity(field, resultSet, colPrefix, col, null, -1);
+    }//_JPAReadEntity
+
+    /**
+     * Read a related entity from the result set. If a mapping plan is provided, the nested plan for the mapping entry
+     * is used to map the related entity, otherwise the mapping is resolved from the result set metadata.
+     */
+    private JPAEntity _JPAReadEntity(EntityField field, ResultSet resultSet, String colPrefix, int col, EntityMappingPlan plan, int planIndex) throws SQLException
     {
         JPAEntity managedEntity = null;
 
-        //Read the field so that wasNull() can be used
-        resultSet.getObject(col);
-        if (!field.isNullable() || !resultSet.wasNull()) {
-            EntityMetaData<?> fieldMetaData = EntityMetaDataManager.getMetaData(field.getType());
-            //Read the primary key of the field and then check if the entity is not already managed
-            JPAEntity entity = (JPAEntity) fieldMetaData.getNewEntity();
+        EntityMetaData<?> fieldMetaData = EntityMetaDataManager.getMetaData(field.getType());
+        EntityField idField = fieldMetaData.getIdField();
+
+        //Read the key column once, the value is used for the null check and as the primary key of the entity
+        Object primaryKey = idField.isRelationshipField() ? resultSet.getObject(col) : idField.getConverter().convertToEntityAttribute(resultSet, col);
+        if (!field.isNullable() || (primaryKey != null && !resultSet.wasNull())) {
+            //Set the primary key of the field and then check if the entity is not already managed
+            JPAEntityImpl entity = (JPAEntityImpl) fieldMetaData.getNewEntity();
             entity._setPersistenceContext(_getPersistenceContext());
 
-            ((JPAEntityImpl) entity)._JPAReadField(resultSet, fieldMetaData.getIdField(), colPrefix, col);
+            if (idField.isRelationshipField()) {
+                entity._JPAReadField(resultSet, idField, colPrefix, col);
+            }//if
+            else {
+                entity.$$mapping = true;
+                try {
+                    idField.invokeSetter(entity, primaryKey);
+                }//try
+                finally {
+                    entity.$$mapping = false;
+                }//finally
+            }//else
+
             if (entity._getPrimaryKey() != null) {
                 if (_getPersistenceContext() != null) {
                     managedEntity = (JPAEntity) _getPersistenceContext().l1Cache().find(fieldMetaData.getEntityClass(), entity._getPrimaryKey(), true);
                 }//if
 
                 if (managedEntity == null) {
-                    if (field.getFetchType() == FetchType.LAZY && (colPrefix == null || colPrefix.equals(resultSet.getMetaData().getColumnName(col)))) {
+                    boolean keyColumn = (plan != null) ? plan.isKeyColumn(planIndex) : (colPrefix == null || colPrefix.equals(resultSet.getMetaData().getColumnName(col)));
+                    if (field.getFetchType() == FetchType.LAZY && keyColumn) {
                         entity._markLazyLoaded();
                     }//if
+                    else if (plan != null) {
+                        entity._mapResultSet(plan.getNestedPlan(planIndex, resultSet), resultSet);
+                    }//else if
                     else {
                         entity._mapResultSet(colPrefix, resultSet);
                     }//else
@@ -788,18 +948,23 @@ public class JPAEntityImpl implements JPAEntity
         return managedEntity;
     }//_JPAReadEntity
 
-    @SuppressWarnings("java:S6205") // False error
     public void _JPAReadField(ResultSet row, EntityField field, String colPrefix, int columnNr)
+    {
+        _JPAReadField(row, field, colPrefix, columnNr, null, -1);
+    }//_JPAReadField
+
+    @SuppressWarnings("java:S6205") // False error
+    private void _JPAReadField(ResultSet row, EntityField field, String colPrefix, int columnNr, EntityMappingPlan plan, int planIndex)
     {
         try {
             $$mapping = true;
             if (field.isRelationshipField()) {
                 if (field.getMappingType() == MappingType.ONE_TO_ONE || field.getMappingType() == MappingType.MANY_TO_ONE || field.getMappingType() == MappingType.EMBEDDED) {
-                    field.invokeSetter(this, _JPAReadEntity(field, row, colPrefix, columnNr));
+                    field.invokeSetter(this, _JPAReadEntity(field, row, colPrefix, columnNr, plan, planIndex));
                 }//if
             }
             else {
-                field.invokeSetter(this, field.getConverter().convertToEntityAttribute(row, columnNr));
+                field.getConverter().readAttribute(row, columnNr, field, this);
             }
         }//try
         catch (SQLException ex) {
@@ -813,35 +978,28 @@ public class JPAEntityImpl implements JPAEntity
     public void _mapResultSet(String colPrefix, ResultSet resultSet)
     {
         try {
-            ResultSetMetaData resultMetaData = resultSet.getMetaData();
-            int columns = resultMetaData.getColumnCount();
-
-            Set<String> columnsProcessed = new HashSet<>();
-            for (int i = 1; i <= columns; i++) {
-                String column = resultMetaData.getColumnName(i);
-
-                EntityField field = null;
-                String nextColPrefix = null;
-                if (colPrefix == null) {
-                    field = $$metadata.getEntityFieldByColumn(column);
-                }//if
-                else {
-                    if (column.length() <= colPrefix.length() || !column.startsWith(colPrefix)) {
-                        continue;
-                    }//if
-
-                    String fieldName = column.substring(colPrefix.length() + 1).split("-")[0];
-                    if (!fieldName.isEmpty() && !columnsProcessed.contains(fieldName)) {
-                        columnsProcessed.add(fieldName);
-                        field         = $$metadata.getEntityFieldByNr(Integer.parseInt(fieldName));
-                        nextColPrefix = colPrefix + "-" + fieldName;
-                    }//if
-                }//else
+            _mapResultSet(EntityMappingPlan.forResultSet($$metadata, colPrefix, resultSet.getMetaData()), resultSet);
+        }//try
+        catch (SQLException ex) {
+            throw new EntityMapException("Error extracting the ResultSet Metadata", ex);
+        }//catch
+    }//_mapResultSet
 
-                if (field != null) {
-                    _JPAReadField(resultSet, field, nextColPrefix, i);
-                    _clearField(field.getName());
-                }//if
+    /**
+     * Take the given result set and read and set all the fields in the entity from it using a precompiled mapping plan.
+     * The plan must have been compiled for the entity type and for a result set with the same layout.
+     *
+     * @param plan      the mapping plan
+     * @param resultSet the result set
+     * @throws PersistenceException If there has been an error reading the fields
+     */
+    public void _mapResultSet(EntityMappingPlan plan, ResultSet resultSet)
+    {
+        try {
+            for (int i = 0; i < plan.size(); i++) {
+                EntityField field = plan.getField(i);
+                _JPAReadField(resultSet, field, plan.getNextColPrefix(i), plan.getColumn(i), plan, i);
+                _clearField(field.getName());
             }//for
             $$lazyLoaded = false;
         }//try
@@ -854,9 +1012,16 @@ public class JPAEntityImpl implements JPAEntity
     {
         Collection<EntityField> fieldList = $$metadata.getEntityFields();
         for (EntityField field : fieldList) {
+            if (field.getType().isPrimitive()) {
+                //A primitive field is never null, let the converter write the value without boxing it
+                BinaryCacheCodec.writeVarInt(out, field.getFieldNr());
+                field.getConverter().writeAttribute(field, this, out);
+                continue;
+            }//if
+
             Object value = field.invokeGetter(this);
             if (value != null) {
-                out.writeShort(field.getFieldNr());
+                BinaryCacheCodec.writeVarInt(out, field.getFieldNr());
                 if (field.isRelationshipField()) {
                     EntityMetaData<?> metaData = ((JPAEntity) value)._getMetaData();
                     if (metaData.getEntityType() == EntityType.EMBEDDABLE) {
@@ -870,9 +1035,9 @@ public class JPAEntityImpl implements JPAEntity
                         }//if
                         else {
                             EntityField keyField = metaData.getIdField();
-                            out.writeShort(keyField.getFieldNr());
+                            BinaryCacheCodec.writeVarInt(out, keyField.getFieldNr());
                             keyField.getConverter().writeField(primaryKey, out);
-                            out.writeShort(0); //End of entity
+                            BinaryCacheCodec.writeVarInt(out, 0); //End of entity
                         }//else
                     }//else
                 }
@@ -881,13 +1046,13 @@ public class JPAEntityImpl implements JPAEntity
                 }//else
             }//if
         }//for
-        out.writeShort(0); //End of stream indicator
+        BinaryCacheCodec.writeVarInt(out, 0); //End of stream indicator
     }//writeFields
 
 
     private void readFields(DataInputStream in) throws IOException
     {
-        int fieldNr = in.readShort();
+        int fieldNr = BinaryCacheCodec.readVarInt(in);
         while (fieldNr > 0) {
             EntityField field = $$metadata.getEntityFieldByNr(fieldNr);
 
@@ -902,10 +1067,10 @@ public class JPAEntityImpl implements JPAEntity
                 field.invokeSetter(this, entity);
             }
             else {
-                field.invokeSetter(this, field.getConverter().readField(in));
+                field.getConverter().readAttribute(in, field, this);
             }
 
-            fieldNr = in.readShort();
+            fieldNr = BinaryCacheCodec.readVarInt(in);
         }//while
 
         _clearModified();
@@ -968,31 +1133,26 @@ public class JPAEntityImpl implements JPAEntity
     public String _toJson()
     {
         try {
-            ObjectMapper mapper = new ObjectMapper(JsonFactory.builder().build());
-            mapper.registerModule(new JavaTimeModule());
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            JsonGenerator jsonGenerator = mapper
-                    .writerWithDefaultPrettyPrinter()
-                    .createGenerator(outputStream);
-
-            generateJson(jsonGenerator);
-            jsonGenerator.close();
-            return outputStream.toString();
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator jsonGenerator = JsonCacheCodec.createGenerator(writer)) {
+                generateJson(jsonGenerator);
+            }//try
+            return writer.toString();
         }
         catch (IOException ex) {
             throw new CachingException("Error generating json structure for entity [" + this._getMetaData().getName() + "]", ex);
         }
     }
 
-    private void _fromJson(JsonNode jsonNode)
+    /**
+     * Read the entity from the parser. The parser must be positioned on the START_OBJECT token of the entity and is left
+     * on the matching END_OBJECT token.
+     */
+    private void _fromJson(JsonParser parser) throws IOException
     {
-        Iterator<Map.Entry<String, JsonNode>> iter = jsonNode.fields();
-
-        while (iter.hasNext()) {
-            Map.Entry<String, JsonNode> node = iter.next();
-
-            EntityField field = $$metadata.getEntityField(node.getKey());
-            if (node.getValue().isNull()) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            EntityField field = $$metadata.getEntityField(parser.currentName());
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
                 field.invokeSetter(this, null);
             }
             else {
@@ -1000,7 +1160,7 @@ public class JPAEntityImpl implements JPAEntity
                     EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(field.getType());
 
                     JPAEntityImpl entity = (JPAEntityImpl) metaData.getNewEntity();
-                    entity._fromJson(node.getValue());
+                    entity._fromJson(parser);
 
                     if (metaData.getEntityType() == EntityType.ENTITY) {
                         entity._markLazyLoaded();
@@ -1008,21 +1168,22 @@ public class JPAEntityImpl implements JPAEntity
                     field.invokeSetter(this, entity);
                 }
                 else {
-                    field.invokeSetter(this, field.getConverter().fromJson(node.getValue()));
+                    field.invokeSetter(this, field.getConverter().fromJson(parser));
                 }
             }//else
-        }
+        }//while
         _clearModified();
     }
 
     public void _fromJson(String jsonStr)
     {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode nodes = mapper.readTree(jsonStr);
-            _fromJson(nodes);
+        try (JsonParser parser = JsonCacheCodec.createParser(jsonStr)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new PersistenceException("Error parsing json text string, expected an object");
+            }//if
+            _fromJson(parser);
         }
-        catch (JsonProcessingException ex) {
+        catch (IOException ex) {
             throw new PersistenceException("Error parsing json text string", ex);
         }
     }
@@ -1031,12 +1192,7 @@ public class JPAEntityImpl implements JPAEntity
     public byte[] _serialize()
     {
         try {
-            ByteArrayOutputStream recvOut = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(recvOut);
-            writeFields(out);
-            out.flush();
-
-            return recvOut.toByteArray();
+            return BinaryCacheCodec.encode($$metadata, this::writeFields);
         }//try
         catch (IOException ex) {
             throw new PersistenceException("Error serialising entity", ex);
@@ -1047,9 +1203,7 @@ public class JPAEntityImpl implements JPAEntity
     public void _deserialize(byte[] bytes)
     {
         try {
-            ByteArrayInputStream recvOut = new ByteArrayInputStream(bytes);
-            DataInputStream in = new DataInputStream(recvOut);
-            readFields(in);
+            readFields(BinaryCacheCodec.decode($$metadata, bytes));
         }//try
         catch (IOException ex) {
             throw new PersistenceException("Error de-serialising the entity", ex);
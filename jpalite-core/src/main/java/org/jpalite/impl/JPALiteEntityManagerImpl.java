@@ -51,7 +51,6 @@ import static jakarta.persistence.LockModeType.*;
 public class JPALiteEntityManagerImpl implements JPALiteEntityManager
 {
     private static final String CRITERIA_QUERY_NOT_SUPPORTED = "CriteriaQuery is not supported";
-    private static final String ENTITY_GRAPH_NOT_SUPPORTED = "EntityGraph is not supported";
     private static final String STORED_PROCEDURE_QUERY_NOT_SUPPORTED = "StoredProcedureQuery is not supported";
     private static final Tracer TRACER = GlobalOpenTelemetry.get().getTracer(JPALiteEntityManagerImpl.class.getName());
     private final EntityManagerFactory entityManagerFactory;
@@ -226,13 +225,14 @@ public class JPALiteEntityManagerImpl implements JPALiteEntityManager
         return persistenceContext.l1Cache().contains((JPAEntity) entity);
     }//contains
 
-    //<editor-fold desc="Unsupported Entity Graph Functions">
+    //<editor-fold desc="Entity Graph Functions">
     @Override
     public <T> EntityGraph<T> createEntityGraph(Class<T> rootType)
     {
         checkOpen();
+        checkEntityClass(rootType);
 
-        throw new UnsupportedOperationException(ENTITY_GRAPH_NOT_SUPPORTED);
+        return new EntityGraphImpl<>(null, rootType);
     }
 
     @Override
@@ -240,25 +240,26 @@ public class JPALiteEntityManagerImpl implements JPALiteEntityManager
     {
         checkOpen();
 
-        throw new UnsupportedOperationException(ENTITY_GRAPH_NOT_SUPPORTED);
+        //The named graph is immutable, return a copy that can be changed by the caller
+        return ((EntityGraphImpl<?>) EntityMetaDataManager.getEntityGraph(graphName)).copy(null, false);
     }
 
     @Override
-    @SuppressWarnings("java:S4144")//Not an error
     public EntityGraph<?> getEntityGraph(String graphName)
     {
         checkOpen();
 
-        throw new UnsupportedOperationException(ENTITY_GRAPH_NOT_SUPPORTED);
+        //The named graph is registered as an immutable graph and is safe to share
+        return EntityMetaDataManager.getEntityGraph(graphName);
     }
 
     @Override
-    @SuppressWarnings("java:S4144")//Not an error
     public <T> List<EntityGraph<? super T>> getEntityGraphs(Class<T> entityClass)
     {
         checkOpen();
+        checkEntityClass(entityClass);
 
-        throw new UnsupportedOperationException(ENTITY_GRAPH_NOT_SUPPORTED);
+        return EntityMetaDataManager.getEntityGraphs(entityClass);
     }
     //</editor-fold>
 
@@ -500,11 +501,26 @@ public class JPALiteEntityManagerImpl implements JPALiteEntityManager
             EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityClass);
             span.setAttribute("entity", metaData.getName());
 
+            //Fast path, a primary key lookup without locking is served from the L1 or L2 cache before building a query
+            boolean checkCache = primaryKey != null && (lockMode == null || lockMode == NONE);
+            if (checkCache) {
+                T entity = findInCache(metaData, entityClass, primaryKey, properties);
+                if (entity != null) {
+                    span.setAttribute("result", "Cache hit");
+                    return entity;
+                }//if
+            }//if
+
             Map<String, Object> hints = new HashMap<>(this.properties);
             if (properties != null) {
                 hints.putAll(properties);
             }//if
 
+            if (checkCache) {
+                //The caches were already checked
+                hints.put(PERSISTENCE_CACHE_RETRIEVEMODE, CacheRetrieveMode.BYPASS);
+            }//if
+
             EntityQuery entityQuery = new EntitySelectQueryImpl(primaryKey, metaData);
             JPALiteQueryImpl<T> query = new JPALiteQueryImpl<>(entityQuery.getQuery(),
                                                                entityQuery.getLanguage(),
@@ -525,6 +541,41 @@ public class JPALiteEntityManagerImpl implements JPALiteEntityManager
         }
     }//find
 
+    private Object getHint(Map<String, Object> properties, String hintName)
+    {
+        if (properties != null && properties.containsKey(hintName)) {
+            return properties.get(hintName);
+        }//if
+
+        return this.properties.get(hintName);
+    }//getHint
+
+    /**
+     * Look for the entity in the L1 cache and then in the L2 cache. An entity found in the L2 cache is attached to the
+     * persistence context.
+     *
+     * @return The entity or null if not cached
+     */
+    private <T> T findInCache(EntityMetaData<?> metaData, Class<T> entityClass, Object primaryKey, Map<String, Object> properties)
+    {
+        T entity = persistenceContext.l1Cache().find(entityClass, primaryKey);
+        if (entity != null || !metaData.isCacheable()) {
+            return entity;
+        }//if
+
+        Object retrieveMode = getHint(properties, PERSISTENCE_CACHE_RETRIEVEMODE);
+        if (retrieveMode != null && !CacheRetrieveMode.USE.name().equals(retrieveMode.toString())) {
+            return null;
+        }//if
+
+        entity = persistenceContext.l2Cache().find(entityClass, primaryKey);
+        if (entity instanceof JPAEntity jpaEntity) {
+            persistenceContext.manageCachedEntity(jpaEntity, getHint(properties, PERSISTENCE_OVERRIDE_FETCHTYPE));
+        }//if
+
+        return entity;
+    }//findInCache
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getReference(Class<T> entityClass, Object primaryKey)
@@ -0,0 +1,211 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import org.jpalite.*;
+
+import java.io.*;
+
+/**
+ * Codec used for the {@link org.jpalite.impl.CacheFormat#BINARY} cache format.
+ * <p>
+ * Every entry starts with a format version byte followed by a hash of the entity schema. An entry written by a
+ * different version of the entity (a field was added, removed, renamed or changed type) is rejected before any field is
+ * read, rather than being mapped onto the wrong fields. Field numbers are written as variable length integers and the
+ * output buffer is reused per thread to keep the number of allocations down.
+ */
+public final class BinaryCacheCodec
+{
+    /**
+     * The version of the binary format. Must be incremented whenever the way fields are written changes.
+     */
+    private static final int FORMAT_VERSION = 2;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    /**
+     * Buffers that grew beyond this size are not kept for the next entity
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<EncodeBuffer> BUFFERS = ThreadLocal.withInitial(EncodeBuffer::new);
+    private static final ClassValue<Integer> SCHEMA_HASHES = new ClassValue<>()
+    {
+        @Override
+        protected Integer computeValue(Class<?> type)
+        {
+            return calculateSchemaHash(EntityMetaDataManager.getMetaData(type));
+        }//computeValue
+    };
+
+    /**
+     * Writes the fields of an entity to the output stream
+     */
+    @FunctionalInterface
+    public interface FieldWriter
+    {
+        void write(DataOutputStream out) throws IOException;
+    }//FieldWriter
+
+    private static final class EncodeBuffer extends ByteArrayOutputStream
+    {
+        private final DataOutputStream out = new DataOutputStream(this);
+        private boolean inUse;
+
+        EncodeBuffer()
+        {
+            super(INITIAL_BUFFER_SIZE);
+        }//EncodeBuffer
+
+        void release()
+        {
+            reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            }//if
+            inUse = false;
+        }//release
+    }//EncodeBuffer
+
+    private BinaryCacheCodec()
+    {
+        //Made private to prevent instantiation
+    }//BinaryCacheCodec
+
+    /**
+     * Encode an entity. The header is written, followed by the fields written by the field writer.
+     *
+     * @param metaData The metadata of the entity
+     * @param writer   The writer used to write the fields
+     * @return The encoded entity
+     * @throws IOException If the entity could not be written
+     */
+    public static byte[] encode(EntityMetaData<?> metaData, FieldWriter writer) throws IOException
+    {
+        EncodeBuffer buffer = BUFFERS.get();
+        //The thread buffer is in use if a getter triggered the serialisation of another entity
+        if (buffer.inUse) {
+            buffer = new EncodeBuffer();
+        }//if
+
+        buffer.inUse = true;
+        try {
+            buffer.out.writeByte(FORMAT_VERSION);
+            buffer.out.writeInt(getSchemaHash(metaData));
+            writer.write(buffer.out);
+            buffer.out.flush();
+
+            return buffer.toByteArray();
+        }//try
+        finally {
+            buffer.release();
+        }//finally
+    }//encode
+
+    /**
+     * Validate the header of an encoded entity and return a stream positioned on the first field.
+     *
+     * @param metaData The metadata of the entity
+     * @param bytes    The encoded entity
+     * @return The stream to read the fields from
+     * @throws CachingException If the entry was written using a different format or entity schema
+     */
+    public static DataInputStream decode(EntityMetaData<?> metaData, byte[] bytes)
+    {
+        if (bytes.length < 5 || bytes[0] != FORMAT_VERSION) {
+            throw new CachingException("Cached entry for entity [" + metaData.getName() + "] was written using a different format");
+        }//if
+
+        int schemaHash = ((bytes[1] & 0xFF) << 24) | ((bytes[2] & 0xFF) << 16) | ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        if (schemaHash != getSchemaHash(metaData)) {
+            throw new CachingException("Cached entry for entity [" + metaData.getName() + "] was written using a different version of the entity");
+        }//if
+
+        return new DataInputStream(new ByteArrayInputStream(bytes, 5, bytes.length - 5));
+    }//decode
+
+    /**
+     * Return the schema hash of an entity. The hash covers the field numbers, names, types and mapping types of the
+     * entity and of the embedded entities it contains, as well as the id fields of the entities it references.
+     *
+     * @param metaData The metadata of the entity
+     * @return The schema hash
+     */
+    public static int getSchemaHash(EntityMetaData<?> metaData)
+    {
+        return SCHEMA_HASHES.get(metaData.getEntityClass());
+    }//getSchemaHash
+
+    private static int calculateSchemaHash(EntityMetaData<?> metaData)
+    {
+        //Only use hash codes that are stable between JVMs, the hash is shared via the cache
+        int hash = metaData.getEntityClass().getName().hashCode();
+        for (EntityField field : metaData.getEntityFields()) {
+            hash = 31 * hash + field.getFieldNr();
+            hash = 31 * hash + field.getName().hashCode();
+            hash = 31 * hash + field.getType().getName().hashCode();
+            hash = 31 * hash + field.getMappingType().name().hashCode();
+            if (field.getMappingType() == MappingType.EMBEDDED) {
+                hash = 31 * hash + getSchemaHash(EntityMetaDataManager.getMetaData(field.getType()));
+            }//if
+            else if (field.getMappingType() == MappingType.MANY_TO_ONE || field.getMappingType() == MappingType.ONE_TO_ONE) {
+                //Only the primary key of the referenced entity is written
+                for (EntityField idField : EntityMetaDataManager.getMetaData(field.getType()).getIdFields()) {
+                    hash = 31 * hash + idField.getFieldNr();
+                    hash = 31 * hash + idField.getType().getName().hashCode();
+                }//for
+            }//else if
+        }//for
+
+        return hash;
+    }//calculateSchemaHash
+
+    /**
+     * Write an unsigned variable length integer, 7 bits per byte
+     *
+     * @param out   The output to write to
+     * @param value The value to write
+     * @throws IOException If the value could not be written
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException
+    {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }//while
+        out.writeByte(value);
+    }//writeVarInt
+
+    /**
+     * Read an unsigned variable length integer written by {@link #writeVarInt(DataOutput, int)}
+     *
+     * @param in The input to read from
+     * @return The value read
+     * @throws IOException If the value could not be read
+     */
+    public static int readVarInt(DataInput in) throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }//if
+        }//for
+
+        throw new IOException("Malformed variable length integer");
+    }//readVarInt
+}//BinaryCacheCodec
@@ -33,8 +33,11 @@ import org.jpalite.impl.JPAConfig;
 
 import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @SuppressWarnings("java:S3740")//Have to work without generics
 @Slf4j
@@ -48,38 +51,142 @@ public class EntityCacheImpl implements EntityCache
     public static final String ENTITY_ATTR = "entity";
     public static final String ENTITY_KEY = "key";
     private static final boolean CACHING_ENABLED = JPAConfig.getValue("jpalite.persistence.l2cache", true);
+    /**
+     * If enabled the L2 cache updates collected during a transaction are written to the cache in the background after
+     * the commit. A single writer thread is used so that updates to the same entity are applied in commit order.
+     */
+    private static final boolean WRITE_BEHIND = JPAConfig.getValue("jpalite.persistence.l2cache.writeBehind", false);
+    /**
+     * The maximum number of entries per region kept in the in-JVM near cache. The near cache is disabled if set to 0.
+     */
+    private static final int NEAR_CACHE_MAX_ENTRIES = JPAConfig.getValue("jpalite.persistence.l2cache.near.maxEntries", 0);
+    /**
+     * The interval, in milliseconds, at which the near cache checks if a region was modified
+     */
+    private static final long NEAR_CACHE_CHECK_INTERVAL = JPAConfig.getValue("jpalite.persistence.l2cache.near.checkInterval", 1000L);
+    /**
+     * The maximum number of query results kept in the query result cache. The query cache is disabled if set to 0.
+     */
+    private static final int QUERY_CACHE_MAX_ENTRIES = JPAConfig.getValue("jpalite.persistence.l2cache.query.maxEntries", 1000);
+    /**
+     * The maximum time, in milliseconds, a query result is kept in the query result cache. No maximum is applied if set
+     * to 0.
+     */
+    private static final long QUERY_CACHE_MAX_AGE = JPAConfig.getValue("jpalite.persistence.l2cache.query.maxAge", 300000L);
+    /**
+     * The cache providers and near caches, shared by all the persistence contexts using the same provider, cache
+     * client, configuration, region prefix and format. An entry is removed when the entity manager factory is closed.
+     */
+    private static final Map<String, SharedCache> SHARED_CACHES = new ConcurrentHashMap<>();
+    private static final ExecutorService WRITE_BEHIND_EXECUTOR = WRITE_BEHIND ? Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "jpalite-l2cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    }) : null;
 
     private final CacheFormat cacheFormat;
     private final List<CacheEntry> batchQueue = new ArrayList<>();
+    /**
+     * The regions marked as modified in the transaction, mapped to true if the entities in the region must be evicted
+     */
+    private final Map<String, Boolean> modifiedRegions = new LinkedHashMap<>();
+    private boolean allRegionsModified;
     private boolean inTransaction;
-    private JPACache jpaCache = null;
+    private final JPACache jpaCache;
+    private final NearCache nearCache;
+    private final QueryResultCache queryCache;
 
     private record CacheEntry(int action, JPAEntity entity)
     {
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * The provider instance (and its resolved regions), near cache and query cache created once for a persistence unit
+     */
+    private record SharedCache(JPACache provider, NearCache nearCache, QueryResultCache queryCache)
+    {
+    }
+
+    /**
+     * The de-duplicated updates to a single cache region
+     */
+    private static class RegionUpdate
+    {
+        private final Map<String, Object> replaced = new LinkedHashMap<>();
+        private final Set<String> removed = new LinkedHashSet<>();
+        private final long idleTime;
+        private final TimeUnit timeUnit;
+
+        RegionUpdate(EntityMetaData<?> metaData)
+        {
+            idleTime = metaData.getIdleTime();
+            timeUnit = metaData.getCacheTimeUnit();
+        }
+    }
+
     public EntityCacheImpl(JPALitePersistenceUnit persistenceUnit)
     {
         cacheFormat   = persistenceUnit.getCacheFormat();
         inTransaction = false;
+
+        SharedCache sharedCache = null;
         if (CACHING_ENABLED && !persistenceUnit.getSharedCacheMode().equals(SharedCacheMode.NONE)) {
-            try {
-                if (persistenceUnit.getCacheProvider() == null) {
-                    LOG.warn("Level 2 caching is enabled but no caching provider is defined");
-                    jpaCache = null;
-                } else {
-                    Class<JPACache> jpaCacheClass = (Class<JPACache>) Thread.currentThread().getContextClassLoader().loadClass(persistenceUnit.getCacheProvider());
-                    jpaCache = jpaCacheClass.getConstructor(String.class, String.class, String.class).newInstance(persistenceUnit.getCacheClient(), persistenceUnit.getCacheConfig(), persistenceUnit.getCacheRegionPrefix());
-                }//else
-            }
-            catch (ClassNotFoundException | InvocationTargetException | InstantiationException |
-                   IllegalAccessException | NoSuchMethodException ex) {
-                throw new CachingException("Error loading cache provider class [" + persistenceUnit.getCacheProvider() + "]", ex);
-            }
+            if (persistenceUnit.getCacheProvider() == null) {
+                LOG.warn("Level 2 caching is enabled but no caching provider is defined");
+            }//if
+            else {
+                sharedCache = SHARED_CACHES.computeIfAbsent(getCacheKey(persistenceUnit), k -> createSharedCache(persistenceUnit));
+            }//else
         }//if
+
+        jpaCache   = (sharedCache != null) ? sharedCache.provider() : null;
+        nearCache  = (sharedCache != null) ? sharedCache.nearCache() : null;
+        queryCache = (sharedCache != null) ? sharedCache.queryCache() : null;
     }//EntityCacheImpl
 
+    private static String getCacheKey(JPALitePersistenceUnit persistenceUnit)
+    {
+        return persistenceUnit.getCacheProvider() + "|" + persistenceUnit.getCacheClient() + "|" + persistenceUnit.getCacheConfig() + "|" +
+               persistenceUnit.getCacheRegionPrefix() + "|" + persistenceUnit.getCacheFormat();
+    }//getCacheKey
+
+    /**
+     * Release the cache provider, near cache and query cache shared by the persistence contexts of the persistence unit.
+     * Called when the entity manager factory is closed, the persistence contexts created afterwards use a new provider.
+     *
+     * @param persistenceUnit The persistence unit
+     */
+    public static void release(JPALitePersistenceUnit persistenceUnit)
+    {
+        if (persistenceUnit.getCacheProvider() != null) {
+            SharedCache sharedCache = SHARED_CACHES.remove(getCacheKey(persistenceUnit));
+            if (sharedCache != null) {
+                try {
+                    sharedCache.provider().close();
+                }//try
+                catch (RuntimeException ex) {
+                    LOG.warn("Error closing cache provider [{}]", persistenceUnit.getCacheProvider(), ex);
+                }//catch
+            }//if
+        }//if
+    }//release
+
+    @SuppressWarnings("unchecked")
+    private static SharedCache createSharedCache(JPALitePersistenceUnit persistenceUnit)
+    {
+        try {
+            Class<JPACache> jpaCacheClass = (Class<JPACache>) Thread.currentThread().getContextClassLoader().loadClass(persistenceUnit.getCacheProvider());
+            JPACache provider = jpaCacheClass.getConstructor(String.class, String.class, String.class).newInstance(persistenceUnit.getCacheClient(), persistenceUnit.getCacheConfig(), persistenceUnit.getCacheRegionPrefix());
+            NearCache nearCache = (NEAR_CACHE_MAX_ENTRIES > 0) ? new NearCache(provider, NEAR_CACHE_MAX_ENTRIES, NEAR_CACHE_CHECK_INTERVAL) : null;
+            QueryResultCache queryCache = (QUERY_CACHE_MAX_ENTRIES > 0) ? new QueryResultCache(QUERY_CACHE_MAX_ENTRIES, QUERY_CACHE_MAX_AGE) : null;
+            return new SharedCache(provider, nearCache, queryCache);
+        }//try
+        catch (ClassNotFoundException | InvocationTargetException | InstantiationException |
+               IllegalAccessException | NoSuchMethodException ex) {
+            throw new CachingException("Error loading cache provider class [" + persistenceUnit.getCacheProvider() + "]", ex);
+        }//catch
+    }//createSharedCache
+
     public <T> T find(Class<T> entityType, Object primaryKey)
     {
         Span span = TRACER.spanBuilder("EntityCache::find").setSpanKind(SpanKind.SERVER).startSpan();
@@ -91,24 +198,20 @@ public class EntityCacheImpl implements EntityCache
                     String key = primaryKey.toString();
                     span.setAttribute(ENTITY_KEY, key);
                     span.setAttribute(ENTITY_ATTR, entityType.getName());
-                    if (cacheFormat == CacheFormat.BINARY) {
-                        byte[] bytes = jpaCache.find(metaData.getName(), key);
-                        if (bytes != null) {
-                            LOG.debug("Searching L2 cache (Binary) for key [{}] - Hit in {}ms", key, System.currentTimeMillis() - start);
-                            T entity = metaData.getNewEntity();
-                            ((JPAEntity) entity)._deserialize(bytes);
-                            return entity;
-                        }//if
+                    Object value = (nearCache != null) ? nearCache.find(metaData, key) : null;
+                    if (value != null) {
+                        LOG.debug("Searching near cache for key [{}] - Hit in {}ms", key, System.currentTimeMillis() - start);
+                        return toEntity(metaData, value);
                     }//if
-                    else {
-                        String jsonStr = jpaCache.find(metaData.getName(), key);
-                        if (jsonStr != null) {
-                            LOG.debug("Searching L2 cache (JSON) for key [{}] - Hit in {}ms", key, System.currentTimeMillis() - start);
-                            T entity = metaData.getNewEntity();
-                            ((JPAEntity) entity)._fromJson(jsonStr);
-                            return entity;
+
+                    value = jpaCache.find(metaData.getName(), key);
+                    if (value != null) {
+                        LOG.debug("Searching L2 cache ({}) for key [{}] - Hit in {}ms", cacheFormat, key, System.currentTimeMillis() - start);
+                        if (nearCache != null) {
+                            nearCache.add(metaData, key, value);
                         }//if
-                    }
+                        return toEntity(metaData, value);
+                    }//if
                     LOG.debug("Searching L2 cache for key [{}] - Missed in {}ms", key, System.currentTimeMillis() - start);
                 }//if
                 else {
@@ -134,6 +237,77 @@ public class EntityCacheImpl implements EntityCache
         return null;
     }//find
 
+    @Override
+    public <T> Map<Object, T> findAll(Class<T> entityType, Collection<?> primaryKeys)
+    {
+        Map<Object, T> entities = new HashMap<>();
+        Span span = TRACER.spanBuilder("EntityCache::findAll").setSpanKind(SpanKind.SERVER).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            long start = System.currentTimeMillis();
+            if (jpaCache != null && !primaryKeys.isEmpty()) {
+                EntityMetaData<T> metaData = EntityMetaDataManager.getMetaData(entityType);
+                if (metaData.isCacheable()) {
+                    span.setAttribute(ENTITY_ATTR, entityType.getName());
+
+                    Map<String, Object> remoteKeys = new LinkedHashMap<>();
+                    for (Object primaryKey : primaryKeys) {
+                        String key = primaryKey.toString();
+                        Object value = (nearCache != null) ? nearCache.find(metaData, key) : null;
+                        if (value != null) {
+                            addEntity(entities, metaData, primaryKey, value);
+                        }//if
+                        else {
+                            remoteKeys.put(key, primaryKey);
+                        }//else
+                    }//for
+
+                    if (!remoteKeys.isEmpty()) {
+                        Map<String, Object> values = jpaCache.findAll(metaData.getName(), remoteKeys.keySet());
+                        values.forEach((key, value) -> {
+                            if (value != null) {
+                                if (nearCache != null) {
+                                    nearCache.add(metaData, key, value);
+                                }//if
+                                addEntity(entities, metaData, remoteKeys.get(key), value);
+                            }//if
+                        });
+                    }//if
+
+                    LOG.debug("Searching L2 cache for {} keys - {} hits in {}ms", primaryKeys.size(), entities.size(), System.currentTimeMillis() - start);
+                }//if
+            }//if
+        }//try
+        finally {
+            span.end();
+        }//finally
+
+        return entities;
+    }//findAll
+
+    private <T> void addEntity(Map<Object, T> entities, EntityMetaData<T> metaData, Object primaryKey, Object value)
+    {
+        try {
+            entities.put(primaryKey, toEntity(metaData, value));
+        }//try
+        catch (RuntimeException ex) {
+            LOG.warn("Error reading cached entity - {}", ex.getMessage());
+            //Something is wrong with the cached version, remove it so that it is read from storage
+            evict(metaData.getEntityClass(), primaryKey);
+        }//catch
+    }//addEntity
+
+    private <T> T toEntity(EntityMetaData<T> metaData, Object value)
+    {
+        T entity = metaData.getNewEntity();
+        if (cacheFormat == CacheFormat.BINARY) {
+            ((JPAEntity) entity)._deserialize((byte[]) value);
+        }//if
+        else {
+            ((JPAEntity) entity)._fromJson((String) value);
+        }//else
+        return entity;
+    }//toEntity
+
     @Override
     public void replace(JPAEntity entity)
     {
@@ -153,6 +327,9 @@ public class EntityCacheImpl implements EntityCache
                 span.setAttribute(ENTITY_KEY, key);
                 span.setAttribute(ENTITY_ATTR, entity._getMetaData().getName());
 
+                if (nearCache != null) {
+                    nearCache.evict(entity._getMetaData().getName(), key);
+                }//if
                 jpaCache.add(entity._getMetaData().getName(), key, (cacheFormat.equals(CacheFormat.BINARY) ? entity._serialize() : entity._toJson()), entity._getMetaData().getIdleTime(), entity._getMetaData().getCacheTimeUnit());
                 LOG.debug("Adding/Replacing Entity with key [{}] in L2 cache in {}ms", key, System.currentTimeMillis() - start);
             }//if
@@ -180,6 +357,102 @@ public class EntityCacheImpl implements EntityCache
         }//finally
     }//getLastModified
 
+    @Override
+    public Map<String, Instant> getRegionTimestamps(Collection<Class<?>> entityTypes)
+    {
+        if (jpaCache == null || queryCache == null || entityTypes.isEmpty()) {
+            return null;
+        }//if
+
+        Map<String, Instant> regionTimestamps = new LinkedHashMap<>();
+        for (Class<?> entityType : entityTypes) {
+            EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityType);
+            if (!metaData.isCacheable()) {
+                //Changes to the entity type are not tracked, the result can never be validated
+                return null;
+            }//if
+            regionTimestamps.put(metaData.getName(), jpaCache.getLastModified(metaData.getName()));
+        }//for
+
+        return regionTimestamps;
+    }//getRegionTimestamps
+
+    @Override
+    public List<Object> findQueryResult(Object queryKey)
+    {
+        Span span = TRACER.spanBuilder("EntityCache::findQueryResult").setSpanKind(SpanKind.SERVER).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            if (jpaCache != null && queryCache != null) {
+                QueryResultCache.Entry entry = queryCache.find(queryKey);
+                if (entry != null) {
+                    //The result is only valid if none of the regions used by the query changed since the timestamps were read
+                    for (Map.Entry<String, Instant> region : entry.regionTimestamps().entrySet()) {
+                        if (!jpaCache.getLastModified(region.getKey()).equals(region.getValue())) {
+                            LOG.debug("Query result cache entry is stale - {} was modified", region.getKey());
+                            queryCache.evict(queryKey);
+                            return null;
+                        }//if
+                    }//for
+
+                    return entry.primaryKeys();
+                }//if
+            }//if
+
+            return null;
+        }//try
+        finally {
+            span.end();
+        }//finally
+    }//findQueryResult
+
+    @Override
+    public void addQueryResult(Object queryKey, List<Object> primaryKeys, Map<String, Instant> regionTimestamps)
+    {
+        if (jpaCache != null && queryCache != null && regionTimestamps != null) {
+            queryCache.add(queryKey, primaryKeys, regionTimestamps);
+        }//if
+    }//addQueryResult
+
+    @Override
+    public <T> void markModified(Class<T> entityType, boolean evictEntities)
+    {
+        EntityMetaData<T> metaData = EntityMetaDataManager.getMetaData(entityType);
+        if (jpaCache != null && metaData.isCacheable()) {
+            if (inTransaction) {
+                modifiedRegions.merge(metaData.getName(), evictEntities, Boolean::logicalOr);
+            }//if
+            else {
+                writeModifiedRegion(metaData.getName(), evictEntities);
+            }//else
+        }//if
+    }//markModified
+
+    @Override
+    public void markAllModified()
+    {
+        if (jpaCache != null) {
+            if (inTransaction) {
+                allRegionsModified = true;
+            }//if
+            else {
+                evictAll();
+            }//else
+        }//if
+    }//markAllModified
+
+    private void writeModifiedRegion(String region, boolean evictEntities)
+    {
+        if (evictEntities) {
+            if (nearCache != null) {
+                nearCache.evictAll(region);
+            }//if
+            jpaCache.evictAll(region);
+        }//if
+        else {
+            jpaCache.touch(region);
+        }//else
+    }//writeModifiedRegion
+
     @Override
     public boolean contains(Class entityType, Object primaryKey)
     {
@@ -203,6 +476,9 @@ public class EntityCacheImpl implements EntityCache
         try (Scope ignored = span.makeCurrent()) {
             EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityType);
             if (jpaCache != null && metaData.isCacheable() && primaryKey != null) {
+                if (nearCache != null) {
+                    nearCache.evict(metaData.getName(), primaryKey.toString());
+                }//if
                 jpaCache.evict(metaData.getName(), primaryKey.toString());
             }//if
         }//try
@@ -218,6 +494,9 @@ public class EntityCacheImpl implements EntityCache
         try (Scope ignored = span.makeCurrent()) {
             EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(entityType);
             if (jpaCache != null && metaData.isCacheable()) {
+                if (nearCache != null) {
+                    nearCache.evictAll(metaData.getName());
+                }//if
                 jpaCache.evictAll(metaData.getName());
             }//if
         }//try
@@ -232,6 +511,12 @@ public class EntityCacheImpl implements EntityCache
         Span span = TRACER.spanBuilder("EntityCache::evictAll").setSpanKind(SpanKind.SERVER).startSpan();
         try (Scope ignored = span.makeCurrent()) {
             if (jpaCache != null) {
+                if (nearCache != null) {
+                    nearCache.evictAllRegions();
+                }//if
+                if (queryCache != null) {
+                    queryCache.evictAll();
+                }//if
                 jpaCache.evictAllRegions();
             }//if
         }//try
@@ -268,20 +553,26 @@ public class EntityCacheImpl implements EntityCache
                 }//if
 
                 inTransaction = false;
-                batchQueue.forEach(e -> {
-                    if (e.action == ACTION_REMOVE) {
-                        jpaCache.evict(e.entity()._getMetaData().getName(),
-                                       e.entity._getPrimaryKey().toString());
+                Map<String, RegionUpdate> updates = collectUpdates();
+                Map<String, Boolean> modified = new LinkedHashMap<>(modifiedRegions);
+                boolean allModified = allRegionsModified;
+                batchQueue.clear();
+                modifiedRegions.clear();
+                allRegionsModified = false;
+
+                if (allModified) {
+                    //The regions changed are not known, the updates are not written and all the regions are evicted
+                    evictAll();
+                }//if
+                else {
+                    updates.forEach(this::evictNearCache);
+                    if (WRITE_BEHIND) {
+                        WRITE_BEHIND_EXECUTOR.execute(() -> writeUpdates(updates, modified));
                     }//if
                     else {
-                        jpaCache.replace(e.entity()._getMetaData().getName(),
-                                         e.entity._getPrimaryKey().toString(),
-                                         (cacheFormat.equals(CacheFormat.BINARY) ? e.entity()._serialize() : e.entity()._toJson()),
-                                         e.entity()._getMetaData().getIdleTime(),
-                                         e.entity()._getMetaData().getCacheTimeUnit());
-                    }//if
-                });
-                batchQueue.clear();
+                        writeUpdates(updates, modified);
+                    }//else
+                }//else
             }//if
         }//try
         finally {
@@ -289,6 +580,84 @@ public class EntityCacheImpl implements EntityCache
         }//finally
     }//commit
 
+    /**
+     * Coalesce the batch queue per region. Only the last action for a key is kept and the entities are serialised here
+     * so that the values written reflect the state of the entities at commit time.
+     */
+    private Map<String, RegionUpdate> collectUpdates()
+    {
+        Map<String, RegionUpdate> updates = new LinkedHashMap<>();
+        for (CacheEntry entry : batchQueue) {
+            EntityMetaData<?> metaData = entry.entity()._getMetaData();
+            RegionUpdate update = updates.computeIfAbsent(metaData.getName(), r -> new RegionUpdate(metaData));
+            String key = entry.entity()._getPrimaryKey().toString();
+            if (entry.action() == ACTION_REMOVE) {
+                update.replaced.remove(key);
+                update.removed.add(key);
+            }//if
+            else {
+                update.removed.remove(key);
+                update.replaced.put(key, (cacheFormat.equals(CacheFormat.BINARY) ? entry.entity()._serialize() : entry.entity()._toJson()));
+            }//else
+        }//for
+
+        return updates;
+    }//collectUpdates
+
+    private void writeUpdates(Map<String, RegionUpdate> updates, Map<String, Boolean> modified)
+    {
+        Set<String> regions = new LinkedHashSet<>(updates.keySet());
+        regions.addAll(modified.keySet());
+        try {
+            for (String region : regions) {
+                RegionUpdate update = updates.get(region);
+                if (update != null) {
+                    jpaCache.removeAll(region, update.removed);
+                    jpaCache.putAll(region, update.replaced, update.idleTime, update.timeUnit);
+                    if (WRITE_BEHIND) {
+                        //A reader could have loaded the previous value into the near cache while the update was queued
+                        evictNearCache(region, update);
+                    }//if
+                }//if
+
+                //The region timestamp is only moved once, after all the writes to the region
+                writeModifiedRegion(region, modified.getOrDefault(region, false));
+            }//for
+        }//try
+        catch (RuntimeException ex) {
+            if (nearCache != null) {
+                regions.forEach(nearCache::evictAll);
+            }//if
+
+            if (!WRITE_BEHIND) {
+                throw ex;
+            }//if
+
+            //There is no caller to report the error to, evict the regions so that stale entries are not served
+            LOG.error("Error writing L2 cache updates - evicting the affected regions", ex);
+            regions.forEach(region -> {
+                try {
+                    jpaCache.evictAll(region);
+                }//try
+                catch (RuntimeException evictEx) {
+                    LOG.error("Error evicting L2 cache region {}", region, evictEx);
+                }//catch
+            });
+        }//catch
+    }//writeUpdates
+
+    /**
+     * Remove the updated and removed keys from the near cache so that this JVM does not serve the values replaced by
+     * the transaction until the next region check.
+     */
+    private void evictNearCache(String region, RegionUpdate update)
+    {
+        if (nearCache != null) {
+            update.removed.forEach(key -> nearCache.evict(region, key));
+            update.replaced.keySet().forEach(key -> nearCache.evict(region, key));
+        }//if
+    }//evictNearCache
+
 
     @Override
     public void rollback() throws SystemException
@@ -300,6 +669,8 @@ public class EntityCacheImpl implements EntityCache
 
             inTransaction = false;
             batchQueue.clear();
+            modifiedRegions.clear();
+            allRegionsModified = false;
         }//if
     }//rollback
 
@@ -0,0 +1,69 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Shared JSON codec used to read and write the {@link org.jpalite.impl.CacheFormat#JSON} cache format.
+ * <p>
+ * Creating an {@link ObjectMapper} is expensive and both the mapper and its {@link JsonFactory} are thread-safe once
+ * configured, so a single instance is shared by all entities. Generators are compact (no pretty printing) and parsers
+ * are used in streaming mode, the mapper is only used as the codec for converters that still read a tree.
+ */
+public final class JsonCacheCodec
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private JsonCacheCodec()
+    {
+        //Made private to prevent instantiation
+    }//JsonCacheCodec
+
+    /**
+     * Create a compact JSON generator writing to the given writer
+     *
+     * @param writer The writer
+     * @return The generator
+     * @throws IOException If the generator could not be created
+     */
+    public static JsonGenerator createGenerator(Writer writer) throws IOException
+    {
+        return FACTORY.createGenerator(writer);
+    }//createGenerator
+
+    /**
+     * Create a streaming JSON parser for the given text
+     *
+     * @param json The JSON text
+     * @return The parser
+     * @throws IOException If the parser could not be created
+     */
+    public static JsonParser createParser(String json) throws IOException
+    {
+        return FACTORY.createParser(json);
+    }//createParser
+}//JsonCacheCodec
@@ -0,0 +1,178 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import org.jpalite.EntityMetaData;
+import org.jpalite.JPACache;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded in-JVM tier in front of the (remote) L2 cache.
+ * <p>
+ * Entries are kept for the idle time configured on the entity with {@link org.jpalite.Caching} and every region is
+ * limited to a maximum number of entries, evicting the least recently used entry. The region timestamps maintained by
+ * the {@link JPACache} provider are checked at most once every check interval and if a region was modified since the
+ * previous check all the local entries of that region are dropped. A change made by another node is therefore visible
+ * after at most the check interval.
+ */
+public class NearCache
+{
+    private final JPACache jpaCache;
+    private final int maxEntries;
+    private final long checkInterval;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    private record Entry(Object value, long expireAt)
+    {
+    }
+
+    private class Region
+    {
+        private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+        private Instant lastModified;
+        private long nextCheck;
+    }
+
+    /**
+     * Create a new near cache
+     *
+     * @param jpaCache      The cache provider, used to read the region timestamps
+     * @param maxEntries    The maximum number of entries kept per region
+     * @param checkInterval The interval, in milliseconds, between region timestamp checks
+     */
+    public NearCache(JPACache jpaCache, int maxEntries, long checkInterval)
+    {
+        this.jpaCache      = jpaCache;
+        this.maxEntries    = maxEntries;
+        this.checkInterval = checkInterval;
+    }//NearCache
+
+    private Region getRegion(String regionName)
+    {
+        Region region = regions.computeIfAbsent(regionName, r -> new Region());
+        long now = System.currentTimeMillis();
+        boolean check;
+        synchronized (region) {
+            //Only one thread checks the region per interval
+            check = now >= region.nextCheck;
+            if (check) {
+                region.nextCheck = now + checkInterval;
+            }//if
+        }//synchronized
+
+        if (check) {
+            //Read the timestamp without holding the region lock so that readers are not blocked by the remote call
+            Instant lastModified = jpaCache.getLastModified(regionName);
+            synchronized (region) {
+                if (!lastModified.equals(region.lastModified)) {
+                    region.entries.clear();
+                    region.lastModified = lastModified;
+                }//if
+            }//synchronized
+        }//if
+
+        return region;
+    }//getRegion
+
+    /**
+     * Find an entry in the near cache
+     *
+     * @param metaData The metadata of the entity
+     * @param key      The key of the entity
+     * @return The cached value or null if the entry is not in the near cache or has expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T find(EntityMetaData<?> metaData, String key)
+    {
+        Region region = getRegion(metaData.getName());
+        synchronized (region) {
+            Entry entry = region.entries.get(key);
+            if (entry == null) {
+                return null;
+            }//if
+
+            if (entry.expireAt() < System.currentTimeMillis()) {
+                region.entries.remove(key);
+                return null;
+            }//if
+
+            return (T) entry.value();
+        }//synchronized
+    }//find
+
+    /**
+     * Add an entry read from the L2 cache to the near cache
+     *
+     * @param metaData The metadata of the entity
+     * @param key      The key of the entity
+     * @param value    The value read from the L2 cache
+     */
+    public void add(EntityMetaData<?> metaData, String key, Object value)
+    {
+        long expireAt = System.currentTimeMillis() + metaData.getCacheTimeUnit().toMillis(metaData.getIdleTime());
+        Region region = getRegion(metaData.getName());
+        synchronized (region) {
+            region.entries.put(key, new Entry(value, expireAt));
+        }//synchronized
+    }//add
+
+    /**
+     * Remove an entry from the near cache
+     *
+     * @param regionName The cache region
+     * @param key        The key of the entity
+     */
+    public void evict(String regionName, String key)
+    {
+        Region region = regions.get(regionName);
+        if (region != null) {
+            synchronized (region) {
+                region.entries.remove(key);
+            }//synchronized
+        }//if
+    }//evict
+
+    /**
+     * Remove all the entries of a region from the near cache
+     *
+     * @param regionName The cache region
+     */
+    public void evictAll(String regionName)
+    {
+        regions.remove(regionName);
+    }//evictAll
+
+    /**
+     * Remove all entries from the near cache
+     */
+    public void evictAllRegions()
+    {
+        regions.clear();
+    }//evictAllRegions
+}//NearCache
@@ -0,0 +1,115 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded in-JVM cache of query results.
+ * <p>
+ * A result is stored as the list of primary keys of the entities returned by the query together with the last
+ * modified time of the regions used by the query, read before the query was executed. The entries are validated
+ * against the current region timestamps by {@link EntityCacheImpl}, the cache itself keeps the least recently used
+ * entries up to the maximum number of entries and drops the entries older than the maximum age.
+ */
+public class QueryResultCache
+{
+    private final Map<Object, Entry> entries;
+    private final long maxAgeNanos;
+
+    /**
+     * A cached query result
+     *
+     * @param primaryKeys      The primary keys of the entities in the order returned by the query
+     * @param regionTimestamps The last modified time of the regions used by the query, read before it was executed
+     * @param createdAt        The {@link System#nanoTime()} when the result was added
+     */
+    public record Entry(List<Object> primaryKeys, Map<String, Instant> regionTimestamps, long createdAt)
+    {
+    }
+
+    /**
+     * Create a new query result cache
+     *
+     * @param maxEntries The maximum number of query results kept
+     * @param maxAge     The maximum time, in milliseconds, a query result is kept. No maximum is applied if set to 0.
+     */
+    public QueryResultCache(int maxEntries, long maxAge)
+    {
+        maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAge);
+        entries     = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+    }//QueryResultCache
+
+    /**
+     * Find a query result
+     *
+     * @param queryKey The key of the query
+     * @return The result or null if not found or older than the maximum age
+     */
+    public synchronized Entry find(Object queryKey)
+    {
+        Entry entry = entries.get(queryKey);
+        if (entry != null && maxAgeNanos > 0 && System.nanoTime() - entry.createdAt() > maxAgeNanos) {
+            entries.remove(queryKey);
+            return null;
+        }//if
+
+        return entry;
+    }//find
+
+    /**
+     * Add a query result to the cache
+     *
+     * @param queryKey         The key of the query
+     * @param primaryKeys      The primary keys of the entities returned by the query
+     * @param regionTimestamps The last modified time of the regions used by the query, read before it was executed
+     */
+    public synchronized void add(Object queryKey, List<Object> primaryKeys, Map<String, Instant> regionTimestamps)
+    {
+        entries.put(queryKey, new Entry(List.copyOf(primaryKeys), Map.copyOf(regionTimestamps), System.nanoTime()));
+    }//add
+
+    /**
+     * Remove a query result from the cache
+     *
+     * @param queryKey The key of the query
+     */
+    public synchronized void evict(Object queryKey)
+    {
+        entries.remove(queryKey);
+    }//evict
+
+    /**
+     * Remove all the query results from the cache
+     */
+    public synchronized void evictAll()
+    {
+        entries.clear();
+    }//evictAll
+}//QueryResultCache
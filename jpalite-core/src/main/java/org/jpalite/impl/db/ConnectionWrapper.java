@@ -19,11 +19,13 @@ package org.jpalite.impl.db;
 
 import org.jpalite.DatabasePool;
 import org.jpalite.PersistenceContext;
+import org.jpalite.impl.JPAConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.PrintWriter;
 import java.sql.*;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
@@ -32,19 +34,44 @@ import java.util.concurrent.Executor;
 public class ConnectionWrapper implements Connection
 {
 	private static final Logger LOG = LoggerFactory.getLogger(ConnectionWrapper.class);
+	/**
+	 * The maximum number of prepared statements kept open per connection. Set to 0 to disable the statement cache.
+	 */
+	private static final int STATEMENT_CACHE_SIZE = JPAConfig.getValue("jpalite.statementCache.size", 50);
 
 	private final Connection realConnection;
 	private final long slowQueryTimeout;
+	/**
+	 * If true the statements do not time, log or capture the parameters of the executed queries
+	 */
+	private final boolean passThrough;
 	private final PersistenceContext persistenceContext;
 	private PrintWriter auditWriter;
 	private boolean enableLogging;
 	private String connectionName;
 	private final DatabasePool databasePool;
+	/**
+	 * The idle cached prepared statements keyed on the SQL and the auto-generated keys flag. A statement is removed
+	 * from the cache while in use and returned to the cache when the wrapper is closed.
+	 */
+	private final Map<String, PreparedStatement> statementCache = new LinkedHashMap<>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest)
+		{
+			if (size() > STATEMENT_CACHE_SIZE) {
+				closeStatement(eldest.getValue());
+				return true;
+			}//if
+			return false;
+		}
+	};
 
-	public ConnectionWrapper(PersistenceContext persistenceContext, Connection realConnection, long slowQueryTimeout)
+	public ConnectionWrapper(PersistenceContext persistenceContext, Connection realConnection, long slowQueryTimeout, boolean passThrough)
 	{
 		this.realConnection = realConnection;
 		this.slowQueryTimeout = slowQueryTimeout;
+		this.passThrough = passThrough;
 		this.persistenceContext = persistenceContext;
 		databasePool = this.persistenceContext.unwrap(DatabasePool.class);
 		enableLogging = false;
@@ -69,9 +96,65 @@ public class ConnectionWrapper implements Connection
 
 	public void realClose() throws SQLException
 	{
+		statementCache.values().forEach(this::closeStatement);
+		statementCache.clear();
 		realConnection.close();
 	}//realClose
 
+	private void closeStatement(PreparedStatement statement)
+	{
+		try {
+			statement.close();
+		}//try
+		catch (SQLException ex) {
+			LOG.warn("Error closing cached statement", ex);
+		}//catch
+	}//closeStatement
+
+	/**
+	 * Prepare a statement using the per connection statement cache. Closing the returned statement returns the
+	 * underlying prepared statement to the cache instead of closing it. The statement cache is cleared when the
+	 * connection is released.
+	 *
+	 * @param sql               The SQL statement
+	 * @param autoGeneratedKeys A flag indicating whether auto-generated keys should be returned
+	 * @return The prepared statement
+	 * @throws SQLException If the statement could not be prepared
+	 */
+	public PreparedStatement prepareCachedStatement(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		String cacheKey = autoGeneratedKeys + ":" + sql;
+		PreparedStatement statement = statementCache.remove(cacheKey);
+		if (statement == null) {
+			statement = realConnection.prepareStatement(sql, autoGeneratedKeys);
+		}//if
+
+		return new PreparedStatementWrapper(databasePool, connectionName, statement, sql, this, cacheKey);
+	}//prepareCachedStatement
+
+	/**
+	 * Return a statement prepared with {@link #prepareCachedStatement(String, int)} to the cache.
+	 *
+	 * @param cacheKey  The key of the statement
+	 * @param statement The statement
+	 */
+	void releaseCachedStatement(String cacheKey, PreparedStatement statement) throws SQLException
+	{
+		if (statement.isClosed()) {
+			return;
+		}//if
+
+		//The same statement could have been prepared while this one was in use
+		if (STATEMENT_CACHE_SIZE == 0 || realConnection.isClosed() || statementCache.containsKey(cacheKey)) {
+			statement.close();
+		}//if
+		else {
+			statement.clearParameters();
+			statement.clearBatch();
+			statementCache.put(cacheKey, statement);
+		}//else
+	}//releaseCachedStatement
+
 	@Override
 	public void close() throws SQLException
 	{
@@ -95,6 +178,22 @@ public class ConnectionWrapper implements Connection
 		return slowQueryTimeout;
 	}
 
+	public boolean isPassThrough()
+	{
+		return passThrough;
+	}
+
+	/**
+	 * Check if the statements must capture the bound parameters. The parameters are only needed if the queries are
+	 * logged or written to the audit writer.
+	 *
+	 * @return True if the parameters must be captured
+	 */
+	public boolean isCaptureParameters()
+	{
+		return !passThrough && (enableLogging || auditWriter != null);
+	}//isCaptureParameters
+
 	/**
 	 * Retrieve the current audit writer
 	 *
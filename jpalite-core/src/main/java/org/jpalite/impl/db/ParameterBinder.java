@@ -0,0 +1,286 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.db;
+
+import org.jpalite.ConverterClass;
+import org.jpalite.EntityField;
+import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
+import org.jpalite.FieldConvertType;
+import org.jpalite.JPAEntity;
+import org.jpalite.MappingType;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Binds statement parameters using the {@link FieldConvertType} of the owning entity field, or the converter registered
+ * for the type of an entity attribute value, so that the parameters are sent with their JDBC type instead of as untyped
+ * values. Values without a known converter are bound untyped.
+ */
+public final class ParameterBinder
+{
+	/**
+	 * The SQL type names used to create an array for the database column value types. Strings are not included, a
+	 * string column may be a varchar, citext, uuid or enum column and is bound as an untyped array literal so that the
+	 * type is inferred by the database.
+	 */
+	private static final Map<Class<?>, String> ARRAY_TYPES = Map.ofEntries(Map.entry(Long.class, "bigint"),
+																			Map.entry(Integer.class, "integer"),
+																			Map.entry(Short.class, "smallint"),
+																			Map.entry(Double.class, "float8"),
+																			Map.entry(Float.class, "float4"),
+																			Map.entry(BigDecimal.class, "numeric"),
+																			Map.entry(Boolean.class, "boolean"),
+																			Map.entry(Timestamp.class, "timestamp"),
+																			Map.entry(Date.class, "date"),
+																			Map.entry(UUID.class, "uuid"));
+	/**
+	 * A column definition that is a plain SQL type name, eg citext, and can be used as the array element type
+	 */
+	private static final Pattern SQL_TYPE_NAME = Pattern.compile("[A-Za-z_]\\w*");
+	/**
+	 * A column definition declaring a boolean column
+	 */
+	private static final Pattern BOOLEAN_COLUMN = Pattern.compile("(?i)\\s*bool(ean)?\\b.*");
+
+	private ParameterBinder()
+	{
+	}
+
+	@SuppressWarnings("unchecked")
+	private static FieldConvertType<Object, Object> getConverter(Object value)
+	{
+		ConverterClass converterClass = EntityMetaDataManager.getConvertClass(value.getClass());
+		return (converterClass != null) ? (FieldConvertType<Object, Object>) converterClass.getConverter() : null;
+	}//getConverter
+
+	/**
+	 * Return the converter of the entity field if the value is of the field type, eg an enum converted to its name or
+	 * ordinal, else the converter registered for the type of the value
+	 */
+	@SuppressWarnings("unchecked")
+	private static FieldConvertType<Object, Object> getConverter(Object value, EntityField field)
+	{
+		if (field != null && field.getConverter() != null && MethodType.methodType(field.getType()).wrap().returnType().isInstance(value)) {
+			return (FieldConvertType<Object, Object>) field.getConverter();
+		}//if
+
+		return getConverter(value);
+	}//getConverter
+
+	private static boolean isBooleanColumn(EntityField field)
+	{
+		return field != null && field.getColumnDefinition() != null && BOOLEAN_COLUMN.matcher(field.getColumnDefinition()).matches();
+	}//isBooleanColumn
+
+	/**
+	 * Return the field holding the column type of an entity field. For a reference to another entity that is the id field
+	 * of the referenced entity.
+	 */
+	private static EntityField getColumnField(EntityField field)
+	{
+		if (field != null && (field.getMappingType() == MappingType.MANY_TO_ONE || field.getMappingType() == MappingType.ONE_TO_ONE)) {
+			EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(field.getType());
+			return metaData.hasMultipleIdFields() ? null : metaData.getIdField();
+		}//if
+
+		return (field != null && field.isRelationshipField()) ? null : field;
+	}//getColumnField
+
+	/**
+	 * Bind a database column value of which the entity field is not known. Booleans are bound as an untyped 1 or 0,
+	 * which is accepted by boolean as well as integer columns, and the other values are bound untyped.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index, starting at 1
+	 * @param value     The value, may be null
+	 * @throws SQLException If the parameter could not be set
+	 */
+	public static void bindValue(PreparedStatement statement, int index, Object value) throws SQLException
+	{
+		if (value == null) {
+			statement.setNull(index, Types.OTHER);
+		}//if
+		else if (value instanceof Boolean flag) {
+			statement.setObject(index, flag ? 1 : 0, Types.OTHER);
+		}//else if
+		else if (value instanceof byte[] bytes) {
+			statement.setBytes(index, bytes);
+		}//else if
+		else {
+			statement.setObject(index, value, Types.OTHER);
+		}//else
+	}//bindValue
+
+	/**
+	 * Bind the database column value of an entity field, for example the value returned by
+	 * {@link org.jpalite.JPAEntity#_getDBValue(String)}, using the converter of the field. The primary key of a
+	 * referenced entity is bound using the converter of the id field of the referenced entity.
+	 * <p>
+	 * Booleans are bound as an untyped 1 or 0 by the converters unless the column definition of the field declares a
+	 * boolean column. Values of an unknown field are bound with {@link #bindValue(PreparedStatement, int, Object)}.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index, starting at 1
+	 * @param value     The database column value, may be null
+	 * @param field     The entity field owning the value, may be null
+	 * @throws SQLException If the parameter could not be set
+	 */
+	@SuppressWarnings("unchecked")
+	public static void bindField(PreparedStatement statement, int index, Object value, EntityField field) throws SQLException
+	{
+		EntityField columnField = getColumnField(field);
+		if (columnField == null || columnField.getConverter() == null) {
+			bindValue(statement, index, value);
+		}//if
+		else if (value instanceof Boolean flag && isBooleanColumn(columnField)) {
+			statement.setBoolean(index, flag);
+		}//else if
+		else {
+			FieldConvertType<Object, Object> converter = (FieldConvertType<Object, Object>) columnField.getConverter();
+			if (columnField != field && value != null) {
+				//The primary key of a referenced entity is an attribute value and is not converted yet
+				value = converter.convertToDatabaseColumn(value);
+			}//if
+			converter.setParameter(statement, index, value);
+		}//else
+	}//bindField
+
+	/**
+	 * Bind an entity attribute value, for example a query parameter. The value is converted to the database column
+	 * value using the converter before it is bound.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index, starting at 1
+	 * @param value     The value, may be null
+	 * @throws SQLException If the parameter could not be set
+	 */
+	public static void bindAttribute(PreparedStatement statement, int index, Object value) throws SQLException
+	{
+		if (value == null) {
+			statement.setNull(index, Types.OTHER);
+			return;
+		}//if
+
+		FieldConvertType<Object, Object> converter = getConverter(value);
+		if (converter != null) {
+			converter.setParameter(statement, index, converter.convertToDatabaseColumn(value));
+		}//if
+		else {
+			statement.setObject(index, value, Types.OTHER);
+		}//else
+	}//bindAttribute
+
+	/**
+	 * Bind a collection of entity attribute values as a single SQL array, for example the parameter of an IN list that
+	 * was rewritten to = ANY(?). The value may be a collection, an object array or a single value. Entities are bound
+	 * using their primary key and every element is converted to the database column value before it is bound, using
+	 * the converter of the entity field the array is compared with if it is known.
+	 * <p>
+	 * The array is created with the SQL type given as the column definition of the field or else with the SQL type of
+	 * the elements. If the list is empty or the type of the elements is not known, for example for strings, the array is
+	 * bound as an untyped array literal and the type is inferred by the database from the column.
+	 *
+	 * @param statement The prepared statement
+	 * @param index     The parameter index, starting at 1
+	 * @param value     The values, may be null
+	 * @param field     The entity field the array is compared with, may be null
+	 * @throws SQLException If the parameter could not be set
+	 */
+	public static void bindArray(PreparedStatement statement, int index, Object value, EntityField field) throws SQLException
+	{
+		if (value == null) {
+			statement.setNull(index, Types.ARRAY);
+			return;
+		}//if
+
+		Object[] elements;
+		if (value instanceof Collection<?> collection) {
+			elements = collection.toArray();
+		}//if
+		else if (value instanceof Object[] array) {
+			elements = array.clone();
+		}//else if
+		else {
+			elements = new Object[]{value};
+		}//else
+
+		String typeName = null;
+		if (field != null && field.getColumnDefinition() != null && SQL_TYPE_NAME.matcher(field.getColumnDefinition()).matches()) {
+			typeName = field.getColumnDefinition();
+		}//if
+
+		for (int i = 0; i < elements.length; i++) {
+			Object element = elements[i];
+			if (element instanceof JPAEntity entity) {
+				element = entity._getPrimaryKey();
+			}//if
+
+			if (element != null) {
+				FieldConvertType<Object, Object> converter = getConverter(element, field);
+				element = (converter != null) ? converter.convertToDatabaseColumn(element) : element;
+				if (element instanceof Boolean flag && !isBooleanColumn(field)) {
+					//Bound untyped as 1 or 0, which is accepted by boolean as well as integer columns
+					element = flag ? "1" : "0";
+				}//if
+				if (typeName == null) {
+					typeName = ARRAY_TYPES.get(element.getClass());
+				}//if
+			}//if
+			elements[i] = element;
+		}//for
+
+		if (typeName != null) {
+			statement.setArray(index, statement.getConnection().createArrayOf(typeName, elements));
+		}//if
+		else {
+			statement.setObject(index, toArrayLiteral(elements), Types.OTHER);
+		}//else
+	}//bindArray
+
+	private static String toArrayLiteral(Object[] elements)
+	{
+		StringBuilder literal = new StringBuilder("{");
+		for (int i = 0; i < elements.length; i++) {
+			if (i > 0) {
+				literal.append(',');
+			}//if
+
+			if (elements[i] == null) {
+				literal.append("NULL");
+			}//if
+			else {
+				literal.append('"')
+					   .append(elements[i].toString().replace("\\", "\\\\").replace("\"", "\\\""))
+					   .append('"');
+			}//else
+		}//for
+
+		return literal.append('}').toString();
+	}//toArrayLiteral
+}//ParameterBinder
@@ -47,6 +47,7 @@ import java.sql.*;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import static org.jpalite.JPALiteEntityManager.*;
 import static org.jpalite.PersistenceAction.*;
@@ -124,6 +125,14 @@ public class PersistenceContextImpl implements PersistenceContext
      * The cache store mode in effect
      */
     private CacheStoreMode cacheStoreMode;
+    /**
+     * The maximum number of statements grouped into a single JDBC batch during flush
+     */
+    private int jdbcBatchSize;
+    /**
+     * If true the connection statements do not time, log or capture the parameters of the executed queries
+     */
+    private boolean jdbcPassThrough;
     /**
      * Control variable to indicate that we have forced rollback
      */
@@ -162,6 +171,20 @@ public class PersistenceContextImpl implements PersistenceContext
     private boolean released;
     private final String hostname;
 
+    /**
+     * Consecutive entities sharing the same action and entity type are flushed together
+     */
+    private record FlushGroup(PersistenceAction action, Class<?> entityClass)
+    {
+    }
+
+    /**
+     * An entity and the query prepared to flush it
+     */
+    private record PendingFlush(JPAEntity entity, EntityQuery query)
+    {
+    }
+
     private enum CallbackMethod
     {
         PRE_BEGIN,
@@ -189,6 +212,8 @@ public class PersistenceContextImpl implements PersistenceContext
         connectionName       = Thread.currentThread().getName();
         cacheStoreMode       = CacheStoreMode.USE;
         slowQueryTime        = 500L;
+        jdbcBatchSize        = 50;
+        jdbcPassThrough      = false;
         joinedToTransaction  = false;
         autoJoinTransaction  = false;
         transactionManager   = null;
@@ -240,6 +265,27 @@ public class PersistenceContextImpl implements PersistenceContext
                     slowQueryTime = slowQuery;
                 }//if
             }
+            case PERSISTENCE_JDBC_BATCH_SIZE -> {
+                if (value instanceof String strValue) {
+                    value = Integer.parseInt(strValue);
+                }//if
+                if (value instanceof Number batchSize) {
+                    jdbcBatchSize = batchSize.intValue();
+                }//if
+            }
+            case PERSISTENCE_JDBC_PASS_THROUGH -> {
+                if (value instanceof String strValue) {
+                    value = Boolean.parseBoolean(strValue);
+                }//if
+                if (value instanceof Boolean passThrough) {
+                    jdbcPassThrough = passThrough;
+                }//if
+            }
+            case PERSISTENCE_BATCH_FETCH_SIZE -> {
+                if (value instanceof String strValue) {
+                    value = Integer.parseInt(strValue);
+                }//if
+            }
             case PERSISTENCE_SHOW_SQL -> {
                 if (value instanceof String strValue) {
                     value = Boolean.parseBoolean(strValue);
@@ -277,6 +323,17 @@ public class PersistenceContextImpl implements PersistenceContext
         return entityL2Cache;
     }//l2Cache
 
+    @Override
+    public void manageCachedEntity(@Nonnull JPAEntity entity, Object overrideFetchType)
+    {
+        l1Cache().manage(entity);
+
+        FetchType fetchType = (overrideFetchType == null || overrideFetchType instanceof FetchType) ? (FetchType) overrideFetchType : FetchType.valueOf(overrideFetchType.toString());
+        if (fetchType == null || fetchType == FetchType.EAGER) {
+            entity._lazyFetchAll(fetchType != null);
+        }//if
+    }//manageCachedEntity
+
     private void checkEntityAttached(JPAEntity entity)
     {
         if (entity._getEntityState() != EntityState.MANAGED) {
@@ -406,7 +463,7 @@ public class PersistenceContextImpl implements PersistenceContext
 
         if (connection == null) {
             try {
-                connection = new ConnectionWrapper(this, pool.getConnection(), slowQueryTime);
+                connection = new ConnectionWrapper(this, pool.getConnection(), slowQueryTime, jdbcPassThrough);
 
                 try (Statement writeStmt = connection.createStatement()) {
                     String applicationName = Application.currentApplication().getName() + "@" + hostname;
@@ -537,12 +594,9 @@ public class PersistenceContextImpl implements PersistenceContext
         checkOpen();
         checkThread();
 
-        l1Cache().foreach(e ->
-                          {
-                              if (doesNeedFlushing((JPAEntity) e)) {
-                                  flushEntityInternal((JPAEntity) e);
-                              }//if
-                          });
+        List<JPAEntity> pendingEntities = l1Cache().drainDirty();
+        pendingEntities.removeIf(e -> !doesNeedFlushing(e));
+        flushEntities(pendingEntities);
     }//flush
 
     @Override
@@ -551,14 +605,50 @@ public class PersistenceContextImpl implements PersistenceContext
         checkOpen();
         checkThread();
 
-        l1Cache().foreachType(entityClass, e ->
-        {
-            if (doesNeedFlushing((JPAEntity) e)) {
-                flushEntityInternal((JPAEntity) e);
-            }//if
-        });
+        List<JPAEntity> pendingEntities = l1Cache().drainDirty(entityClass);
+        pendingEntities.removeIf(e -> !doesNeedFlushing(e));
+        flushEntities(pendingEntities);
     }//flushOnType
 
+    /**
+     * Flush a list of entities. If batching is enabled the consecutive entities sharing the same action and entity type
+     * are written using JDBC batches. The entities are not reordered, the statements are executed in the order the
+     * entities were persisted and removed so that the foreign and unique keys are satisfied as they were before
+     * batching.
+     *
+     * @param entities The entities to flush
+     */
+    private void flushEntities(List<JPAEntity> entities)
+    {
+        if (jdbcBatchSize <= 1 || entities.size() < 2) {
+            entities.forEach(this::flushEntityInternal);
+            return;
+        }//if
+
+        List<FlushGroup> groups = new ArrayList<>(entities.size());
+        entities.forEach(entity -> groups.add(new FlushGroup(getFlushAction(entity), entity.get$$EntityClass())));
+        forEachRun(entities, groups, (group, run) -> flushBatch(group.action(), run));
+    }//flushEntities
+
+    /**
+     * Split a list into the runs of consecutive elements sharing the same key and pass the runs, in order, to the
+     * consumer
+     *
+     * @param elements The elements
+     * @param keys     The key of every element
+     * @param consumer The consumer called for every run
+     */
+    static <T, K> void forEachRun(List<T> elements, List<K> keys, BiConsumer<K, List<T>> consumer)
+    {
+        int start = 0;
+        for (int i = 1; i <= elements.size(); i++) {
+            if (i == elements.size() || !keys.get(i).equals(keys.get(start))) {
+                consumer.accept(keys.get(start), elements.subList(start, i));
+                start = i;
+            }//if
+        }//for
+    }//forEachRun
+
     @Override
     public void flushEntity(@Nonnull JPAEntity entity)
     {
@@ -614,24 +704,18 @@ public class PersistenceContextImpl implements PersistenceContext
         }//if
     }//invokeCallbackHandlers
 
-    private void bindParameters(PreparedStatement statement, Object... params)
+    private void bindParameters(PreparedStatement statement, EntityQuery query)
     {
+        Object[] params = query.getParameters();
         if (params != null) {
+            EntityField[] fields = query.getParameterFields();
             int startAt = 0;
 
             for (Object param : params) {
                 try {
+                    EntityField field = (startAt < fields.length) ? fields[startAt] : null;
                     startAt++;
-
-                    if (param instanceof Boolean) {
-                        param = param == Boolean.TRUE ? 1 : 0;
-                    }//if
-                    if (param instanceof byte[] vBytes) {
-                        statement.setBytes(startAt, vBytes);
-                    }//if
-                    else {
-                        statement.setObject(startAt, param, Types.OTHER);
-                    }//else
+                    ParameterBinder.bindField(statement, startAt, param, field);
                 }//try
                 catch (SQLException ex) {
                     throw new PersistenceException("Error setting parameter (" + startAt + "=" + param, ex);
@@ -741,101 +825,292 @@ public class PersistenceContextImpl implements PersistenceContext
         };
     }//getFlushQuery
 
-    private void flushEntityInternal(@Nonnull JPAEntity entity)
+    /**
+     * Determine the action needed to flush the entity
+     *
+     * @param entity The entity
+     * @return The action or NONE if the entity does not need to be flushed
+     */
+    private PersistenceAction getFlushAction(@Nonnull JPAEntity entity)
     {
         PersistenceAction action = entity._getPendingAction();
-        if (action == NONE) {
+        if (action == NONE && entity._getLockMode() == LockModeType.OPTIMISTIC_FORCE_INCREMENT) {
 			/*
 			 If the entity is not new and is not dirty but is locked optimistically, we need to update the version
 			 */
-            if (entity._getLockMode() == LockModeType.OPTIMISTIC_FORCE_INCREMENT) {
-                action = UPDATE;
+            action = UPDATE;
+        }//if
+
+        return action;
+    }//getFlushAction
+
+    /**
+     * Invoke the pre-action callbacks and build the query needed to flush the entity.
+     *
+     * @param action The flush action
+     * @param entity The entity
+     * @return The query to execute or null if there is nothing to execute
+     */
+    private EntityQuery prepareFlush(PersistenceAction action, @Nonnull JPAEntity entity)
+    {
+        invokeCallbackHandlers(action, true, entity);
+        if (!getRollbackOnly()) {
+            entity._setPendingAction(NONE);
+            EntityQuery flushQuery = getFlushQuery(action, entity);
+            if (flushQuery.getQuery() != null && !flushQuery.getQuery().isBlank()) {
+                return flushQuery;
+            }//if
+        }//if
+
+        return null;
+    }//prepareFlush
+
+    private void mapGeneratedKeys(@Nonnull JPAEntity entity, ResultSet resultSet)
+    {
+        entity._setPersistenceContext(this);
+        entity._mapResultSet(null, resultSet);
+    }//mapGeneratedKeys
+
+    /**
+     * Process the result of the flush query once it was executed.
+     *
+     * @param action The flush action
+     * @param entity The entity
+     * @param rows   The number of rows affected by the query
+     */
+    private void processFlushResult(PersistenceAction action, @Nonnull JPAEntity entity, int rows)
+    {
+        if (rows > 0) {
+            if (action == PersistenceAction.DELETE) {
+                entity._setEntityState(EntityState.REMOVED);
+                if (entity._getMetaData().isCacheable()) {
+                    l2Cache().evict(entity.get$$EntityClass(), entity._getPrimaryKey());
+                    //The evict is not transactional, mark the region again on commit for queries executed in between
+                    l2Cache().markModified(entity.get$$EntityClass(), false);
+                }//if
+
+                cascadeRemove(Set.of(MappingType.MANY_TO_ONE), entity);
             }//if
             else {
-                return;
+                if (action == PersistenceAction.INSERT) {
+                    if (cacheStoreMode == CacheStoreMode.USE) {
+                        l2Cache().add(entity);
+                    }//if
+                    //The new row invalidates the cached query results, also if the entity is not added to the cache
+                    l2Cache().markModified(entity.get$$EntityClass(), false);
+                }//if
+                else {
+                    if (entity._getMetaData().isCacheable() && cacheStoreMode != CacheStoreMode.BYPASS) {
+                        l2Cache().replace(entity);
+                    }//if
+                    //The changed row invalidates the cached query results, also if the cached entity is not replaced
+                    l2Cache().markModified(entity.get$$EntityClass(), false);
+                }//else
+
+                cascadePersist(Set.of(MappingType.ONE_TO_MANY, MappingType.ONE_TO_ONE), entity);
             }//else
         }//if
+        /*
+         * If zero rows were updated or deleted and the entity was optimistic locked, then throw an exception
+         */
+        else if (action != INSERT && isOptimisticLocked(entity)) {
+            setRollbackOnly();
+
+            /*
+             Delete the cached record for the rare case where a cached record might be out of date.
+             NOTE: This is highly unlikely and an error in itself.
+             */
+            if (entity._getMetaData().isCacheable()) {
+                l2Cache().evict(entity.get$$EntityClass(), entity._getPrimaryKey());
+            }//if
+
+            throw new OptimisticLockException(entity);
+        }//else if
+    }//processFlushResult
+
+    private void completeFlush(PersistenceAction action, @Nonnull JPAEntity entity)
+    {
+        entity._clearModified();
+        invokeCallbackHandlers(action, false, entity);
+    }//completeFlush
+
+    private void flushEntityInternal(@Nonnull JPAEntity entity)
+    {
+        PersistenceAction action = getFlushAction(entity);
+        if (action == NONE) {
+            return;
+        }//if
 
         Span span = TRACER.spanBuilder("PersistenceContextImpl::flushEntity").setSpanKind(SpanKind.SERVER).startSpan();
         try (Scope ignored = span.makeCurrent()) {
             span.setAttribute("action", action.name());
-            invokeCallbackHandlers(action, true, entity);
-            if (!getRollbackOnly()) {
-                entity._setPendingAction(NONE);
-                EntityQuery flushQuery = getFlushQuery(action, entity);
-
-                if (flushQuery.getQuery() != null && !flushQuery.getQuery().isBlank()) {
-                    String sqlQuery = flushQuery.getQuery();
-                    span.setAttribute("query", sqlQuery);
-
-                    //noinspection SqlSourceToSinkFlow
-                    try (PreparedStatement statement = connection.prepareStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS)) {
-                        bindParameters(statement, flushQuery.getParameters());
-
-                        int rows = statement.executeUpdate();
-                        if (rows > 0) {
-                            if (action == PersistenceAction.DELETE) {
-                                entity._setEntityState(EntityState.REMOVED);
-                                if (entity._getMetaData().isCacheable()) {
-                                    l2Cache().evict(entity.get$$EntityClass(), entity._getPrimaryKey());
-                                }//if
-
-                                cascadeRemove(Set.of(MappingType.MANY_TO_ONE), entity);
-                            }//if
-                            else {
-                                if (action == PersistenceAction.INSERT) {
-                                    try (ResultSet vResultSet = statement.getGeneratedKeys()) {
-                                        if (vResultSet.next()) {
-                                            entity._setPersistenceContext(this);
-                                            entity._mapResultSet(null, vResultSet);
-                                        }//if
-                                    }//try
-
-                                    if (cacheStoreMode == CacheStoreMode.USE) {
-                                        l2Cache().add(entity);
-                                    }//else if
-                                }//if
-                                else if (entity._getMetaData().isCacheable() && cacheStoreMode != CacheStoreMode.BYPASS) {
-                                    l2Cache().replace(entity);
-                                }//else if
-
-                                cascadePersist(Set.of(MappingType.ONE_TO_MANY, MappingType.ONE_TO_ONE), entity);
-                            }//else
-                        }//if
-                        /*
-                         * If zero rows were updated or deleted and the entity was optimistic locked, then throw an exception
-                         */
-                        else if (action != INSERT && isOptimisticLocked(entity)) {
-                            setRollbackOnly();
-
-                            /*
-                             Delete the cached record for the rare case where a cached record might be out of date.
-                             NOTE: This is highly unlikely and an error in itself.
-                             */
-                            if (entity._getMetaData().isCacheable()) {
-                                l2Cache().evict(entity.get$$EntityClass(), entity._getPrimaryKey());
+            EntityQuery flushQuery = prepareFlush(action, entity);
+            if (flushQuery != null) {
+                String sqlQuery = flushQuery.getQuery();
+                span.setAttribute("query", sqlQuery);
+
+                //noinspection SqlSourceToSinkFlow
+                try (PreparedStatement statement = connection.prepareCachedStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS)) {
+                    bindParameters(statement, flushQuery);
+
+                    int rows = statement.executeUpdate();
+                    if (rows > 0 && action == PersistenceAction.INSERT) {
+                        try (ResultSet vResultSet = statement.getGeneratedKeys()) {
+                            if (vResultSet.next()) {
+                                mapGeneratedKeys(entity, vResultSet);
                             }//if
+                        }//try
+                    }//if
 
-                            throw new OptimisticLockException(entity);
-                        }//else if
-                    }//try
-                    catch (SQLException ex) {
-                        setRollbackOnly();
+                    processFlushResult(action, entity, rows);
+                }//try
+                catch (SQLException ex) {
+                    setRollbackOnly();
 
-                        LOG.error("Failed to flush entity {}, Query: {}", entity._getMetaData().getName(), flushQuery.getQuery(), ex);
-                        throw new PersistenceException("Error persisting entity in database");
-                    }//catch
-                }//if
+                    LOG.error("Failed to flush entity {}, Query: {}", entity._getMetaData().getName(), flushQuery.getQuery(), ex);
+                    throw new PersistenceException("Error persisting entity in database");
+                }//catch
             }//if
 
-            entity._clearModified();
-            invokeCallbackHandlers(action, false, entity);
+            completeFlush(action, entity);
         }//try
         finally {
             span.end();
         }//finally
     }//flushEntity
 
+    /**
+     * Check if the entity references (MANY_TO_ONE or ONE_TO_ONE) any of the given entities. An insert for such an
+     * entity can only be prepared once the referenced entities were written to the database.
+     *
+     * @param entity   The entity to check
+     * @param entities The entities waiting to be written
+     * @return true if one of the entities is referenced
+     */
+    private boolean isReferencing(@Nonnull JPAEntity entity, Set<JPAEntity> entities)
+    {
+        if (!entities.isEmpty()) {
+            for (EntityField field : entity._getMetaData().getEntityFields()) {
+                if ((field.getMappingType() == MappingType.MANY_TO_ONE || field.getMappingType() == MappingType.ONE_TO_ONE)
+                        && !entity._isLazyLoaded(field.getName())
+                        && field.invokeGetter(entity) instanceof JPAEntity reference
+                        && entities.contains(reference)) {
+                    return true;
+                }//if
+            }//for
+        }//if
+
+        return false;
+    }//isReferencing
+
+    /**
+     * Flush a group of entities sharing the same entity type and action using JDBC batches.
+     *
+     * @param action   The action shared by the group
+     * @param entities The entities in the group
+     */
+    private void flushBatch(PersistenceAction action, List<JPAEntity> entities)
+    {
+        Span span = TRACER.spanBuilder("PersistenceContextImpl::flushBatch").setSpanKind(SpanKind.SERVER).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            span.setAttribute("action", action.name());
+            span.setAttribute("entities", entities.size());
+
+            List<PendingFlush> batch = new ArrayList<>();
+            Set<JPAEntity> batchedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (JPAEntity entity : entities) {
+                //The entity could have been flushed by a cascade in the meantime
+                if (!doesNeedFlushing(entity)) {
+                    continue;
+                }//if
+
+                PersistenceAction entityAction = getFlushAction(entity);
+                if (entityAction != action) {
+                    flushEntityInternal(entity);
+                    continue;
+                }//if
+
+                if (action == INSERT && isReferencing(entity, batchedEntities)) {
+                    executeBatch(action, batch);
+                    batchedEntities.clear();
+                }//if
+
+                EntityQuery flushQuery = prepareFlush(action, entity);
+                if (flushQuery == null) {
+                    completeFlush(action, entity);
+                }//if
+                else {
+                    batch.add(new PendingFlush(entity, flushQuery));
+                    batchedEntities.add(entity);
+                    if (batch.size() >= jdbcBatchSize) {
+                        executeBatch(action, batch);
+                        batchedEntities.clear();
+                    }//if
+                }//else
+            }//for
+
+            executeBatch(action, batch);
+        }//try
+        finally {
+            span.end();
+        }//finally
+    }//flushBatch
+
+    /**
+     * Execute the prepared flush queries. The queries are grouped on the SQL statement and every statement is executed
+     * as a single JDBC batch. On completion the batch list is cleared.
+     *
+     * @param action The action shared by all the queries
+     * @param batch  The prepared flush queries
+     */
+    private void executeBatch(PersistenceAction action, List<PendingFlush> batch)
+    {
+        if (batch.isEmpty()) {
+            return;
+        }//if
+
+        Map<String, List<PendingFlush>> statements = new LinkedHashMap<>();
+        batch.forEach(p -> statements.computeIfAbsent(p.query().getQuery(), k -> new ArrayList<>()).add(p));
+        batch.clear();
+
+        for (Map.Entry<String, List<PendingFlush>> entry : statements.entrySet()) {
+            String sqlQuery = entry.getKey();
+            List<PendingFlush> flushList = entry.getValue();
+
+            //noinspection SqlSourceToSinkFlow
+            try (PreparedStatement statement = connection.prepareCachedStatement(sqlQuery, Statement.RETURN_GENERATED_KEYS)) {
+                for (PendingFlush pendingFlush : flushList) {
+                    bindParameters(statement, pendingFlush.query());
+                    statement.addBatch();
+                }//for
+
+                int[] rows = statement.executeBatch();
+                if (action == PersistenceAction.INSERT && Arrays.stream(rows).anyMatch(r -> r != 0)) {
+                    try (ResultSet vResultSet = statement.getGeneratedKeys()) {
+                        for (PendingFlush pendingFlush : flushList) {
+                            if (vResultSet.next()) {
+                                mapGeneratedKeys(pendingFlush.entity(), vResultSet);
+                            }//if
+                        }//for
+                    }//try
+                }//if
+
+                for (int i = 0; i < flushList.size(); i++) {
+                    int rowCount = (i < rows.length) ? rows[i] : 0;
+                    processFlushResult(action, flushList.get(i).entity(), rowCount == Statement.SUCCESS_NO_INFO ? 1 : rowCount);
+                }//for
+            }//try
+            catch (SQLException ex) {
+                setRollbackOnly();
+
+                LOG.error("Failed to flush {} {} entities, Query: {}", flushList.size(), flushList.getFirst().entity()._getMetaData().getName(), sqlQuery, ex);
+                throw new PersistenceException("Error persisting entity in database");
+            }//catch
+
+            flushList.forEach(p -> completeFlush(action, p.entity()));
+        }//for
+    }//executeBatch
+
 
     //<editor-fold desc="Transaction Manager Functions">
     @Override
@@ -24,10 +24,8 @@ import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.TreeMap;
 
 public class PreparedStatementWrapper extends StatementWrapper implements PreparedStatement
 {
@@ -44,35 +42,90 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	private static final String ROWID = "(rowid)";
 
 	private final PreparedStatement realPreparedStatement;
+	/**
+	 * If not null, the statement was taken from the statement cache of the connection and is returned to the cache on
+	 * close
+	 */
+	private final String cacheKey;
+	private boolean released = false;
 	protected String queryStr;
-	protected Map<Integer, Object> params = new TreeMap<>();
+	/**
+	 * The parameter values indexed by parameter position - 1. The array is only allocated once a parameter is bound while
+	 * the connection captures parameters, see {@link ConnectionWrapper#isCaptureParameters()}
+	 */
+	protected Object[] params = null;
+	protected int batchCount = 0;
 
 	public PreparedStatementWrapper(DatabasePool pool, String connectName, PreparedStatement preparedStatement, String sql, ConnectionWrapper wrapper)
+	{
+		this(pool, connectName, preparedStatement, sql, wrapper, null);
+	}
+
+	public PreparedStatementWrapper(DatabasePool pool, String connectName, PreparedStatement preparedStatement, String sql, ConnectionWrapper wrapper, String cacheKey)
 	{
 		super(pool, connectName, preparedStatement, wrapper);
 		queryStr = sql;
 		connection.setLastQuery(sql);
 		realPreparedStatement = preparedStatement;
+		this.cacheKey = cacheKey;
+	}
+
+	@Override
+	public void close() throws SQLException
+	{
+		if (cacheKey == null) {
+			super.close();
+		}//if
+		else if (!released) {
+			released = true;
+			connection.releaseCachedStatement(cacheKey, realPreparedStatement);
+		}//else if
+	}//close
+
+	@Override
+	public boolean isClosed() throws SQLException
+	{
+		return released || super.isClosed();
 	}
 
+	private void captureParameter(int parameterIndex, Object value)
+	{
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, value);
+		}//if
+	}//captureParameter
+
+	/**
+	 * Store a captured parameter value. The primitive setters check {@link ConnectionWrapper#isCaptureParameters()}
+	 * before calling the method so that the value is only boxed while parameters are captured.
+	 *
+	 * @param parameterIndex The parameter position
+	 * @param value          The parameter value
+	 */
+	private void storeParameter(int parameterIndex, Object value)
+	{
+		if (params == null) {
+			params = new Object[Math.max(parameterIndex, 8)];
+		}//if
+		else if (parameterIndex > params.length) {
+			params = Arrays.copyOf(params, Math.max(parameterIndex, params.length * 2));
+		}//else if
+
+		params[parameterIndex - 1] = (value == null ? NULL_STR : value);
+	}//storeParameter
+
 	private String buildParamList()
 	{
 		StringBuilder paramsStr = new StringBuilder();
-		if (params.isEmpty()) {
-			paramsStr.append(",");
-		}//if
-		else {
-			for (Iterator<Integer> iterator = params.keySet().iterator(); iterator.hasNext(); ) {
-				Integer key = iterator.next();
-				Object value = params.get(key);
-				if (value == null) {
-					value = NULL_STR;
+		if (params != null) {
+			for (int i = 0; i < params.length; i++) {
+				if (params[i] != null) {
+					paramsStr.append(",:").append(i + 1).append("=").append(params[i]);
 				}//if
+			}//for
+		}//if
 
-				paramsStr.append(",:").append(key).append("=").append(value);
-			}
-		}//else
-		return paramsStr.substring(1);
+		return paramsStr.isEmpty() ? "" : paramsStr.substring(1);
 	}//buildParamList
 
 	@Override
@@ -84,20 +137,18 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	}//logError
 
 	@Override
-	protected void logExecution(String method, String queryStr, long executeTime, boolean update)
+	protected void logExecution(String method, String queryStr, long startTime, boolean update)
 	{
-		if (connection.isEnableLogging() || connection.getAuditWriter() != null) {
-			super.logExecution(method, queryStr + " - (" + buildParamList() + ")", executeTime, update);
-		}//if
+		super.logExecution(method, params == null ? queryStr : queryStr + " - (" + buildParamList() + ")", startTime, update);
 	}
 
 	@Override
 	public ResultSet executeQuery() throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			ResultSet resultSet = realPreparedStatement.executeQuery();
-			logExecution(EXECUTE_QUERY_METHOD, queryStr, System.currentTimeMillis() - start, false);
+			logExecution(EXECUTE_QUERY_METHOD, queryStr, start, false);
 			return resultSet;
 		}//try
 		catch (SQLException ex) {
@@ -110,12 +161,12 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public int executeUpdate() throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			int result = 0;
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
 				result = realPreparedStatement.executeUpdate();
 			}//if
-			logExecution(EXECUTE_UPDATE_METHOD, queryStr, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_UPDATE_METHOD, queryStr, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -128,105 +179,119 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public void setNull(int parameterIndex, int sqlType) throws SQLException
 	{
 		realPreparedStatement.setNull(parameterIndex, sqlType);
-		params.put(parameterIndex, NULL_STR);
+		captureParameter(parameterIndex, null);
 	}
 
 	@Override
 	public void setBoolean(int parameterIndex, boolean x) throws SQLException
 	{
 		realPreparedStatement.setBoolean(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setByte(int parameterIndex, byte x) throws SQLException
 	{
 		realPreparedStatement.setByte(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setShort(int parameterIndex, short x) throws SQLException
 	{
 		realPreparedStatement.setShort(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setInt(int parameterIndex, int x) throws SQLException
 	{
 		realPreparedStatement.setInt(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setLong(int parameterIndex, long x) throws SQLException
 	{
 		realPreparedStatement.setLong(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setFloat(int parameterIndex, float x) throws SQLException
 	{
 		realPreparedStatement.setFloat(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setDouble(int parameterIndex, double x) throws SQLException
 	{
 		realPreparedStatement.setDouble(parameterIndex, x);
-		params.put(parameterIndex, x);
+		if (connection.isCaptureParameters()) {
+			storeParameter(parameterIndex, x);
+		}//if
 	}
 
 	@Override
 	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
 	{
 		realPreparedStatement.setBigDecimal(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setString(int parameterIndex, String x) throws SQLException
 	{
 		realPreparedStatement.setString(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setBytes(int parameterIndex, byte[] x) throws SQLException
 	{
 		realPreparedStatement.setBytes(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setDate(int parameterIndex, Date x) throws SQLException
 	{
 		realPreparedStatement.setDate(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setTime(int parameterIndex, Time x) throws SQLException
 	{
 		realPreparedStatement.setTime(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException
 	{
 		realPreparedStatement.setTimestamp(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException
 	{
 		realPreparedStatement.setAsciiStream(parameterIndex, x, length);
-		params.put(parameterIndex, ASCII_STREAM);
+		captureParameter(parameterIndex, ASCII_STREAM);
 	}
 
 	@Override
@@ -234,35 +299,35 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException
 	{
 		realPreparedStatement.setUnicodeStream(parameterIndex, x, length);
-		params.put(parameterIndex, UNICODE_STREAM);
+		captureParameter(parameterIndex, UNICODE_STREAM);
 	}
 
 	@Override
 	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException
 	{
 		realPreparedStatement.setBinaryStream(parameterIndex, x, length);
-		params.put(parameterIndex, BINARY_STREAM);
+		captureParameter(parameterIndex, BINARY_STREAM);
 	}
 
 	@Override
 	public void clearParameters() throws SQLException
 	{
 		realPreparedStatement.clearParameters();
-		params.clear();
+		params = null;
 	}
 
 	@Override
 	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
 	{
 		realPreparedStatement.setObject(parameterIndex, x, targetSqlType);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setObject(int parameterIndex, Object x) throws SQLException
 	{
 		realPreparedStatement.setObject(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
@@ -287,41 +352,74 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public void addBatch() throws SQLException
 	{
 		realPreparedStatement.addBatch();
+		batchCount++;
+	}
+
+	@Override
+	public void clearBatch() throws SQLException
+	{
+		realPreparedStatement.clearBatch();
+		batchCount = 0;
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException
+	{
+		try {
+			long start = System.nanoTime();
+			int[] result;
+			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
+				result = realPreparedStatement.executeBatch();
+			}//if
+			else {
+				realPreparedStatement.clearBatch();
+				result = new int[batchCount];
+			}//else
+			logExecution(EXECUTE_BATCH_METHOD, queryStr + " [batch of " + batchCount + "]", start, true);
+			return result;
+		}//try
+		catch (SQLException ex) {
+			logError(EXECUTE_BATCH_METHOD, queryStr, ex);
+			throw ex;
+		}//catch
+		finally {
+			batchCount = 0;
+		}//finally
 	}
 
 	@Override
 	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException
 	{
 		realPreparedStatement.setCharacterStream(parameterIndex, reader, length);
-		params.put(parameterIndex, CHAR_STREAM);
+		captureParameter(parameterIndex, CHAR_STREAM);
 	}
 
 	@Override
 	public void setRef(int parameterIndex, Ref x) throws SQLException
 	{
 		realPreparedStatement.setRef(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setBlob(int parameterIndex, Blob x) throws SQLException
 	{
 		realPreparedStatement.setBlob(parameterIndex, x);
-		params.put(parameterIndex, BLOB);
+		captureParameter(parameterIndex, BLOB);
 	}
 
 	@Override
 	public void setClob(int parameterIndex, Clob x) throws SQLException
 	{
 		realPreparedStatement.setClob(parameterIndex, x);
-		params.put(parameterIndex, CLOB);
+		captureParameter(parameterIndex, CLOB);
 	}
 
 	@Override
 	public void setArray(int parameterIndex, Array x) throws SQLException
 	{
 		realPreparedStatement.setArray(parameterIndex, x);
-		params.put(parameterIndex, ARRAY);
+		captureParameter(parameterIndex, ARRAY);
 	}
 
 	@Override
@@ -334,35 +432,35 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException
 	{
 		realPreparedStatement.setDate(parameterIndex, x, cal);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException
 	{
 		realPreparedStatement.setTime(parameterIndex, x, cal);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException
 	{
 		realPreparedStatement.setTimestamp(parameterIndex, x, cal);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException
 	{
 		realPreparedStatement.setNull(parameterIndex, sqlType, typeName);
-		params.put(parameterIndex, NULL_STR);
+		captureParameter(parameterIndex, null);
 	}
 
 	@Override
 	public void setURL(int parameterIndex, URL x) throws SQLException
 	{
 		realPreparedStatement.setURL(parameterIndex, x);
-		params.put(parameterIndex, x);
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
@@ -375,132 +473,134 @@ public class PreparedStatementWrapper extends StatementWrapper implements Prepar
 	public void setRowId(int parameterIndex, RowId x) throws SQLException
 	{
 		realPreparedStatement.setRowId(parameterIndex, x);
-		params.put(parameterIndex, ROWID);
+		captureParameter(parameterIndex, ROWID);
 	}
 
 	@Override
 	public void setNString(int parameterIndex, String value) throws SQLException
 	{
 		realPreparedStatement.setNString(parameterIndex, value);
-		params.put(parameterIndex, value);
+		captureParameter(parameterIndex, value);
 	}
 
 	@Override
 	public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException
 	{
 		realPreparedStatement.setNCharacterStream(parameterIndex, value, length);
-		params.put(parameterIndex, NCHAR_STREAM);
+		captureParameter(parameterIndex, NCHAR_STREAM);
 	}
 
 	@Override
 	public void setNClob(int parameterIndex, NClob value) throws SQLException
 	{
 		realPreparedStatement.setNClob(parameterIndex, value);
-		params.put(parameterIndex, NCLOB);
+		captureParameter(parameterIndex, NCLOB);
 	}
 
 	@Override
 	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException
 	{
 		realPreparedStatement.setClob(parameterIndex, reader, length);
-		params.put(parameterIndex, CLOB);
+		captureParameter(parameterIndex, CLOB);
 	}
 
 	@Override
 	public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException
 	{
 		realPreparedStatement.setBlob(parameterIndex, inputStream, length);
-		params.put(parameterIndex, BLOB);
+		captureParameter(parameterIndex, BLOB);
 	}
 
 	@Override
 	public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException
 	{
 		realPreparedStatement.setNClob(parameterIndex, reader, length);
-		params.put(parameterIndex, NCLOB);
+		captureParameter(parameterIndex, NCLOB);
 	}
 
 	@Override
 	public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException
 	{
 		realPreparedStatement.setSQLXML(parameterIndex, xmlObject);
-		params.put(parameterIndex, xmlObject.getString());
+		if (connection.isCaptureParameters()) {
+			captureParameter(parameterIndex, xmlObject.getString());
+		}//if
 	}
 
 	@Override
 	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException
 	{
 		realPreparedStatement.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
-		params.put(parameterIndex, x.toString());
+		captureParameter(parameterIndex, x);
 	}
 
 	@Override
 	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException
 	{
 		realPreparedStatement.setAsciiStream(parameterIndex, x, length);
-		params.put(parameterIndex, ASCII_STREAM);
+		captureParameter(parameterIndex, ASCII_STREAM);
 	}
 
 	@Override
 	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException
 	{
 		realPreparedStatement.setBinaryStream(parameterIndex, x, length);
-		params.put(parameterIndex, BINARY_STREAM);
+		captureParameter(parameterIndex, BINARY_STREAM);
 	}
 
 	@Override
 	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException
 	{
 		realPreparedStatement.setCharacterStream(parameterIndex, reader, length);
-		params.put(parameterIndex, CHAR_STREAM);
+		captureParameter(parameterIndex, CHAR_STREAM);
 	}
 
 	@Override
 	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException
 	{
 		realPreparedStatement.setAsciiStream(parameterIndex, x);
-		params.put(parameterIndex, ASCII_STREAM);
+		captureParameter(parameterIndex, ASCII_STREAM);
 	}
 
 	@Override
 	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException
 	{
 		realPreparedStatement.setBinaryStream(parameterIndex, x);
-		params.put(parameterIndex, BINARY_STREAM);
+		captureParameter(parameterIndex, BINARY_STREAM);
 	}
 
 	@Override
 	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException
 	{
 		realPreparedStatement.setCharacterStream(parameterIndex, reader);
-		params.put(parameterIndex, CHAR_STREAM);
+		captureParameter(parameterIndex, CHAR_STREAM);
 	}
 
 	@Override
 	public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException
 	{
 		realPreparedStatement.setNCharacterStream(parameterIndex, value);
-		params.put(parameterIndex, NCHAR_STREAM);
+		captureParameter(parameterIndex, NCHAR_STREAM);
 	}
 
 	@Override
 	public void setClob(int parameterIndex, Reader reader) throws SQLException
 	{
 		realPreparedStatement.setClob(parameterIndex, reader);
-		params.put(parameterIndex, CLOB);
+		captureParameter(parameterIndex, CLOB);
 	}
 
 	@Override
 	public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException
 	{
 		realPreparedStatement.setBlob(parameterIndex, inputStream);
-		params.put(parameterIndex, BLOB);
+		captureParameter(parameterIndex, BLOB);
 	}
 
 	@Override
 	public void setNClob(int parameterIndex, Reader reader) throws SQLException
 	{
 		realPreparedStatement.setNClob(parameterIndex, reader);
-		params.put(parameterIndex, NCLOB);
+		captureParameter(parameterIndex, NCLOB);
 	}
 }
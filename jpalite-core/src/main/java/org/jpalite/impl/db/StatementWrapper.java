@@ -29,6 +29,7 @@ public class StatementWrapper implements Statement
 	protected static final String EXECUTE_UPDATE_METHOD = "executeUpdate";
 	protected static final String EXECUTE_QUERY_METHOD = "executeQuery";
 	protected static final String EXECUTE_METHOD = "execute";
+	protected static final String EXECUTE_BATCH_METHOD = "executeBatch";
 	private static final Logger LOG = LoggerFactory.getLogger(StatementWrapper.class);
 	protected ConnectionWrapper connection;
 	private final Statement realStatement;
@@ -54,8 +55,21 @@ public class StatementWrapper implements Statement
 		}//if
 	}//logError
 
-	protected void logExecution(String method, String queryStr, long executeTime, boolean update)
-	{
+	/**
+	 * Log the execution of a query. Nothing is logged or timed if the connection is in pass-through mode.
+	 *
+	 * @param method    The method used to execute the query
+	 * @param queryStr  The query
+	 * @param startTime The {@link System#nanoTime()} when the execution started
+	 * @param update    True if the query updated the database
+	 */
+	protected void logExecution(String method, String queryStr, long startTime, boolean update)
+	{
+		if (connection.isPassThrough()) {
+			return;
+		}//if
+
+		long executeTime = (System.nanoTime() - startTime) / 1_000_000;
 		String vReadonlyStr = "";
 
 		if (connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -80,10 +94,10 @@ public class StatementWrapper implements Statement
 	public ResultSet executeQuery(String sql) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			connection.setLastQuery(sql);
 			ResultSet result = realStatement.executeQuery(sql);
-			logExecution(EXECUTE_QUERY_METHOD, sql, System.currentTimeMillis() - start, false);
+			logExecution(EXECUTE_QUERY_METHOD, sql, start, false);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -96,13 +110,13 @@ public class StatementWrapper implements Statement
 	public int executeUpdate(String sql) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			int result = 0;
 			connection.setLastQuery(sql);
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
 				result = realStatement.executeUpdate(sql);
 			}//if
-			logExecution(EXECUTE_UPDATE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_UPDATE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -187,14 +201,14 @@ public class StatementWrapper implements Statement
 	public boolean execute(String sql) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			boolean result = false;
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
 				connection.setLastQuery(sql);
 				result = realStatement.execute(sql);
 			}//if
 
-			logExecution(EXECUTE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -297,7 +311,7 @@ public class StatementWrapper implements Statement
 	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			int result = 0;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -305,7 +319,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.executeUpdate(sql, autoGeneratedKeys);
 			}//if
 
-			logExecution(EXECUTE_UPDATE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_UPDATE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -318,7 +332,7 @@ public class StatementWrapper implements Statement
 	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			int result = 0;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -326,7 +340,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.executeUpdate(sql, columnIndexes);
 			}//if
 
-			logExecution(EXECUTE_UPDATE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_UPDATE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -339,7 +353,7 @@ public class StatementWrapper implements Statement
 	public int executeUpdate(String sql, String[] columnNames) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			int result = 0;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -347,7 +361,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.executeUpdate(sql, columnNames);
 			}//if
 
-			logExecution(EXECUTE_UPDATE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_UPDATE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -360,7 +374,7 @@ public class StatementWrapper implements Statement
 	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			boolean result = false;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -368,7 +382,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.execute(sql, autoGeneratedKeys);
 			}//if
 
-			logExecution(EXECUTE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -381,7 +395,7 @@ public class StatementWrapper implements Statement
 	public boolean execute(String sql, int[] columnIndexes) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			boolean result = false;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -389,7 +403,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.execute(sql, columnIndexes);
 			}//if
 
-			logExecution(EXECUTE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -402,7 +416,7 @@ public class StatementWrapper implements Statement
 	public boolean execute(String sql, String[] columnNames) throws SQLException
 	{
 		try {
-			long start = System.currentTimeMillis();
+			long start = System.nanoTime();
 			boolean result = false;
 
 			if (!connection.getPersistenceContext().unwrap(PersistenceContextImpl.class).isReadonly()) {
@@ -410,7 +424,7 @@ public class StatementWrapper implements Statement
 				result = realStatement.execute(sql, columnNames);
 			}//if
 
-			logExecution(EXECUTE_METHOD, sql, System.currentTimeMillis() - start, true);
+			logExecution(EXECUTE_METHOD, sql, start, true);
 			return result;
 		}//try
 		catch (SQLException ex) {
@@ -1,6 +1,8 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
@@ -10,9 +12,12 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * BigDecimalFieldType is a class that implements the FieldConvertType interface for converting BigDecimal field types.
@@ -28,6 +33,9 @@ import java.sql.SQLException;
 @Converter(autoApply = true)
 public class BigDecimalFieldType implements FieldConvertType<BigDecimal, BigDecimal>
 {
+    private static final byte UNSCALED_LONG = 0;
+    private static final byte UNSCALED_BYTES = 1;
+
     /**
      * Empty constructor
      */
@@ -61,20 +69,60 @@ public class BigDecimalFieldType implements FieldConvertType<BigDecimal, BigDeci
     }
 
     @Override
-    public void writeField(Object value, DataOutputStream out) throws IOException
+    public BigDecimal fromJson(JsonParser parser) throws IOException
     {
+        int scale = 0;
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if ("scale".equals(fieldName)) {
+                scale = parser.getIntValue();
+            }
+            else if ("value".equals(fieldName)) {
+                value = parser.getText();
+            }
+            else {
+                parser.skipChildren();
+            }
+        }
+
         if (value == null) {
-            value = BigDecimal.ZERO;
+            throw new IOException("Missing value in json BigDecimal field");
+        }
+        return new BigDecimal(value).setScale(scale, RoundingMode.HALF_DOWN);
+    }
+
+    @Override
+    public void writeField(Object value, DataOutputStream out) throws IOException
+    {
+        BigDecimal decimal = (value == null) ? BigDecimal.ZERO : (BigDecimal) value;
+        BigInteger unscaled = decimal.unscaledValue();
+        out.writeInt(decimal.scale());
+        //Most values fit in a long, write those without converting the value to a string or byte array
+        if (unscaled.bitLength() < Long.SIZE) {
+            out.writeByte(UNSCALED_LONG);
+            out.writeLong(unscaled.longValue());
+        }
+        else {
+            byte[] bytes = unscaled.toByteArray();
+            out.writeByte(UNSCALED_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
         }
-        out.writeInt(((BigDecimal) value).scale());
-        out.writeUTF(((BigDecimal) value).toPlainString());
     }
 
     @Override
     public BigDecimal readField(DataInputStream in) throws IOException
     {
         int scale = in.readInt();
-        return new BigDecimal(in.readUTF()).setScale(scale, RoundingMode.HALF_DOWN);
+        if (in.readByte() == UNSCALED_LONG) {
+            return BigDecimal.valueOf(in.readLong(), scale);
+        }
+
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new BigDecimal(new BigInteger(bytes), scale);
     }
 
     @Override
@@ -95,4 +143,15 @@ public class BigDecimalFieldType implements FieldConvertType<BigDecimal, BigDeci
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, BigDecimal value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.NUMERIC);
+        }
+        else {
+            statement.setBigDecimal(index, value);
+        }
+    }
 }
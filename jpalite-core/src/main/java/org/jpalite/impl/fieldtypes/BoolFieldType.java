@@ -1,15 +1,19 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
+import org.jpalite.EntityField;
 import org.jpalite.FieldConvertType;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * This class is an implementation of the FieldConvertType interface for Boolean field types.
@@ -39,6 +43,12 @@ public class BoolFieldType implements FieldConvertType<Boolean, Boolean>
         return json.booleanValue();
     }
 
+    @Override
+    public Boolean fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getBooleanValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -71,4 +81,36 @@ public class BoolFieldType implements FieldConvertType<Boolean, Boolean>
     {
         return dbData;
     }
+
+    @Override
+    public void readAttribute(ResultSet resultSet, int column, EntityField field, Object entity) throws SQLException
+    {
+        field.invokeSetter(entity, resultSet.getBoolean(column));
+    }
+
+    @Override
+    public void writeAttribute(EntityField field, Object entity, DataOutputStream out) throws IOException
+    {
+        out.writeBoolean(field.invokeBooleanGetter(entity));
+    }
+
+    @Override
+    public void readAttribute(DataInputStream in, EntityField field, Object entity) throws IOException
+    {
+        field.invokeSetter(entity, in.readBoolean());
+    }
+
+    /**
+     * Booleans are bound as an untyped 1 or 0, which is accepted by boolean as well as integer and smallint columns
+     */
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Boolean value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.OTHER);
+        }
+        else {
+            statement.setObject(index, Boolean.TRUE.equals(value) ? 1 : 0, Types.OTHER);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -8,8 +9,10 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * Represents a field type that handles boolean values.
@@ -43,6 +46,12 @@ public class BooleanFieldType implements FieldConvertType<Boolean, Boolean>
         return json.booleanValue();
     }
 
+    @Override
+    public Boolean fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getBooleanValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -73,4 +82,18 @@ public class BooleanFieldType implements FieldConvertType<Boolean, Boolean>
     {
         return dbData;
     }
+
+    /**
+     * Booleans are bound as an untyped 1 or 0, which is accepted by boolean as well as integer and smallint columns
+     */
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Boolean value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.OTHER);
+        }
+        else {
+            statement.setObject(index, Boolean.TRUE.equals(value) ? 1 : 0, Types.OTHER);
+        }
+    }
 }
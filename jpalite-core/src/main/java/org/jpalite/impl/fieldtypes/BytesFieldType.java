@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
@@ -10,8 +11,10 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * Converts between byte array attributes and database columns.
@@ -49,6 +52,12 @@ public class BytesFieldType implements FieldConvertType<byte[], byte[]>
         }
     }
 
+    @Override
+    public byte[] fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getBinaryValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -90,4 +99,15 @@ public class BytesFieldType implements FieldConvertType<byte[], byte[]>
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, byte[] value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.BINARY);
+        }
+        else {
+            statement.setBytes(index, value);
+        }
+    }
 }
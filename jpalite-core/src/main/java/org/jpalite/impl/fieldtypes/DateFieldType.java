@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -9,8 +10,10 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * The LocalDateTimeFieldType class is a concrete implementation of the FieldConvertType interface.
@@ -45,6 +48,12 @@ public class DateFieldType implements FieldConvertType<Date, Date>
         return new Date(json.asLong());
     }
 
+    @Override
+    public Date fromJson(JsonParser parser) throws IOException
+    {
+        return new Date(parser.getValueAsLong());
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -80,4 +89,15 @@ public class DateFieldType implements FieldConvertType<Date, Date>
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Date value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.DATE);
+        }
+        else {
+            statement.setDate(index, value);
+        }
+    }
 }
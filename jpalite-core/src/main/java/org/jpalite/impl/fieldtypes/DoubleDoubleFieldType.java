@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -8,8 +9,10 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * A class that implements the {@link FieldConvertType} interface and represents a field type for working with double values.
@@ -41,6 +44,12 @@ public class DoubleDoubleFieldType implements FieldConvertType<Double, Double>
         return json.doubleValue();
     }
 
+    @Override
+    public Double fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getDoubleValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -71,4 +80,15 @@ public class DoubleDoubleFieldType implements FieldConvertType<Double, Double>
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Double value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        }
+        else {
+            statement.setDouble(index, value);
+        }
+    }
 }
@@ -1,15 +1,19 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
+import org.jpalite.EntityField;
 import org.jpalite.FieldConvertType;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * A class that implements the FieldConvertType interface for Double data type.
@@ -39,6 +43,12 @@ public class DoubleFieldType implements FieldConvertType<Double, Double>
         return json.doubleValue();
     }
 
+    @Override
+    public Double fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getDoubleValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -71,4 +81,33 @@ public class DoubleFieldType implements FieldConvertType<Double, Double>
     {
         return dbData;
     }
+
+    @Override
+    public void readAttribute(ResultSet resultSet, int column, EntityField field, Object entity) throws SQLException
+    {
+        field.invokeSetter(entity, resultSet.getDouble(column));
+    }
+
+    @Override
+    public void writeAttribute(EntityField field, Object entity, DataOutputStream out) throws IOException
+    {
+        out.writeDouble(field.invokeDoubleGetter(entity));
+    }
+
+    @Override
+    public void readAttribute(DataInputStream in, EntityField field, Object entity) throws IOException
+    {
+        field.invokeSetter(entity, in.readDouble());
+    }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Double value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        }
+        else {
+            statement.setDouble(index, value);
+        }
+    }
 }
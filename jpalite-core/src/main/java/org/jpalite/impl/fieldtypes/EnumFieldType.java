@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import org.jpalite.FieldConvertType;
@@ -50,6 +51,19 @@ public class EnumFieldType implements FieldConvertType<Enum<?>, String>
 		return null;
 	}
 
+	@Override
+	public Enum<?> fromJson(JsonParser parser) throws IOException
+	{
+		String enumName = parser.getText();
+		for (Enum<?> enumValue : enumType.getEnumConstants()) {
+			if (enumValue.name().equals(enumName)) {
+				return enumValue;
+			}//if
+		}//for
+
+		return null;
+	}
+
 	@Override
 	public void writeField(Object value, DataOutputStream out) throws IOException
 	{
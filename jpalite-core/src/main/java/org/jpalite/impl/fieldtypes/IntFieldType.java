@@ -1,15 +1,19 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
+import org.jpalite.EntityField;
 import org.jpalite.FieldConvertType;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * IntFieldType is a class that implements the FieldConvertType interface to define the field type for integer values.
@@ -40,6 +44,12 @@ public class IntFieldType implements FieldConvertType<Integer, Integer>
         return json.intValue();
     }
 
+    @Override
+    public Integer fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getIntValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -72,4 +82,33 @@ public class IntFieldType implements FieldConvertType<Integer, Integer>
     {
         return dbData;
     }
+
+    @Override
+    public void readAttribute(ResultSet resultSet, int column, EntityField field, Object entity) throws SQLException
+    {
+        field.invokeSetter(entity, resultSet.getInt(column));
+    }
+
+    @Override
+    public void writeAttribute(EntityField field, Object entity, DataOutputStream out) throws IOException
+    {
+        out.writeInt(field.invokeIntGetter(entity));
+    }
+
+    @Override
+    public void readAttribute(DataInputStream in, EntityField field, Object entity) throws IOException
+    {
+        field.invokeSetter(entity, in.readInt());
+    }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Integer value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        }
+        else {
+            statement.setInt(index, value);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -8,8 +9,10 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * The IntegerFieldType class is an implementation of the FieldConvertType interface
@@ -45,6 +48,12 @@ public class IntegerFieldType implements FieldConvertType<Integer, Integer>
         return json.intValue();
     }
 
+    @Override
+    public Integer fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getIntValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -75,4 +84,15 @@ public class IntegerFieldType implements FieldConvertType<Integer, Integer>
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Integer value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        }
+        else {
+            statement.setInt(index, value);
+        }
+    }
 }
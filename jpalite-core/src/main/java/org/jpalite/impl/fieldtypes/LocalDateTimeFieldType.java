@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -8,9 +9,11 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -51,6 +54,12 @@ public class LocalDateTimeFieldType implements FieldConvertType<LocalDateTime, T
         return LocalDateTime.from(Instant.parse(json.textValue()));
     }
 
+    @Override
+    public LocalDateTime fromJson(JsonParser parser) throws IOException
+    {
+        return LocalDateTime.from(Instant.parse(parser.getText()));
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -85,4 +94,15 @@ public class LocalDateTimeFieldType implements FieldConvertType<LocalDateTime, T
     {
         return dbData.toLocalDateTime();
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Timestamp value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+        else {
+            statement.setTimestamp(index, value);
+        }
+    }
 }
@@ -1,15 +1,19 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
+import org.jpalite.EntityField;
 import org.jpalite.FieldConvertType;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * This is a class that implements the FieldConvertType interface. It specifically handles the conversion of Long values between entity attributes and database columns.
@@ -38,6 +42,12 @@ public class LongFieldType implements FieldConvertType<Long, Long>
         return json.longValue();
     }
 
+    @Override
+    public Long fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getLongValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -70,4 +80,33 @@ public class LongFieldType implements FieldConvertType<Long, Long>
     {
         return dbData;
     }
+
+    @Override
+    public void readAttribute(ResultSet resultSet, int column, EntityField field, Object entity) throws SQLException
+    {
+        field.invokeSetter(entity, resultSet.getLong(column));
+    }
+
+    @Override
+    public void writeAttribute(EntityField field, Object entity, DataOutputStream out) throws IOException
+    {
+        out.writeLong(field.invokeLongGetter(entity));
+    }
+
+    @Override
+    public void readAttribute(DataInputStream in, EntityField field, Object entity) throws IOException
+    {
+        field.invokeSetter(entity, in.readLong());
+    }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Long value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        }
+        else {
+            statement.setLong(index, value);
+        }
+    }
 }
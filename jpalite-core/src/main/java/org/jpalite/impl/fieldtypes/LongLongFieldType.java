@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -8,8 +9,10 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * A class that implements the FieldConvertType interface for converting Long values.
@@ -45,6 +48,12 @@ public class LongLongFieldType implements FieldConvertType<Long, Long>
         return json.longValue();
     }
 
+    @Override
+    public Long fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getLongValue();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -75,4 +84,15 @@ public class LongLongFieldType implements FieldConvertType<Long, Long>
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Long value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        }
+        else {
+            statement.setLong(index, value);
+        }
+    }
 }
@@ -1,14 +1,17 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.jpalite.CachingException;
 import org.jpalite.FieldConvertType;
 import org.jpalite.impl.EntityFieldImpl;
 
 import java.io.*;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * Special converter type of Object type. It is used internally by {@link EntityFieldImpl}
@@ -39,6 +42,12 @@ public class ObjectFieldType implements FieldConvertType<Object, byte[]>
 		}
 	}
 
+	@Override
+	public Object fromJson(JsonParser parser) throws IOException
+	{
+		return convertToEntityAttribute(parser.getBinaryValue());
+	}
+
 	@Override
 	public void writeField(Object value, DataOutputStream out) throws IOException
 	{
@@ -90,4 +99,15 @@ public class ObjectFieldType implements FieldConvertType<Object, byte[]>
 			throw new CachingException("Error reading Object from stream", ex);
 		}
 	}
+
+	@Override
+	public void setParameter(PreparedStatement statement, int index, byte[] value) throws SQLException
+	{
+		if (value == null) {
+			statement.setNull(index, Types.BINARY);
+		}
+		else {
+			statement.setBytes(index, value);
+		}
+	}
 }
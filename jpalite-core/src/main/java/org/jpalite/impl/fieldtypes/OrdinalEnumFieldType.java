@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.jpalite.FieldConvertType;
 import org.jpalite.impl.EntityFieldImpl;
@@ -8,8 +9,10 @@ import org.jpalite.impl.EntityFieldImpl;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 
 /**
  * Special converter type of ordinal enums. It is used internally by {@link EntityFieldImpl}
@@ -44,6 +47,12 @@ public class OrdinalEnumFieldType implements FieldConvertType<Enum<?>, Integer>
 		return enumType.getEnumConstants()[ordinal];
 	}
 
+	@Override
+	public Enum<?> fromJson(JsonParser parser) throws IOException
+	{
+		return enumType.getEnumConstants()[parser.getIntValue()];
+	}
+
 	@Override
 	public void writeField(Object value, DataOutputStream out) throws IOException
 	{
@@ -75,4 +84,15 @@ public class OrdinalEnumFieldType implements FieldConvertType<Enum<?>, Integer>
 	{
 		return enumType.getEnumConstants()[ordinal];
 	}
+
+	@Override
+	public void setParameter(PreparedStatement statement, int index, Integer value) throws SQLException
+	{
+		if (value == null) {
+			statement.setNull(index, Types.INTEGER);
+		}
+		else {
+			statement.setInt(index, value);
+		}
+	}
 }
@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.Converter;
 import org.jpalite.FieldConvertType;
@@ -40,6 +41,12 @@ public class StringFieldType implements FieldConvertType<String, String>
         return json.textValue();
     }
 
+    @Override
+    public String fromJson(JsonParser parser) throws IOException
+    {
+        return parser.getText();
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
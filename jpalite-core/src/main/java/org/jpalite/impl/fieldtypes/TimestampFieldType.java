@@ -1,6 +1,7 @@
 package org.jpalite.impl.fieldtypes;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
@@ -9,9 +10,11 @@ import org.jpalite.FieldConvertType;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -50,6 +53,12 @@ public class TimestampFieldType implements FieldConvertType<Timestamp, Timestamp
         return Timestamp.from(Instant.parse(json.textValue()));
     }
 
+    @Override
+    public Timestamp fromJson(JsonParser parser) throws IOException
+    {
+        return Timestamp.from(Instant.parse(parser.getText()));
+    }
+
     @Override
     public void writeField(Object value, DataOutputStream out) throws IOException
     {
@@ -84,4 +93,15 @@ public class TimestampFieldType implements FieldConvertType<Timestamp, Timestamp
     {
         return dbData;
     }
+
+    @Override
+    public void setParameter(PreparedStatement statement, int index, Timestamp value) throws SQLException
+    {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+        else {
+            statement.setTimestamp(index, value);
+        }
+    }
 }
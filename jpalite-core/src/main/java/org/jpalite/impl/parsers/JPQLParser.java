@@ -22,8 +22,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.PersistenceException;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.*;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
 import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
 import net.sf.jsqlparser.expression.operators.relational.NotEqualsTo;
 import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
@@ -33,20 +36,26 @@ import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
 import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.Limit;
+import net.sf.jsqlparser.statement.select.Offset;
 import net.sf.jsqlparser.statement.select.OrderByElement;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.SelectItem;
 import net.sf.jsqlparser.statement.update.Update;
 import net.sf.jsqlparser.statement.update.UpdateSet;
 import org.jpalite.*;
+import org.jpalite.impl.EntityGraphImpl;
 import org.jpalite.impl.queries.QueryParameterImpl;
 import org.jpalite.parsers.QueryParser;
 import org.jpalite.parsers.QueryStatement;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @SuppressWarnings("java:S1452") //generic wildcard is required
 public class JPQLParser extends JPQLAdaptor implements QueryParser
@@ -68,6 +77,12 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
      * The parsed query
      */
     private final String query;
+    /**
+     * The parsed query with the OFFSET and LIMIT parameters added, null if the limits cannot be added to the query
+     */
+    private String queryWithLimits = null;
+    private int offsetParameterPosition = 0;
+    private int limitParameterPosition = 0;
     private QueryStatement queryStatement = QueryStatement.OTHER;
 
     /**
@@ -82,6 +97,10 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
      * List of tables used
      */
     private final List<EntityInfo> entityInfoList;
+    /**
+     * The entity types used in the query
+     */
+    private final Set<Class<?>> queryEntities;
     /**
      * We may use either positional or named parameters, but we cannot mix them within the same query.
      */
@@ -90,6 +109,15 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
      * Map of parameters used in the query
      */
     private final List<QueryParameterImpl<?>> queryParameters;
+    /**
+     * The parameters of the IN lists that were rewritten to = ANY(?) and must be bound as an array, mapped to the entity
+     * field the array is compared with or null if the field is not known
+     */
+    private final Map<Expression, EntityField> arrayParameters;
+    /**
+     * The entity field the last visited column was resolved to
+     */
+    private EntityField lastColumnField;
     /**
      * Instance of the defined joins in the query
      */
@@ -110,6 +138,19 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
      * If not null the fetchtype settings on the ALL fields are ignored and this value is used
      */
     private FetchType overrideAllFetchType = null;
+    /**
+     * The entity graph passed to the query using either the fetchgraph or the loadgraph hint
+     */
+    private EntityGraphImpl<?> entityGraph = null;
+    /**
+     * If true the entity graph is a fetch graph and the fields not in the graph are treated as LAZY, else the fields
+     * not in the graph are fetched according to their fetch type
+     */
+    private boolean fetchGraph = false;
+    /**
+     * The (sub)graph applicable to the entity currently being expanded, null if the graph does not cover the entity
+     */
+    private EntityGraphImpl<?> currentGraph = null;
     private boolean selectUsingPrimaryKey = false;
     private String tableAlias = null;
 
@@ -179,8 +220,10 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
     {
         returnTypes          = new LinkedHashMap<>();
         entityInfoList       = new ArrayList<>();
+        queryEntities        = new LinkedHashSet<>();
         usingNamedParameters = false;
         queryParameters      = new ArrayList<>();
+        arrayParameters      = new IdentityHashMap<>();
 
         if (queryHints.get(JPALiteEntityManager.PERSISTENCE_OVERRIDE_FETCHTYPE) != null) {
             overrideAllFetchType = (FetchType) queryHints.get(JPALiteEntityManager.PERSISTENCE_OVERRIDE_FETCHTYPE);
@@ -190,17 +233,87 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
             overrideBasicFetchType = (FetchType) queryHints.get(JPALiteEntityManager.PERSISTENCE_OVERRIDE_BASIC_FETCHTYPE);
         }//if
 
+        if (queryHints.get(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH) instanceof EntityGraphImpl<?> graph) {
+            entityGraph = graph;
+            fetchGraph  = true;
+        }//if
+        else if (queryHints.get(JPALiteEntityManager.PERSISTENCE_LOADGRAPH) instanceof EntityGraphImpl<?> graph) {
+            entityGraph = graph;
+        }//else if
+
         try {
             Statement vStatement = CCJSqlParserUtil.parse(rawQuery);
             vStatement.accept(this, Context.STATEMENT);
             query = vStatement.toString().replace(":?", "?");
+            applyLimits(vStatement);
+            entityInfoList.forEach(info -> queryEntities.add(info.getMetadata().getEntityClass()));
             entityInfoList.clear();
+            //The graph is mutable and only needed while parsing, do not keep a reference in the cached parser
+            entityGraph = null;
         }//try
         catch (JSQLParserException ex) {
             throw new PersistenceException("Error parsing query", ex);
         }//catch
     }//JpqlToNative
 
+    /**
+     * Add the OFFSET and LIMIT clauses to a select statement that does not already limit the rows returned. The values
+     * are added as parameters following the parameters of the query so that the parsed query (and the server side
+     * prepared statement) is the same for every page.
+     *
+     * @param statement The parsed statement
+     */
+    private void applyLimits(Statement statement)
+    {
+        if (statement instanceof PlainSelect plainSelect && plainSelect.getLimit() == null && plainSelect.getOffset() == null && plainSelect.getFetch() == null) {
+            Offset offset = new Offset();
+            offset.setOffset(new JdbcParameter());
+            Limit limit = new Limit();
+            limit.setRowCount(new JdbcParameter());
+            plainSelect.setOffset(offset);
+            plainSelect.setLimit(limit);
+
+            queryWithLimits = plainSelect.toString().replace(":?", "?");
+
+            //The parameters are positional, determine the order in which the clauses were generated
+            int placeholders = countPlaceholders(query);
+            boolean limitFirst = queryWithLimits.lastIndexOf("LIMIT ?") < queryWithLimits.lastIndexOf("OFFSET ?");
+            limitParameterPosition  = placeholders + (limitFirst ? 1 : 2);
+            offsetParameterPosition = placeholders + (limitFirst ? 2 : 1);
+
+            plainSelect.setOffset(null);
+            plainSelect.setLimit(null);
+        }//if
+    }//applyLimits
+
+    /**
+     * Count the number of parameter placeholders in the query, ignoring any question marks found in a quoted string or
+     * identifier.
+     *
+     * @param sql The query
+     * @return The number of placeholders
+     */
+    private static int countPlaceholders(String sql)
+    {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }//if
+            }//if
+            else if (c == '\'' || c == '"') {
+                quote = c;
+            }//else if
+            else if (c == '?') {
+                count++;
+            }//else if
+        }//for
+        return count;
+    }//countPlaceholders
+
     @Override
     public boolean isSelectUsingPrimaryKey()
     {
@@ -254,6 +367,30 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
         return query;
     }//getNativeStatement
 
+    @Override
+    public Set<Class<?>> getQueryEntities()
+    {
+        return queryEntities;
+    }//getQueryEntities
+
+    @Override
+    public String getQueryWithLimits()
+    {
+        return queryWithLimits;
+    }//getQueryWithLimits
+
+    @Override
+    public int getOffsetParameterPosition()
+    {
+        return offsetParameterPosition;
+    }//getOffsetParameterPosition
+
+    @Override
+    public int getLimitParameterPosition()
+    {
+        return limitParameterPosition;
+    }//getLimitParameterPosition
+
     /**
      * Return the type of parameter that is used.
      *
@@ -415,19 +552,27 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
             colAlias += "-" + entityField.getFieldNr();
         }//if
 
+        EntityGraphImpl<?> subgraph;
+        if (root) {
+            subgraph = getRootGraph(entityField.getType());
+        }//if
+        else {
+            subgraph = (currentGraph != null) ? currentGraph.getAttributeSubgraph(entityField.getName()) : null;
+        }//else
+
         //only XXXX_TO_ONE type mappings can be expanded
         if (entityField.getMappingType() == MappingType.ONE_TO_ONE || entityField.getMappingType() == MappingType.MANY_TO_ONE) {
             //Check if we already have a JOIN for the entity
             EntityInfo entityInfo = findEntityInfoWithEntity(entityField.getType());
             //We will expand if FetchType is EAGER or if we have an existing JOIN on the Entity
-            if (entityInfo != null || (overrideAllFetchType != null && overrideAllFetchType == FetchType.EAGER) || (overrideAllFetchType == null && entityField.getFetchType() == FetchType.EAGER)) {
+            if (entityInfo != null || getFetchType(entityField, overrideAllFetchType) == FetchType.EAGER) {
                 if (entityInfo == null) {
                     //if where have many-to-one mapping on the field, check if one of the other tables ( FROM and JOIN) have an ONE_TO_MANY link
                     //back to this entity
                     if (entityField.getMappingType() == MappingType.MANY_TO_ONE) {
                         EntityInfo info = findMappedBy(entityField.getName());
                         if (info != null) {
-                            getAllColumns(selectNr, colAlias, info.getMetadata(), info.getColumnAlias(), newList, context);
+                            getGraphColumns(subgraph, selectNr, colAlias, info.getMetadata(), info.getColumnAlias(), newList, context);
                             return;
                         }//if
                     }//if
@@ -443,7 +588,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
                     }//if
                 }//else
 
-                getAllColumns(selectNr, colAlias, entityInfo.getMetadata(), newTableAlias, newList, context);
+                getGraphColumns(subgraph, selectNr, colAlias, entityInfo.getMetadata(), newTableAlias, newList, context);
             }//if
             else {
                 newList.add(createSelectColumn(entityField.getName(), selectNr + colAlias, tableAlias));
@@ -458,7 +603,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
                 entityInfoList.add(entityInfo);
             }//if
 
-            getAllColumns(selectNr, colAlias, entityInfo.getMetadata(), newTableAlias, newList, context);
+            getGraphColumns(subgraph, selectNr, colAlias, entityInfo.getMetadata(), newTableAlias, newList, context);
         }//else
     }//expandEntity
 
@@ -492,7 +637,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
     {
         for (EntityField field : entity.getEntityFields()) {
             if (field.getMappingType() == MappingType.BASIC) {
-                if (field.isIdField() || (overrideBasicFetchType != null && overrideBasicFetchType == FetchType.EAGER) || (overrideBasicFetchType == null && field.getFetchType() == FetchType.EAGER)) {
+                if (field.isIdField() || getFetchType(field, overrideBasicFetchType) == FetchType.EAGER) {
                     newList.add(createSelectColumn(field.getName(), selectNr + colAlias + "-" + field.getFieldNr(), tableAlias));
                 }//if
             }//if
@@ -502,6 +647,53 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
         }//for
     }//getAllColumns
 
+    /**
+     * Add the columns of the entity using the given (sub)graph to decide which fields to fetch
+     */
+    private <S> void getGraphColumns(EntityGraphImpl<?> graph, String selectNr, String colAlias, EntityMetaData<?> entity, String tableAlias, List<SelectItem<? extends Expression>> newList, S context)
+    {
+        EntityGraphImpl<?> parentGraph = currentGraph;
+        currentGraph = graph;
+        try {
+            getAllColumns(selectNr, colAlias, entity, tableAlias, newList, context);
+        }//try
+        finally {
+            currentGraph = parentGraph;
+        }//finally
+    }//getGraphColumns
+
+    /**
+     * Return the entity graph if the graph is defined for the selected entity class
+     */
+    private EntityGraphImpl<?> getRootGraph(Class<?> entityClass)
+    {
+        return (entityGraph != null && entityGraph.getClassType().isAssignableFrom(entityClass)) ? entityGraph : null;
+    }//getRootGraph
+
+    /**
+     * Determine how a field must be fetched. The override hints take preference followed by the entity graph and
+     * lastly the fetch type defined on the field.
+     */
+    private FetchType getFetchType(EntityField field, FetchType overrideFetchType)
+    {
+        if (overrideFetchType != null) {
+            return overrideFetchType;
+        }//if
+
+        if (currentGraph != null) {
+            if (currentGraph.hasAttributeNode(field.getName())) {
+                return FetchType.EAGER;
+            }//if
+
+            //The version field is always needed to update the entity
+            if (fetchGraph && !field.isVersionField()) {
+                return FetchType.LAZY;
+            }//if
+        }//if
+
+        return field.getFetchType();
+    }//getFetchType
+
     private <S> EntityInfo findEntity(String selectPath, S context)
     {
         EntityInfo entityInfo = findEntityInfoWithColAlias(selectPath);
@@ -567,7 +759,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
 
 
                 addResultType(colLabel, entityInfo.getMetadata().getEntityClass(), context);
-                getAllColumns(colLabel, "", entityInfo.getMetadata(), column.getColumnName(), newList, context);
+                getGraphColumns(getRootGraph(entityInfo.getMetadata().getEntityClass()), colLabel, "", entityInfo.getMetadata(), column.getColumnName(), newList, context);
             }//if
             else {
                 /*
@@ -658,6 +850,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
         }//for
 
         if (update.getWhere() != null) {
+            update.setWhere(rewriteInParameters(update.getWhere()));
             update.getWhere().accept(this, Context.WHERE);
         }//if
 
@@ -678,6 +871,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
         delete.getTable().accept(this, context);
 
         if (delete.getWhere() != null) {
+            delete.setWhere(rewriteInParameters(delete.getWhere()));
             delete.getWhere().accept(this, Context.WHERE);
         }//if
 
@@ -739,10 +933,12 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
         if (plainSelect.getWhere() != null) {
             //Set to true, if a tableColumn referencing a non-ID field is found it will be changed to false
             selectUsingPrimaryKey = true;
+            plainSelect.setWhere(rewriteInParameters(plainSelect.getWhere()));
             plainSelect.getWhere().accept(this, Context.WHERE);
         }
 
         if (plainSelect.getHaving() != null) {
+            plainSelect.setHaving(rewriteInParameters(plainSelect.getHaving()));
             plainSelect.getHaving().accept(this, Context.HAVING);
         }
 
@@ -769,7 +965,10 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
                 throw new IllegalArgumentException("Mixing positional and named parameters are not allowed");
             }//else if
 
-            queryParameters.add(new QueryParameterImpl<>(parameter.getIndex(), parameterType));
+            QueryParameterImpl<X> queryParameter = new QueryParameterImpl<>(parameter.getIndex(), parameterType);
+            queryParameter.setArray(arrayParameters.containsKey(parameter));
+            queryParameter.setArrayField(arrayParameters.get(parameter));
+            queryParameters.add(queryParameter);
         }//if
         else if (expression instanceof JdbcNamedParameter parameter) {
             if (queryParameters.isEmpty()) {
@@ -779,10 +978,63 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
                 throw new IllegalArgumentException("Mixing positional and named parameters are not allowed");
             }//else if
 
-            queryParameters.add(new QueryParameterImpl<>(parameter.getName(), queryParameters.size() + 1, parameterType));
+            QueryParameterImpl<X> queryParameter = new QueryParameterImpl<>(parameter.getName(), queryParameters.size() + 1, parameterType);
+            queryParameter.setArray(arrayParameters.containsKey(parameter));
+            queryParameter.setArrayField(arrayParameters.get(parameter));
+            queryParameters.add(queryParameter);
         }//else
     }//addQueryParameter
 
+    private static boolean isParameter(Expression expression)
+    {
+        return expression instanceof JdbcParameter || expression instanceof JdbcNamedParameter;
+    }//isParameter
+
+    /**
+     * Rewrite the IN lists in a condition that consist of a single parameter, eg "e.id in (:ids)" or "e.id in :ids", to
+     * "e.id = ANY(?)" (or "e.id <> ALL(?)" for NOT IN). The parameter is bound as a single SQL array so that the same
+     * query serves all list sizes instead of a new query being generated, parsed and planned for every list length.
+     *
+     * @param expression The condition
+     * @return The condition to use in place of the expression
+     */
+    @SuppressWarnings("unchecked")
+    private Expression rewriteInParameters(Expression expression)
+    {
+        if (expression instanceof InExpression inExpression) {
+            Expression parameter = inExpression.getRightExpression();
+            if (parameter instanceof ParenthesedExpressionList<?> list && list.size() == 1) {
+                parameter = list.get(0);
+            }//if
+
+            if (!isParameter(parameter) || inExpression.getLeftExpression() instanceof ExpressionList<?>) {
+                return expression;
+            }//if
+
+            //A select on an array of keys cannot be resolved from the entity caches
+            selectUsingPrimaryKey = false;
+            arrayParameters.put(parameter, null);
+            Function arrayFunction = new Function();
+            arrayFunction.setName(inExpression.isNot() ? "ALL" : "ANY");
+            arrayFunction.setParameters(new ExpressionList<>(parameter));
+            return inExpression.isNot() ? new NotEqualsTo(inExpression.getLeftExpression(), arrayFunction) : new EqualsTo(inExpression.getLeftExpression(), arrayFunction);
+        }//if
+
+        if (expression instanceof AndExpression || expression instanceof OrExpression) {
+            BinaryExpression binaryExpression = (BinaryExpression) expression;
+            binaryExpression.setLeftExpression(rewriteInParameters(binaryExpression.getLeftExpression()));
+            binaryExpression.setRightExpression(rewriteInParameters(binaryExpression.getRightExpression()));
+        }//if
+        else if (expression instanceof NotExpression notExpression) {
+            notExpression.setExpression(rewriteInParameters(notExpression.getExpression()));
+        }//else if
+        else if (expression instanceof ParenthesedExpressionList<?> list) {
+            ((ParenthesedExpressionList<Expression>) list).replaceAll(this::rewriteInParameters);
+        }//else if
+
+        return expression;
+    }//rewriteInParameters
+
     private <S> boolean processWhereColumn(BinaryExpression expression, Expression parameter, Column tableColumn, S context)
     {
         EntityInfo entityInfo = findEntityInfoWithColAlias(tableColumn.getFullyQualifiedName());
@@ -869,7 +1121,17 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
             return;
         }//if
 
+        lastColumnField = null;
         expression.getLeftExpression().accept(this, context);
+
+        //The array of a rewritten IN list is converted and typed using the entity field it is compared with
+        if (expression.getRightExpression() instanceof Function function &&
+            function.getParameters() != null &&
+            function.getParameters().size() == 1 &&
+            arrayParameters.containsKey(function.getParameters().get(0))) {
+            arrayParameters.put(function.getParameters().get(0), lastColumnField);
+        }//if
+
         expression.getRightExpression().accept(this, context);
     }
 
@@ -967,6 +1229,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
             }//if
 
             EntityField field = entityInfo.getMetadata().getEntityField(tableColumn.getColumnName());
+            lastColumnField = field;
             tableColumn.setColumnName(field.getColumn());
             tableColumn.setTable(new Table(entityInfo.getTableAlias()));
             if (context == Context.WHERE && (!entityInfo.getTableAlias().equals("t1") || !field.isIdField())) {
@@ -978,6 +1241,7 @@ public class JPQLParser extends JPQLAdaptor implements QueryParser
                 throw new IllegalArgumentException("WHERE on Entity columns with multiple ID fields are not supported - " + tableColumn);
             }//if
 
+            lastColumnField = entityInfo.getMetadata().getIdField();
             tableColumn.setTable(new Table(entityInfo.getTableAlias()));
             tableColumn.setColumnName(entityInfo.getMetadata().getIdField().getColumn());
             if (context == Context.WHERE && !entityInfo.getTableAlias().equals("t1")) {
@@ -19,18 +19,63 @@ package org.jpalite.impl.parsers;
 
 import jakarta.persistence.FetchType;
 import jakarta.persistence.PersistenceException;
+import org.jpalite.impl.EntityGraphImpl;
+import org.jpalite.impl.JPAConfig;
 import org.jpalite.parsers.QueryParser;
 import org.jpalite.queries.QueryLanguage;
 
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+import static org.jpalite.JPALiteEntityManager.PERSISTENCE_FETCHGRAPH;
+import static org.jpalite.JPALiteEntityManager.PERSISTENCE_LOADGRAPH;
 import static org.jpalite.JPALiteEntityManager.PERSISTENCE_OVERRIDE_BASIC_FETCHTYPE;
 import static org.jpalite.JPALiteEntityManager.PERSISTENCE_OVERRIDE_FETCHTYPE;
 
 public class QueryParserFactory
 {
-    private static final Map<String, QueryParser> PARSED_QUERIES = new ConcurrentHashMap<>();
+    /**
+     * The maximum number of parsed queries kept in the cache. When the limit is reached a parsed query that was not used
+     * since the previous eviction pass is evicted (a CLOCK approximation of LRU).
+     */
+    private static final int CACHE_CAPACITY = JPAConfig.getValue("jpalite.queryCache.size", 1000);
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+    private static final LongAdder CACHE_EVICTIONS = new LongAdder();
+    private static final Map<ParserKey, CachedParser> PARSED_QUERIES = new ConcurrentHashMap<>();
+    /**
+     * The cached keys in the order they are visited by the eviction pass
+     */
+    private static final Queue<ParserKey> EVICTION_QUEUE = new ConcurrentLinkedQueue<>();
+    private static final ReentrantLock EVICTION_LOCK = new ReentrantLock();
+
+    /**
+     * The key used to cache a parsed query. If we override the fetching definition on the entity or pass an entity
+     * graph, the query is parsed differently and is cached separately. The graph is represented by its fetch plan as
+     * the graph itself is mutable.
+     */
+    private record ParserKey(QueryLanguage language, String rawQuery, FetchType overrideFetch, FetchType overrideBasicFetch, String fetchPlan)
+    {
+    }
+
+    /**
+     * A cached parser. The referenced flag is set every time the parser is used and is cleared by the eviction pass,
+     * giving the entry a second chance before it is evicted.
+     */
+    private static final class CachedParser
+    {
+        private final QueryParser parser;
+        private volatile boolean referenced;
+
+        CachedParser(QueryParser parser)
+        {
+            this.parser = parser;
+        }
+    }
 
     private QueryParserFactory()
     {
@@ -44,27 +89,115 @@ public class QueryParserFactory
      */
     public static QueryParser getParser(QueryLanguage language, String rawQuery, Map<String, Object> queryHints)
     {
-        /*
-         * If we override the fetching definition on the entity, we need to reparse the query.
-         */
-        FetchType overrideFetch = (FetchType) queryHints.get(PERSISTENCE_OVERRIDE_FETCHTYPE);
-        FetchType overrideBasicFetch = (FetchType) queryHints.get(PERSISTENCE_OVERRIDE_BASIC_FETCHTYPE);
-        String cacheKey = rawQuery +
-                          language +
-                          ((overrideFetch == null) ? "NONE" : overrideFetch) +
-                          ((overrideBasicFetch == null) ? "NONE" : overrideBasicFetch);
-
-        QueryParser parser = PARSED_QUERIES.get(cacheKey);
-        if (parser == null) {
-            parser = switch (language) {
-                case NATIVE -> new SQLParser(rawQuery, queryHints);
-                case JPQL -> new JPQLParser(rawQuery, queryHints);
-                default -> throw new PersistenceException("Not supported");
-            };
-
-            PARSED_QUERIES.put(cacheKey, parser);
+        ParserKey cacheKey = new ParserKey(language,
+                                           rawQuery,
+                                           (FetchType) queryHints.get(PERSISTENCE_OVERRIDE_FETCHTYPE),
+                                           (FetchType) queryHints.get(PERSISTENCE_OVERRIDE_BASIC_FETCHTYPE),
+                                           getFetchPlan(queryHints));
+
+        CachedParser cached = PARSED_QUERIES.get(cacheKey);
+        if (cached != null) {
+            CACHE_HITS.increment();
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }//if
+            return cached.parser;
+        }//if
+
+        CACHE_MISSES.increment();
+        QueryParser parser = switch (language) {
+            case NATIVE -> new SQLParser(rawQuery, queryHints);
+            case JPQL -> new JPQLParser(rawQuery, queryHints);
+            default -> throw new PersistenceException("Not supported");
+        };
+
+        cached = PARSED_QUERIES.putIfAbsent(cacheKey, new CachedParser(parser));
+        if (cached != null) {
+            //Another thread parsed the same query first
+            return cached.parser;
+        }//if
+
+        EVICTION_QUEUE.add(cacheKey);
+        if (PARSED_QUERIES.size() > CACHE_CAPACITY) {
+            evict();
         }//if
 
         return parser;
     }//getParser
+
+    /**
+     * Evict parsed queries until the cache is within its capacity. Entries used since the previous pass are moved to the
+     * back of the queue. Only one thread evicts at a time, other threads do not wait for the pass to complete.
+     */
+    private static void evict()
+    {
+        if (EVICTION_LOCK.tryLock()) {
+            try {
+                while (PARSED_QUERIES.size() > CACHE_CAPACITY) {
+                    ParserKey key = EVICTION_QUEUE.poll();
+                    if (key == null) {
+                        break;
+                    }//if
+
+                    CachedParser cached = PARSED_QUERIES.get(key);
+                    if (cached != null && cached.referenced) {
+                        cached.referenced = false;
+                        EVICTION_QUEUE.add(key);
+                    }//if
+                    else if (cached != null) {
+                        PARSED_QUERIES.remove(key);
+                        CACHE_EVICTIONS.increment();
+                    }//else if
+                }//while
+            }//try
+            finally {
+                EVICTION_LOCK.unlock();
+            }//finally
+        }//if
+    }//evict
+
+    private static String getFetchPlan(Map<String, Object> queryHints)
+    {
+        if (queryHints.get(PERSISTENCE_FETCHGRAPH) instanceof EntityGraphImpl<?> graph) {
+            return PERSISTENCE_FETCHGRAPH + "=" + graph.getFetchPlan();
+        }//if
+
+        if (queryHints.get(PERSISTENCE_LOADGRAPH) instanceof EntityGraphImpl<?> graph) {
+            return PERSISTENCE_LOADGRAPH + "=" + graph.getFetchPlan();
+        }//if
+
+        return null;
+    }//getFetchPlan
+
+    /**
+     * @return The number of parsed queries currently cached
+     */
+    public static int getCacheSize()
+    {
+        return PARSED_QUERIES.size();
+    }//getCacheSize
+
+    /**
+     * @return The number of times a parsed query was found in the cache
+     */
+    public static long getCacheHits()
+    {
+        return CACHE_HITS.sum();
+    }//getCacheHits
+
+    /**
+     * @return The number of times a query had to be parsed
+     */
+    public static long getCacheMisses()
+    {
+        return CACHE_MISSES.sum();
+    }//getCacheMisses
+
+    /**
+     * @return The number of parsed queries evicted from the cache
+     */
+    public static long getCacheEvictions()
+    {
+        return CACHE_EVICTIONS.sum();
+    }//getCacheEvictions
 }
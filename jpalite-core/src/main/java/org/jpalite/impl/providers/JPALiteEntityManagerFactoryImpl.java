@@ -23,6 +23,7 @@ import jakarta.persistence.metamodel.Metamodel;
 import lombok.extern.slf4j.Slf4j;
 import org.jpalite.PersistenceContext;
 import org.jpalite.*;
+import org.jpalite.impl.EntityGraphImpl;
 import org.jpalite.impl.JPAConfig;
 import org.jpalite.impl.JPALiteEntityManagerImpl;
 import org.jpalite.impl.caching.EntityCacheImpl;
@@ -34,6 +35,8 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ServiceLoader;
 
+import static org.jpalite.JPALiteEntityManager.PERSISTENCE_BATCH_FETCH_SIZE;
+import static org.jpalite.JPALiteEntityManager.PERSISTENCE_JDBC_BATCH_SIZE;
 import static org.jpalite.JPALiteEntityManager.PERSISTENCE_QUERY_LOG_SLOWTIME;
 import static org.jpalite.JPALiteEntityManager.PERSISTENCE_SHOW_SQL;
 import static org.jpalite.PersistenceContext.PERSISTENCE_JTA_MANAGED;
@@ -45,6 +48,8 @@ public class JPALiteEntityManagerFactoryImpl implements EntityManagerFactory
     private static final String NOT_SUPPORTED = "Not supported by current implementation";
     private final long defaultSlowQueryTime = JPAConfig.getValue("jpalite.slowQueryTime", 500L);
     private final boolean defaultShowQueries = JPAConfig.getValue("jpalite.showQueries", false);
+    private final int defaultJdbcBatchSize = JPAConfig.getValue("jpalite.jdbcBatchSize", 50);
+    private final int defaultBatchFetchSize = JPAConfig.getValue("jpalite.batchFetchSize", 50);
     private final String persistenceUnitName;
     private boolean openFactory;
 
@@ -115,6 +120,8 @@ public class JPALiteEntityManagerFactoryImpl implements EntityManagerFactory
         localProperties.put(PERSISTENCE_JTA_MANAGED, synchronizationType == SynchronizationType.SYNCHRONIZED);
         localProperties.putIfAbsent(PERSISTENCE_QUERY_LOG_SLOWTIME, defaultSlowQueryTime);
         localProperties.putIfAbsent(PERSISTENCE_SHOW_SQL, defaultShowQueries);
+        localProperties.putIfAbsent(PERSISTENCE_JDBC_BATCH_SIZE, defaultJdbcBatchSize);
+        localProperties.putIfAbsent(PERSISTENCE_BATCH_FETCH_SIZE, defaultBatchFetchSize);
 
         return databasePool.getPersistenceContext(persistenceUnit);
     }//getPersistenceContext
@@ -153,7 +160,10 @@ public class JPALiteEntityManagerFactoryImpl implements EntityManagerFactory
     @Override
     public void close()
     {
-        openFactory = false;
+        if (openFactory) {
+            openFactory = false;
+            EntityCacheImpl.release(getPersistenceUnit());
+        }//if
     }
 
     @Override
@@ -222,6 +232,10 @@ public class JPALiteEntityManagerFactoryImpl implements EntityManagerFactory
     @Override
     public <T> void addNamedEntityGraph(String graphName, EntityGraph<T> entityGraph)
     {
-        throw new UnsupportedOperationException(NOT_SUPPORTED);
+        if (!(entityGraph instanceof EntityGraphImpl<?>)) {
+            throw new IllegalArgumentException("Only entity graphs created by the JPALite entity manager can be added");
+        }//if
+
+        EntityMetaDataManager.registerEntityGraph(graphName, entityGraph);
     }
 }
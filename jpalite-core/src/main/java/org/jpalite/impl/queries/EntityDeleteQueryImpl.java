@@ -19,6 +19,7 @@ package org.jpalite.impl.queries;
 
 import org.jpalite.EntityField;
 import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
 import org.jpalite.JPAEntity;
 import org.jpalite.queries.EntityQuery;
 import org.jpalite.queries.QueryLanguage;
@@ -29,14 +30,24 @@ import java.util.List;
 
 public class EntityDeleteQueryImpl implements EntityQuery
 {
+	private static final ClassValue<String> DELETE_TEMPLATES = new ClassValue<>()
+	{
+		@Override
+		protected String computeValue(Class<?> type)
+		{
+			return buildQuery(EntityMetaDataManager.getMetaData(type));
+		}
+	};
 	private final EntityMetaData<?> metaData;
 	private final List<Object> parameters;
+	private final List<EntityField> parameterFields;
 	private final String query;
 
 	public EntityDeleteQueryImpl(JPAEntity entity, EntityMetaData<?> metaData)
 	{
 		this.metaData = metaData;
 		parameters = new ArrayList<>();
+		parameterFields = new ArrayList<>();
 		query = buildQuery(entity);
 	}//EntityDeleteQueryImpl
 
@@ -48,24 +59,14 @@ public class EntityDeleteQueryImpl implements EntityQuery
 
 	private String buildQuery(JPAEntity entity)
 	{
-		EntityField[] idFields = metaData.getIdFields().toArray(new EntityField[0]);
-		if (idFields.length == 0) {
+		List<EntityField> idFields = metaData.getIdFields();
+		if (idFields.isEmpty()) {
 			throw new PersistenceException("The entity have no @Id columns and cannot be deleted");
 		}//if
 
-		StringBuilder query = new StringBuilder();
-		query.append("delete from ")
-				.append(metaData.getTable())
-				.append(" where ");
-
-		int paramNr = 0;
 		for (EntityField field : idFields) {
-			if (paramNr > 0) {
-				query.append(" and ");
-			}//if
-			query.append(field.getColumn()).append("=?");
 			parameters.add(entity._getDBValue(field.getName()));
-			paramNr++;
+			parameterFields.add(field);
 		}//for
 
 		/*
@@ -73,15 +74,38 @@ public class EntityDeleteQueryImpl implements EntityQuery
 		 LockMode- Type.OPTIMISTIC_FORCE_INCREMENT where LockModeType.OPTIMISTIC was requested, but not vice versa.
 		 We choose to handle Type.OPTIMISTIC as Type.OPTIMISTIC_FORCE_INCREMENT
 		 */
-		if (entity._getMetaData().hasVersionField()) {
-			EntityField field = entity._getMetaData().getVersionField();
+		if (metaData.hasVersionField()) {
+			EntityField field = metaData.getVersionField();
 			if (entity._isFieldModified(field.getName())) {
 				throw new PersistenceException("Version field was modified!");
 			}//if
 
-			query.append(" and ")
-					.append(field.getColumn()).append("=?");
 			parameters.add(entity._getDBValue(field.getName()));
+			parameterFields.add(field);
+		}//if
+
+		return DELETE_TEMPLATES.get(metaData.getEntityClass());
+	}
+
+	private static String buildQuery(EntityMetaData<?> metaData)
+	{
+		StringBuilder query = new StringBuilder();
+		query.append("delete from ")
+				.append(metaData.getTable())
+				.append(" where ");
+
+		int paramNr = 0;
+		for (EntityField field : metaData.getIdFields()) {
+			if (paramNr > 0) {
+				query.append(" and ");
+			}//if
+			query.append(field.getColumn()).append("=?");
+			paramNr++;
+		}//for
+
+		if (metaData.hasVersionField()) {
+			query.append(" and ")
+					.append(metaData.getVersionField().getColumn()).append("=?");
 		}//if
 
 		return query.toString();
@@ -98,4 +122,10 @@ public class EntityDeleteQueryImpl implements EntityQuery
 	{
 		return parameters.toArray();
 	}
+
+	@Override
+	public EntityField[] getParameterFields()
+	{
+		return parameterFields.toArray(new EntityField[0]);
+	}
 }//EntityInsertInsertQuery
@@ -26,18 +26,36 @@ import org.jpalite.queries.QueryLanguage;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EntityInsertQueryImpl implements EntityQuery
 {
+	/**
+	 * The maximum number of insert statements kept per entity. An insert statement is built for every distinct set of
+	 * columns being inserted.
+	 */
+	private static final int MAX_TEMPLATES = 64;
+	private static final ClassValue<Map<BitSet, String>> INSERT_TEMPLATES = new ClassValue<>()
+	{
+		@Override
+		protected Map<BitSet, String> computeValue(Class<?> type)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
 	private final EntityMetaData<?> metaData;
 	private final List<Object> parameters;
+	private final List<EntityField> parameterFields;
 	private final String query;
 
 	public EntityInsertQueryImpl(JPAEntity entity, EntityMetaData<?> metaData)
 	{
 		this.metaData = metaData;
 		parameters = new ArrayList<>();
+		parameterFields = new ArrayList<>();
 		query = buildQuery(entity);
 	}//EntityInsertQueryImpl
 
@@ -61,37 +79,63 @@ public class EntityInsertQueryImpl implements EntityQuery
 
 	private String buildQuery(JPAEntity entity)
 	{
-		String sqlQuery = "insert into " + metaData.getTable() + "(";
-		StringBuilder columns = new StringBuilder("");
-		StringBuilder values = new StringBuilder("");
-
+		BitSet columns = new BitSet();
+		int fieldNr = 0;
 		for (EntityField field : metaData.getEntityFields()) {
-			if (!field.isInsertable()
-					|| field.getMappingType() == MappingType.ONE_TO_MANY
-					|| (field.isNullable() && entity._isLazyLoaded(field.getName()))) {
-				continue;
+			if (field.isInsertable()
+					&& field.getMappingType() != MappingType.ONE_TO_MANY
+					&& !(field.isNullable() && entity._isLazyLoaded(field.getName()))) {
+
+				Object val = entity._getDBValue(field.getName());
+				if (field.isVersionField()) {
+					val = generateVersionValue(metaData.getVersionField(), val);
+				}//if
+
+				//If the column is nullable always update it. If not nullable
+				//and the value is null skip the column
+				if (field.isNullable() || val != null) {
+					columns.set(fieldNr);
+					if (val instanceof JPAEntity entityField) {
+						val = entityField._getPrimaryKey();
+					}//if
+					parameters.add(val);
+					parameterFields.add(field);
+				}//if
 			}//if
+			fieldNr++;
+		}//for
+
+		entity._clearModified();
 
-			Object val = entity._getDBValue(field.getName());
-			if (field.isVersionField()) {
-				val = generateVersionValue(metaData.getVersionField(), val);
+		Map<BitSet, String> templates = INSERT_TEMPLATES.get(metaData.getEntityClass());
+		String sqlQuery = templates.get(columns);
+		if (sqlQuery == null) {
+			sqlQuery = buildQuery(columns);
+			if (templates.size() < MAX_TEMPLATES) {
+				templates.put(columns, sqlQuery);
 			}//if
+		}//if
+
+		return sqlQuery;
+	}
+
+	private String buildQuery(BitSet columnSet)
+	{
+		StringBuilder columns = new StringBuilder();
+		StringBuilder values = new StringBuilder();
 
-			//If the column is nullable always update it. If not nullable
-			//and the value is null skip the column
-			if (field.isNullable() || val != null) {
-				if (columns.length() > 0) {
+		int fieldNr = 0;
+		for (EntityField field : metaData.getEntityFields()) {
+			if (columnSet.get(fieldNr)) {
+				if (!columns.isEmpty()) {
 					columns.append(",");
 					values.append(",");
 				}//if
 
 				columns.append(field.getColumn());
 				values.append("?");
-				if (val instanceof JPAEntity entityField) {
-					val = entityField._getPrimaryKey();
-				}//if
-				parameters.add(val);
 			}//if
+			fieldNr++;
 		}//for
 
 		String returnCols = "";
@@ -100,10 +144,7 @@ public class EntityInsertQueryImpl implements EntityQuery
 			returnCols = "returning " + metaData.getIdField().getColumn() + versionCol;
 		}//if
 
-		sqlQuery += columns + ") values(" + values + ")" + returnCols;
-
-		entity._clearModified();
-		return sqlQuery;
+		return "insert into " + metaData.getTable() + "(" + columns + ") values(" + values + ")" + returnCols;
 	}
 
 	@Override
@@ -117,4 +158,10 @@ public class EntityInsertQueryImpl implements EntityQuery
 	{
 		return parameters.toArray();
 	}
+
+	@Override
+	public EntityField[] getParameterFields()
+	{
+		return parameterFields.toArray(new EntityField[0]);
+	}
 }//EntityInsertQueryImpl
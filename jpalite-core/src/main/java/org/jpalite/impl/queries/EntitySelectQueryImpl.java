@@ -18,6 +18,7 @@
 package org.jpalite.impl.queries;
 
 import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
 import org.jpalite.queries.EntityQuery;
 import org.jpalite.queries.QueryLanguage;
 
@@ -26,19 +27,27 @@ import java.util.List;
 
 public class EntitySelectQueryImpl implements EntityQuery
 {
+	private static final ClassValue<String> SELECT_TEMPLATES = new ClassValue<>()
+	{
+		@Override
+		protected String computeValue(Class<?> type)
+		{
+			return buildQuery(EntityMetaDataManager.getMetaData(type));
+		}
+	};
 	private final EntityMetaData<?> metadata;
 	private final List<Object> parameters;
 	private final String query;
-	private QueryLanguage language;
+	private final QueryLanguage language;
 
 	public EntitySelectQueryImpl(Object primaryKey, EntityMetaData<?> metadata)
 	{
 		this.metadata = metadata;
 		parameters = new ArrayList<>();
 		parameters.add(primaryKey);
-		language = QueryLanguage.NATIVE;
+		language = QueryLanguage.JPQL;
 
-		query = buildQuery();
+		query = SELECT_TEMPLATES.get(metadata.getEntityClass());
 	}
 
 	@Override
@@ -47,12 +56,10 @@ public class EntitySelectQueryImpl implements EntityQuery
 		return language;
 	}
 
-	private String buildQuery()
+	private static String buildQuery(EntityMetaData<?> metadata)
 	{
 		StringBuilder queryString = new StringBuilder("select ");
 
-		language = QueryLanguage.JPQL;
-
 		queryString.append(" e from ")
 				.append(metadata.getName())
 				.append(" e where e.")
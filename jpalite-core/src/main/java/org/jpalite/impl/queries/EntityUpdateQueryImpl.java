@@ -33,12 +33,14 @@ public class EntityUpdateQueryImpl implements EntityQuery
 {
 	private final EntityMetaData<?> metaData;
 	private final List<Object> parameters;
+	private final List<EntityField> parameterFields;
 	private final String query;
 
 	public EntityUpdateQueryImpl(JPAEntity entity, EntityMetaData<?> metaData)
 	{
 		this.metaData = metaData;
 		parameters = new ArrayList<>();
+		parameterFields = new ArrayList<>();
 		query = buildQuery(entity);
 	}//EntityInsertQuery
 
@@ -61,14 +63,14 @@ public class EntityUpdateQueryImpl implements EntityQuery
 	}
 
 	@SuppressWarnings("java:S3776")//Complexity is reduced as far as possible
-	private void addFields(JPAEntity entity, StringBuilder columns, StringBuilder where, List<Object> whereParams)
+	private void addFields(JPAEntity entity, StringBuilder columns, StringBuilder where, List<Object> whereParams, List<EntityField> whereFields)
 	{
 		for (EntityField field : metaData.getEntityFields()) {
 			if (!entity._isLazyLoaded(field.getName())) {
 				Object val = entity._getDBValue(field.getName());
 
 				if (field.getMappingType() == MappingType.EMBEDDED && val instanceof JPAEntity vLinkEntity && vLinkEntity._isEntityModified()) {
-					addFields(vLinkEntity, columns, where, whereParams);
+					addFields(vLinkEntity, columns, where, whereParams, whereFields);
 				}//if
 				else {
 					if (field.isIdField() || field.isVersionField()) {
@@ -77,6 +79,7 @@ public class EntityUpdateQueryImpl implements EntityQuery
 						}//if
 						where.append(field.getColumn()).append("=?");
 						whereParams.add(val);
+						whereFields.add(field);
 					}//if
 
 					if ((!field.isIdField() && entity._isFieldModified(field.getName()) && field.isUpdatable() && field.getMappingType() != MappingType.ONE_TO_MANY) || field.isVersionField()) {
@@ -105,6 +108,7 @@ public class EntityUpdateQueryImpl implements EntityQuery
 							}//if
 							columns.append(field.getColumn()).append("=?");
 							parameters.add(val);
+							parameterFields.add(field);
 						}//if
 					}//if
 				}//else
@@ -122,14 +126,16 @@ public class EntityUpdateQueryImpl implements EntityQuery
 		StringBuilder columns = new StringBuilder();
 		StringBuilder where = new StringBuilder();
 		List<Object> params = new ArrayList<>();
+		List<EntityField> paramFields = new ArrayList<>();
 
-		addFields(entity, columns, where, params);
+		addFields(entity, columns, where, params, paramFields);
 
 		if (columns.isEmpty()) {
 			return null;
 		}
 
 		parameters.addAll(params);
+		parameterFields.addAll(paramFields);
 
 		return sqlQuery + columns + " where " + where;
 	}
@@ -145,4 +151,10 @@ public class EntityUpdateQueryImpl implements EntityQuery
 	{
 		return parameters.toArray();
 	}
+
+	@Override
+	public EntityField[] getParameterFields()
+	{
+		return parameterFields.toArray(new EntityField[0]);
+	}
 }//EntityInsertInsertQuery
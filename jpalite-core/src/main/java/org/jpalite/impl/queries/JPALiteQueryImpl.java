@@ -28,7 +28,12 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.jpalite.PersistenceContext;
 import org.jpalite.*;
+import org.jpalite.impl.EntityGraphImpl;
+import org.jpalite.impl.EntityMappingPlan;
+import org.jpalite.impl.JPAEntityImpl;
+import org.jpalite.impl.JPAConfig;
 import org.jpalite.impl.db.ConnectionWrapper;
+import org.jpalite.impl.db.ParameterBinder;
 import org.jpalite.impl.parsers.QueryParserFactory;
 import org.jpalite.parsers.QueryParser;
 import org.jpalite.parsers.QueryStatement;
@@ -36,8 +41,11 @@ import org.jpalite.queries.QueryLanguage;
 
 import java.lang.reflect.InvocationTargetException;
 import java.sql.*;
+import java.time.Instant;
 import java.util.Date;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static jakarta.persistence.LockModeType.*;
 import static org.jpalite.JPALiteEntityManager.*;
@@ -49,6 +57,7 @@ public class JPALiteQueryImpl<T> implements Query
     private static final Tracer TRACER = GlobalOpenTelemetry.get().getTracer(JPALiteQueryImpl.class.getName());
     public static final String SQL_QUERY = "query";
     public static final String MIXING_POSITIONAL_AND_NAMED_PARAMETERS_ARE_NOT_ALLOWED = "Mixing positional and named parameters are not allowed";
+    private static final int DEFAULT_FETCH_SIZE = JPAConfig.getValue("jpalite.query.fetchSize", 100);
     /**
      * The Persistence context link to the query
      */
@@ -106,12 +115,35 @@ public class JPALiteQueryImpl<T> implements Query
     private String connectionName;
     private int queryTimeout;
     private int lockTimeout;
+    private int fetchSize;
+    private boolean detachStreamedEntities;
     private CacheRetrieveMode cacheRetrieveMode;
     private CacheStoreMode cacheStoreMode;
     private boolean cacheResultList;
+    private boolean cacheQuery;
     private boolean showSql;
     private Class<?>[] queryResultTypes;
     private FieldType returnType;
+    /**
+     * The parser used for the query
+     */
+    private QueryParser parser;
+    /**
+     * The plan used to map the rows of the result set to the result class
+     */
+    private EntityMappingPlan mappingPlan;
+
+    /**
+     * The key of a query in the query result cache
+     *
+     * @param query       The parsed query
+     * @param parameters  The parameter values
+     * @param firstResult The first result
+     * @param maxResults  The maximum number of results
+     */
+    private record QueryKey(String query, List<?> parameters, int firstResult, int maxResults)
+    {
+    }
 
     /**
      * This method supports both Native and JPQL based queries.
@@ -171,10 +203,13 @@ public class JPALiteQueryImpl<T> implements Query
             cacheStoreMode          = CacheStoreMode.USE;
             queryTimeout            = 0;
             lockTimeout             = 0;
+            fetchSize               = DEFAULT_FETCH_SIZE;
+            detachStreamedEntities  = false;
             params                  = new ArrayList<>();
             queryResultTypes        = null;
             query                   = null;
             cacheResultList         = false;
+            cacheQuery              = false;
 
             //Check that a valid return class was specified
             checkResultClass(resultClass);
@@ -291,25 +326,7 @@ public class JPALiteQueryImpl<T> implements Query
         }//if
         else {
             if (returnType == FieldType.TYPE_ENTITY) {
-
-                JPAEntity entity = (JPAEntity) getNewObject(resultClass);
-                if (queryResultTypes.length == 0) {
-                    entity._mapResultSet(null, resultSet);
-                }//if
-                else {
-                    entity._mapResultSet("c1", resultSet);
-                }//else
-
-                //Check if the entity is not already in L1 Cache
-                JPAEntity l1Entity = (JPAEntity) persistenceContext.l1Cache().find(entity.get$$EntityClass(), entity._getPrimaryKey());
-                if (l1Entity == null) {
-                    persistenceContext.l1Cache().manage(entity);
-                }//if
-                else {
-                    entity = l1Entity;
-                }
-
-                return entity;
+                return attachEntity(mapEntity(resultSet), true);
             }//if
             else {
                 return getColumnValue(null, resultSet, 1);
@@ -317,26 +334,87 @@ public class JPALiteQueryImpl<T> implements Query
         }//else
     }//mapResultSet
 
+    private JPAEntity mapEntity(ResultSet resultSet)
+    {
+        JPAEntityImpl entity = (JPAEntityImpl) getNewObject(resultClass);
+        entity._mapResultSet(getMappingPlan(resultSet), resultSet);
+        return entity;
+    }//mapEntity
+
+    /**
+     * Get the plan to map the result set to the result class. The plan is cached per result set layout and is only
+     * looked up once per query.
+     *
+     * @param resultSet The result set
+     * @return The mapping plan
+     */
+    private EntityMappingPlan getMappingPlan(ResultSet resultSet)
+    {
+        if (mappingPlan == null) {
+            try {
+                String colPrefix = (queryResultTypes.length == 0) ? null : "c1";
+                mappingPlan = EntityMappingPlan.forResultSet(EntityMetaDataManager.getMetaData(resultClass), colPrefix, resultSet.getMetaData());
+            }//try
+            catch (SQLException ex) {
+                throw new EntityMapException("Error extracting the ResultSet Metadata", ex);
+            }//catch
+        }//if
+
+        return mappingPlan;
+    }//getMappingPlan
+
+    /**
+     * Return the instance of the entity found in the L1 cache, otherwise attach the entity to the L1 cache. If manage is
+     * false the entity is linked to the persistence context but is not attached and is marked as DETACHED.
+     *
+     * @param entity The entity
+     * @param manage If true attach the entity to the L1 cache
+     * @return The entity
+     */
+    private JPAEntity attachEntity(JPAEntity entity, boolean manage)
+    {
+        //Check if the entity is not already in L1 Cache
+        JPAEntity l1Entity = (JPAEntity) persistenceContext.l1Cache().find(entity.get$$EntityClass(), entity._getPrimaryKey());
+        if (l1Entity != null) {
+            return l1Entity;
+        }//if
+
+        if (manage) {
+            persistenceContext.l1Cache().manage(entity);
+        }//if
+        else {
+            entity._setPersistenceContext(persistenceContext);
+            entity._setEntityState(EntityState.DETACHED);
+        }//else
+
+        return entity;
+    }//attachEntity
+
+    @SuppressWarnings("unchecked")
     private PreparedStatement bindParameters(PreparedStatement statement) throws SQLException
     {
         for (QueryParameterImpl<?> parameter : params) {
-            if (parameter.getValue() != null) {
-                if (parameter.getValue().getClass().isAssignableFrom(Boolean.class)) {
-                    statement.setObject(parameter.getPosition(), Boolean.TRUE.equals(parameter.getValue()) ? 1 : 0, Types.OTHER);
-                }
+            if (parameter.isArray()) {
+                ParameterBinder.bindArray(statement, parameter.getPosition(), parameter.getValue(), parameter.getArrayField());
+            }//if
+            else if (parameter.getValue() != null) {
+                if (parameter.getParameterType().equals(Object.class)) {
+                    ParameterBinder.bindAttribute(statement, parameter.getPosition(), parameter.getValue());
+                }//if
                 else {
-                    if (parameter.getParameterType().equals(Object.class)) {
-                        statement.setObject(parameter.getPosition(), parameter.getValue(), Types.OTHER);
-                    }//if
-                    else {
-                        EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(parameter.getParameterType());
-                        for (EntityField entityField : metaData.getEntityFields()) {
-                            Object value = entityField.invokeGetter(parameter.getValue());
-                            statement.setObject(parameter.getPosition(), value, Types.OTHER);
-                        }//for
-                    }//else
+                    EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(parameter.getParameterType());
+                    for (EntityField entityField : metaData.getEntityFields()) {
+                        Object value = entityField.invokeGetter(parameter.getValue());
+                        FieldConvertType<Object, Object> converter = entityField.getConverter();
+                        if (converter != null) {
+                            converter.setParameter(statement, parameter.getPosition(), value == null ? null : converter.convertToDatabaseColumn(value));
+                        }//if
+                        else {
+                            ParameterBinder.bindAttribute(statement, parameter.getPosition(), value);
+                        }//else
+                    }//for
                 }//else
-            }//if
+            }//else if
             else {
                 statement.setNull(parameter.getPosition(), Types.OTHER);
             }//else
@@ -354,10 +432,19 @@ public class JPALiteQueryImpl<T> implements Query
         return query;
     }//getQuery
 
-    private String getQueryWithLimits(int firstResult, int maxResults)
+    private boolean isPaged()
+    {
+        return queryStatement == QueryStatement.SELECT && (firstResult > 0 || maxResults < Integer.MAX_VALUE);
+    }//isPaged
+
+    private String getQueryWithLimits()
     {
         String queryStr = getQuery();
-        if (queryStatement == QueryStatement.SELECT && (firstResult > 0 || maxResults < Integer.MAX_VALUE)) {
+        if (isPaged()) {
+            if (parser.getQueryWithLimits() != null) {
+                return parser.getQueryWithLimits();
+            }//if
+
             queryStr = "select * from (" + queryStr + ") __Q";
             if (firstResult > 0) {
                 queryStr += " offset " + firstResult;
@@ -369,7 +456,29 @@ public class JPALiteQueryImpl<T> implements Query
         }//if
 
         return queryStr;
-    }//applyLimits
+    }//getQueryWithLimits
+
+    /**
+     * Bind the offset and limit values if the query returned by {@link #getQueryWithLimits()} was generated by the
+     * parser. A null limit is the same as no limit.
+     *
+     * @param statement The statement
+     * @return The statement
+     */
+    private PreparedStatement bindLimits(PreparedStatement statement) throws SQLException
+    {
+        if (isPaged() && parser.getQueryWithLimits() != null) {
+            statement.setInt(parser.getOffsetParameterPosition(), firstResult);
+            if (maxResults < Integer.MAX_VALUE) {
+                statement.setInt(parser.getLimitParameterPosition(), maxResults);
+            }//if
+            else {
+                statement.setNull(parser.getLimitParameterPosition(), Types.INTEGER);
+            }//else
+        }//if
+
+        return statement;
+    }//bindLimits
 
     private boolean isPessimisticLocking(LockModeType lockMode)
     {
@@ -405,8 +514,7 @@ public class JPALiteQueryImpl<T> implements Query
     {
         Span span = TRACER.spanBuilder("JPAQuery::executeQuery").setSpanKind(SpanKind.SERVER).startSpan();
         try (Scope ignored = span.makeCurrent();
-             Connection connection = persistenceContext.getConnection(getConnectionName());
-             PreparedStatement vStatement = bindParameters(connection.prepareStatement(sqlQuery))) {
+             Connection connection = persistenceContext.getConnection(getConnectionName())) {
 
             span.setAttribute(SQL_QUERY, sqlQuery);
 
@@ -414,33 +522,142 @@ public class JPALiteQueryImpl<T> implements Query
                 persistenceContext.flushOnType(resultClass);
             }//if
 
-            applyLockTimeout(vStatement);
-            vStatement.setQueryTimeout(queryTimeout);
-
+            //The logging state must be set before the parameters are bound, the parameters are only captured if needed
             boolean currentState = connection.unwrap(ConnectionWrapper.class).setEnableLogging(showSql);
-            try (ResultSet vResultSet = vStatement.executeQuery()) {
-                return function.apply(vResultSet);
+            try (PreparedStatement vStatement = bindLimits(bindParameters(connection.unwrap(ConnectionWrapper.class).prepareCachedStatement(sqlQuery, Statement.NO_GENERATED_KEYS)))) {
+                applyLockTimeout(vStatement);
+                vStatement.setQueryTimeout(queryTimeout);
+
+                try (ResultSet vResultSet = vStatement.executeQuery()) {
+                    return function.apply(vResultSet);
+                }//try
             }//try
             finally {
                 connection.unwrap(ConnectionWrapper.class).setEnableLogging(currentState);
             }//finally
 
         }//try
-        catch (SQLTimeoutException ex) {
-            throw new QueryTimeoutException("Query timeout after " + queryTimeout + " seconds");
+        catch (SQLException ex) {
+            throw translateException(ex);
         }//catch
+        finally {
+            span.end();
+        }//finally
+    }//executeQuery
+
+    private PersistenceException translateException(SQLException ex)
+    {
+        if (ex instanceof SQLTimeoutException || "57014".equals(ex.getSQLState())) { //Postgresql state for query that timed out
+            return new QueryTimeoutException("Query timeout after " + queryTimeout + " seconds");
+        }//if
+
+        return new PersistenceException("SQL Error executing the query: " + query, ex);
+    }//translateException
+
+    @SuppressWarnings("unchecked")
+    private T mapStreamRow(ResultSet resultSet)
+    {
+        if (returnType == FieldType.TYPE_ENTITY && !(resultClass.isArray() && !resultClass.isAssignableFrom(byte[].class))) {
+            JPAEntity entity = attachEntity(mapEntity(resultSet), !detachStreamedEntities);
+            if (isPessimisticLocking(lockMode)) {
+                entity._setLockMode(lockMode);
+            }//if
+            return (T) entity;
+        }//if
+
+        return (T) mapResultSet(resultSet);
+    }//mapStreamRow
+
+    private void releaseStream(Connection connection, PreparedStatement statement, boolean loggingState)
+    {
+        try {
+            if (statement != null) {
+                statement.close();
+            }//if
+        }//try
         catch (SQLException ex) {
-            if ("57014".equals(ex.getSQLState())) { //Postgresql state for query that timed out
-                throw new QueryTimeoutException("Query timeout after " + queryTimeout + " seconds");
+            LOG.warn("Error releasing the result stream resources", ex);
+        }//catch
+        finally {
+            try {
+                connection.unwrap(ConnectionWrapper.class).setEnableLogging(loggingState);
+                connection.close();
+            }//try
+            catch (SQLException ex) {
+                LOG.warn("Error closing the result stream connection", ex);
+            }//catch
+        }//finally
+    }//releaseStream
+
+    /**
+     * Execute a SELECT query and return the results as a stream. Unlike {@link #getResultList()} the result is not
+     * loaded into memory but the result set is kept open and rows are mapped as the stream is consumed.
+     * <p>
+     * Inside a transaction the JDBC driver reads the rows using a cursor, fetching the number of rows set with the
+     * {@link JPALiteEntityManager#PERSISTENCE_QUERY_FETCH_SIZE} hint at a time. Outside a transaction the connection is
+     * left in auto commit mode, it is shared with the rest of the persistence context, and the driver may read all the
+     * rows before the first one is returned.
+     * <p>
+     * The stream holds on to a database connection and <b>must</b> be closed, preferably using a try-with-resources
+     * block. The resources are also released when all the rows were read.
+     *
+     * @return a stream of the results
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "java:S2095"}) //The resources are closed when the stream is closed
+    public Stream<T> getResultStream()
+    {
+        Span span = TRACER.spanBuilder("JPAQuery::getResultStream").setSpanKind(SpanKind.SERVER).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            span.setAttribute("resultType", resultClass.getSimpleName());
+
+            if (lockMode != LockModeType.NONE && !persistenceContext.getTransaction().isActive()) {
+                throw new TransactionRequiredException("No transaction is in progress");
             }//if
-            else {
-                throw new PersistenceException("SQL Error executing the query: " + query, ex);
-            }//else
+
+            if (maxResults < 0) {
+                return Stream.empty();
+            }//if
+
+            String queryStr = applyLocking(getQueryWithLimits());
+            span.setAttribute(SQL_QUERY, queryStr);
+
+            Connection connection = persistenceContext.getConnection(getConnectionName());
+            boolean loggingState = connection.unwrap(ConnectionWrapper.class).setEnableLogging(showSql);
+            PreparedStatement statement = null;
+            try {
+                if (JPAEntity.class.isAssignableFrom(resultClass)) {
+                    persistenceContext.flushOnType(resultClass);
+                }//if
+
+                statement = bindLimits(bindParameters(connection.prepareStatement(queryStr, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)));
+                applyLockTimeout(statement);
+                statement.setQueryTimeout(queryTimeout);
+                statement.setFetchSize(fetchSize);
+
+                PreparedStatement streamStatement = statement;
+                ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(statement.executeQuery(),
+                                                                                 this::mapStreamRow,
+                                                                                 this::translateException,
+                                                                                 () -> releaseStream(connection, streamStatement, loggingState));
+                return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+            }//try
+            catch (SQLException | RuntimeException ex) {
+                releaseStream(connection, statement, loggingState);
+
+                if (ex instanceof SQLException sqlException) {
+                    throw translateException(sqlException);
+                }//if
+                throw (RuntimeException) ex;
+            }//catch
+        }//try
+        catch (SQLException ex) {
+            throw translateException(ex);
         }//catch
         finally {
             span.end();
         }//finally
-    }//executeQuery
+    }//getResultStream
 
     @Override
     @SuppressWarnings("unchecked")
@@ -458,8 +675,22 @@ public class JPALiteQueryImpl<T> implements Query
                 return Collections.emptyList();
             }//if
 
-            String queryStr = applyLocking(getQueryWithLimits(firstResult, maxResults));
-            return (List<T>) executeQuery(queryStr, r ->
+            String queryStr = applyLocking(getQueryWithLimits());
+
+            QueryKey queryKey = null;
+            Map<String, Instant> regionTimestamps = null;
+            if (isQueryCacheable()) {
+                queryKey = new QueryKey(queryStr, params.stream().map(QueryParameterImpl::getValue).toList(), firstResult, maxResults);
+                List<T> cachedResult = findCachedResult(queryKey);
+                if (cachedResult != null) {
+                    return cachedResult;
+                }//if
+
+                //Read the region timestamps before the query is executed, a change made while the query is running invalidates the result
+                regionTimestamps = persistenceContext.l2Cache().getRegionTimestamps(parser.getQueryEntities());
+            }//if
+
+            List<T> result = (List<T>) executeQuery(queryStr, r ->
             {
                 List<T> resultList = new ArrayList<>();
                 while (r.next()) {
@@ -485,12 +716,84 @@ public class JPALiteQueryImpl<T> implements Query
                 }//while
                 return resultList;
             });
+
+            if (regionTimestamps != null && cacheStoreMode != CacheStoreMode.BYPASS) {
+                List<Object> primaryKeys = new ArrayList<>(result.size());
+                result.forEach(entity -> primaryKeys.add(((JPAEntity) entity)._getPrimaryKey()));
+                persistenceContext.l2Cache().addQueryResult(queryKey, primaryKeys, regionTimestamps);
+            }//if
+
+            return result;
         }//try
         finally {
             span.end();
         }
     }//getResultList
 
+    /**
+     * Check if the result of the query can be served from the query result cache. The cache is only used for JPQL
+     * queries returning cacheable entities outside a transaction; inside a transaction the query must see the changes
+     * flushed by the transaction.
+     *
+     * @return True if the query result cache can be used
+     */
+    private boolean isQueryCacheable()
+    {
+        return cacheQuery &&
+               queryStatement == QueryStatement.SELECT &&
+               lockMode == LockModeType.NONE &&
+               JPAEntity.class.isAssignableFrom(resultClass) &&
+               !parser.getQueryEntities().isEmpty() &&
+               !persistenceContext.getTransaction().isActive();
+    }//isQueryCacheable
+
+    /**
+     * Look up the query in the query result cache and hydrate the entities from the L1 and L2 caches.
+     *
+     * @param queryKey The key of the query
+     * @return The result list or null if the result is not cached or one of the entities is no longer in the L2 cache
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> findCachedResult(QueryKey queryKey)
+    {
+        if (cacheRetrieveMode != CacheRetrieveMode.USE) {
+            return null;
+        }//if
+
+        List<Object> primaryKeys = persistenceContext.l2Cache().findQueryResult(queryKey);
+        if (primaryKeys == null) {
+            return null;
+        }//if
+
+        List<Object> missing = new ArrayList<>();
+        for (Object primaryKey : primaryKeys) {
+            if (persistenceContext.l1Cache().find(resultClass, primaryKey) == null) {
+                missing.add(primaryKey);
+            }//if
+        }//for
+
+        Map<Object, T> l2Entities = missing.isEmpty() ? Collections.emptyMap() : persistenceContext.l2Cache().findAll((Class<T>) resultClass, missing);
+        if (l2Entities.size() < missing.size()) {
+            LOG.debug("Query result cache hit for [{}] but {} entities are no longer cached", resultClass.getSimpleName(), missing.size() - l2Entities.size());
+            return null;
+        }//if
+
+        List<T> resultList = new ArrayList<>(primaryKeys.size());
+        for (Object primaryKey : primaryKeys) {
+            T entity = l2Entities.get(primaryKey);
+            if (entity == null) {
+                entity = (T) persistenceContext.l1Cache().find(resultClass, primaryKey);
+            }//if
+            else {
+                persistenceContext.manageCachedEntity((JPAEntity) entity, hints.get(PERSISTENCE_OVERRIDE_FETCHTYPE));
+            }//else
+            resultList.add(entity);
+        }//for
+
+        LOG.debug("Query result cache hit for [{}] - {} entities", resultClass.getSimpleName(), resultList.size());
+        return resultList;
+    }//findCachedResult
+
     @SuppressWarnings("unchecked")
     private T checkCache()
     {
@@ -533,12 +836,7 @@ public class JPALiteQueryImpl<T> implements Query
 
                 result = (T) persistenceContext.l2Cache().find(resultClass, primaryKey);
                 if (result instanceof JPAEntity entity) {
-                    persistenceContext.l1Cache().manage(entity);
-
-                    FetchType hintValue = (FetchType) hints.get(PERSISTENCE_OVERRIDE_FETCHTYPE);
-                    if (hintValue == null || hintValue.equals(FetchType.EAGER)) {
-                        entity._lazyFetchAll(hintValue != null);
-                    }//if
+                    persistenceContext.manageCachedEntity(entity, hints.get(PERSISTENCE_OVERRIDE_FETCHTYPE));
                 }//if
                 else {
                     if (LOG.isDebugEnabled()) {
@@ -560,7 +858,7 @@ public class JPALiteQueryImpl<T> implements Query
             span.setAttribute("resultType", resultClass.getSimpleName());
 
             //Must parse the query before check the cache
-            String queryStr = applyLocking(getQueryWithLimits(firstResult, maxResults));
+            String queryStr = applyLocking(getQueryWithLimits());
 
             if (returnType == FieldType.TYPE_ENTITY) {
                 T result = checkCache();
@@ -619,13 +917,13 @@ public class JPALiteQueryImpl<T> implements Query
                 throw new IllegalStateException("SELECT and INSERT is not allowed in executeUpdate");
             }//if
 
-            try (Connection connection = persistenceContext.getConnection(getConnectionName());
-                 PreparedStatement statement = bindParameters(connection.prepareStatement(getQuery()))) {
-                statement.setEscapeProcessing(false);
-
+            try (Connection connection = persistenceContext.getConnection(getConnectionName())) {
                 boolean currentState = connection.unwrap(ConnectionWrapper.class).setEnableLogging(showSql);
-                try {
-                    return statement.executeUpdate();
+                try (PreparedStatement statement = bindParameters(connection.prepareStatement(getQuery()))) {
+                    statement.setEscapeProcessing(false);
+                    int rows = statement.executeUpdate();
+                    markModified();
+                    return rows;
                 }//try
                 finally {
                     connection.unwrap(ConnectionWrapper.class).setEnableLogging(currentState);
@@ -640,6 +938,20 @@ public class JPALiteQueryImpl<T> implements Query
         }
     }//executeUpdate
 
+    /**
+     * The rows changed by a bulk update or delete are not updated in the L2 cache. Evict the entity types used by a JPQL
+     * query and, as the tables changed by a native query are not known, all the regions for a native query.
+     */
+    private void markModified()
+    {
+        if (queryLanguage == QueryLanguage.JPQL) {
+            parser.getQueryEntities().forEach(entityType -> persistenceContext.l2Cache().markModified(entityType, true));
+        }//if
+        else {
+            persistenceContext.l2Cache().markAllModified();
+        }//else
+    }//markModified
+
     @Override
     public Query setMaxResults(int maxResults)
     {
@@ -702,6 +1014,22 @@ public class JPALiteQueryImpl<T> implements Query
                     lockTimeout = Integer.parseInt(aString);
                 }
             }
+            case PERSISTENCE_QUERY_FETCH_SIZE -> {
+                if (value instanceof Number aNumber) {
+                    fetchSize = aNumber.intValue();
+                }
+                else if (value instanceof String aString) {
+                    fetchSize = Integer.parseInt(aString);
+                }
+            }
+            case PERSISTENCE_QUERY_STREAM_DETACH -> {
+                if (value instanceof Boolean detach) {
+                    detachStreamedEntities = detach;
+                }//if
+                else {
+                    detachStreamedEntities = Boolean.parseBoolean(value.toString());
+                }
+            }
             case PERSISTENCE_CACHE_RETRIEVEMODE -> {
                 if (value instanceof String aString) {
                     cacheRetrieveMode = CacheRetrieveMode.valueOf(aString);
@@ -736,6 +1064,16 @@ public class JPALiteQueryImpl<T> implements Query
                 }//else
             }
 
+            case PERSISTENCE_CACHE_QUERY -> {
+                EntityMetaData<T> vMetaData = EntityMetaDataManager.getMetaData(resultClass);
+                if (vMetaData.isCacheable()) {
+                    cacheQuery = Boolean.parseBoolean(value.toString());
+                }//if
+                else {
+                    cacheQuery = false;
+                }//else
+            }
+
             case PERSISTENCE_OVERRIDE_BASIC_FETCHTYPE, PERSISTENCE_OVERRIDE_FETCHTYPE -> {
                 if (value instanceof FetchType fetchType) {
                     hints.put(hintName, fetchType);
@@ -744,6 +1082,20 @@ public class JPALiteQueryImpl<T> implements Query
                     hints.put(hintName, FetchType.valueOf(value.toString()));
                 }
             }
+            case PERSISTENCE_FETCHGRAPH, PERSISTENCE_LOADGRAPH -> {
+                //Only one graph can be active on a query
+                hints.remove(PERSISTENCE_FETCHGRAPH.equals(hintName) ? PERSISTENCE_LOADGRAPH : PERSISTENCE_FETCHGRAPH);
+                if (value instanceof EntityGraphImpl<?> graph) {
+                    hints.put(hintName, graph);
+                }//if
+                else if (value instanceof String graphName) {
+                    hints.put(hintName, EntityMetaDataManager.getEntityGraph(graphName));
+                }//else if
+                else {
+                    hints.remove(hintName);
+                    throw new IllegalArgumentException("Value of " + hintName + " must be an EntityGraph created by the entity manager or the name of a named entity graph");
+                }//else
+            }
             default -> LOG.trace("Unknown Query Hint[{}] - Ignored", hintName);
         }//switch
 
@@ -768,7 +1120,8 @@ public class JPALiteQueryImpl<T> implements Query
         }//if
 
         try {
-            QueryParser parser = QueryParserFactory.getParser(queryLanguage, rawQuery, hints);
+            parser      = QueryParserFactory.getParser(queryLanguage, rawQuery, hints);
+            mappingPlan = null;
             parser.checkType(resultClass);
             queryResultTypes = parser.getReturnTypes().toArray(new Class<?>[0]);
             query            = parser.getQuery();
@@ -18,6 +18,7 @@
 package org.jpalite.impl.queries;
 
 import jakarta.persistence.Parameter;
+import org.jpalite.EntityField;
 
 public class QueryParameterImpl<T> implements Parameter<T>
 {
@@ -26,6 +27,15 @@ public class QueryParameterImpl<T> implements Parameter<T>
 	private final Class<T> parameterType;
 	private T value;
 	private boolean bounded = false;
+	/**
+	 * True if the parameter is bound as a single SQL array, eg for an IN list that was rewritten to = ANY(?)
+	 */
+	private boolean array = false;
+	/**
+	 * The entity field an array parameter is compared with, used to convert and type the array elements. Null if the
+	 * field is not known.
+	 */
+	private EntityField arrayField;
 
 	public QueryParameterImpl(Integer position, Class<T> parameterType)
 	{
@@ -78,6 +88,26 @@ public class QueryParameterImpl<T> implements Parameter<T>
 		this.position = position;
 	}
 
+	public boolean isArray()
+	{
+		return array;
+	}
+
+	public void setArray(boolean array)
+	{
+		this.array = array;
+	}
+
+	public EntityField getArrayField()
+	{
+		return arrayField;
+	}
+
+	public void setArrayField(EntityField arrayField)
+	{
+		this.arrayField = arrayField;
+	}
+
 	@Override
 	public Class<T> getParameterType()
 	{
@@ -87,6 +117,8 @@ public class QueryParameterImpl<T> implements Parameter<T>
 	public QueryParameterImpl<T> copyAndSet(Object value)
 	{
 		QueryParameterImpl<T> copy = new QueryParameterImpl<>(name, position, parameterType);
+		copy.array = array;
+		copy.arrayField = arrayField;
 		copy.setValue(copy.parameterType.cast(value));
 		return copy;
 	}//copyAndSet
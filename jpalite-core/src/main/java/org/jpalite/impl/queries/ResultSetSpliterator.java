@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.queries;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator reading the rows from an open result set. The rows are mapped as they are consumed and all the resources
+ * are released once the result set is exhausted, the stream is closed or reading a row failed.
+ *
+ * @param <T> The type of the mapped rows
+ */
+@Slf4j
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+{
+    /**
+     * Maps the current row of the result set
+     *
+     * @param <T> The type of the mapped row
+     */
+    @FunctionalInterface
+    interface RowMapper<T>
+    {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    private final ResultSet resultSet;
+    private final RowMapper<T> rowMapper;
+    private final Function<SQLException, RuntimeException> exceptionTranslator;
+    private final Runnable releaseResources;
+    private boolean closed;
+
+    /**
+     * Create the spliterator
+     *
+     * @param resultSet           The open result set
+     * @param rowMapper           The mapper called for every row
+     * @param exceptionTranslator Translates a SQLException thrown while reading a row
+     * @param releaseResources    Releases the statement and connection after the result set was closed
+     */
+    ResultSetSpliterator(ResultSet resultSet, RowMapper<T> rowMapper, Function<SQLException, RuntimeException> exceptionTranslator, Runnable releaseResources)
+    {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.resultSet           = resultSet;
+        this.rowMapper           = rowMapper;
+        this.exceptionTranslator = exceptionTranslator;
+        this.releaseResources    = releaseResources;
+        closed                   = false;
+    }//ResultSetSpliterator
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (closed) {
+            return false;
+        }//if
+
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }//if
+
+            action.accept(rowMapper.map(resultSet));
+            return true;
+        }//try
+        catch (SQLException ex) {
+            close();
+            throw exceptionTranslator.apply(ex);
+        }//catch
+        catch (RuntimeException ex) {
+            close();
+            throw ex;
+        }//catch
+    }//tryAdvance
+
+    /**
+     * Close the result set and release the resources. Calling the method more than once has no effect.
+     */
+    void close()
+    {
+        if (!closed) {
+            closed = true;
+            try {
+                resultSet.close();
+            }//try
+            catch (SQLException ex) {
+                LOG.warn("Error closing the result stream", ex);
+            }//catch
+            finally {
+                releaseResources.run();
+            }//finally
+        }//if
+    }//close
+}//ResultSetSpliterator
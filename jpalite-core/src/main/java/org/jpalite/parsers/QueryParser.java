@@ -22,6 +22,7 @@ import org.jpalite.impl.queries.QueryParameterImpl;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The QueryParser interface is to be implemented by all classes that implements Query Parsers used by
@@ -45,6 +46,42 @@ public interface QueryParser
 	 */
 	String getQuery();
 
+	/**
+	 * Return the parsed query with an OFFSET and LIMIT clause added to the query. The offset and limit values are
+	 * positional parameters that must be bound at {@link #getOffsetParameterPosition()} and
+	 * {@link #getLimitParameterPosition()}, allowing the same statement to be used for every page.
+	 * <p>
+	 * If the parser is not able to add the clauses to the query null is returned and the query must be wrapped by the
+	 * caller.
+	 * </p>
+	 *
+	 * @return The query with the limits or null if not supported
+	 */
+	default String getQueryWithLimits()
+	{
+		return null;
+	}
+
+	/**
+	 * The position of the OFFSET parameter in the query returned by {@link #getQueryWithLimits()}
+	 *
+	 * @return The parameter position
+	 */
+	default int getOffsetParameterPosition()
+	{
+		return 0;
+	}
+
+	/**
+	 * The position of the LIMIT parameter in the query returned by {@link #getQueryWithLimits()}
+	 *
+	 * @return The parameter position
+	 */
+	default int getLimitParameterPosition()
+	{
+		return 0;
+	}
+
 	/**
 	 * Provides a check to determine the type of query parameters was used in the raw query
 	 *
@@ -81,6 +118,20 @@ public interface QueryParser
 		return Collections.emptyList();
 	}
 
+	/**
+	 * The entity types used by the query. The query result cache uses the list to validate a cached result against the
+	 * last modified time of every entity type used.
+	 * <p>
+	 * If the parser do not support this an empty set is returned and the query results are not cached
+	 * </p>
+	 *
+	 * @return The entity types
+	 */
+	default Set<Class<?>> getQueryEntities()
+	{
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check to see if only PK was used in the where clause.
 	 *
@@ -17,11 +17,24 @@
 
 package org.jpalite.queries;
 
+import org.jpalite.EntityField;
+
 public interface EntityQuery
 {
 	String getQuery();
 
 	Object[] getParameters();
 
+	/**
+	 * The entity field owning each of the parameters returned by {@link #getParameters()}. The parameters are bound using
+	 * the converter of the field, an element is null if the parameter is not the value of an entity field.
+	 *
+	 * @return The fields, in the same order as the parameters. Empty if not known.
+	 */
+	default EntityField[] getParameterFields()
+	{
+		return new EntityField[0];
+	}
+
 	QueryLanguage getLanguage();
 }
@@ -62,4 +62,36 @@ class JPAEntityImplTest
         assertEquals(e.getDepartment().getId(), e2.getDepartment().getId());
         assertEquals(e.getSalary(), e2.getSalary());
     }
+
+    @Test
+    void testSerialize()
+    {
+        Company c = new Company();
+        c.setId(3);
+        c.setName("Test Company");
+
+        Department d = new Department();
+        d.setId(2);
+        d.setName("Test Dept");
+        d.setCompany(c);
+
+        Employee e = new Employee();
+        e.setAge(10);
+        e.setId(1);
+        e.setSalary(BigDecimal.valueOf(4000.00).setScale(4, RoundingMode.HALF_DOWN));
+        e.setFullName(new FullName("Test", "Employee"));
+        e.setDepartment(d);
+
+        byte[] bytes = e._serialize();
+
+        Employee e2 = new Employee();
+        e2._deserialize(bytes);
+
+        assertEquals(e.getId(), e2.getId());
+        assertEquals(e.getAge(), e2.getAge());
+        assertEquals(e.getFullName().getName(), e2.getFullName().getName());
+        assertEquals(e.getFullName().getSurname(), e2.getFullName().getSurname());
+        assertEquals(e.getDepartment().getId(), e2.getDepartment().getId());
+        assertEquals(e.getSalary(), e2.getSalary());
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import org.jpalite.CachingException;
+import org.jpalite.EntityMetaData;
+import org.jpalite.EntityMetaDataManager;
+import org.jpalite.impl.fieldtypes.BigDecimalFieldType;
+import org.jpalite.test.Department;
+import org.jpalite.test.Employee;
+import org.jpalite.test.TestEntityMetaDataManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCacheCodecTest
+{
+    @BeforeAll
+    static void beforeAll()
+    {
+        TestEntityMetaDataManager.init();
+    }
+
+    private static Employee newEmployee()
+    {
+        Department d = new Department();
+        d.setId(2);
+
+        Employee e = new Employee();
+        e.setId(1);
+        e.setAge(10);
+        e.setSalary(new BigDecimal("4000.0000"));
+        e.setDepartment(d);
+        return e;
+    }
+
+    @Test
+    void whenEntityIsEncoded_thenTheHeaderHoldsTheVersionAndSchemaHash()
+    {
+        EntityMetaData<?> metaData = EntityMetaDataManager.getMetaData(Employee.class);
+        byte[] bytes = newEmployee()._serialize();
+
+        int schemaHash = BinaryCacheCodec.getSchemaHash(metaData);
+        assertEquals(2, bytes[0], "Format version");
+        assertArrayEquals(new byte[]{(byte) (schemaHash >>> 24), (byte) (schemaHash >>> 16), (byte) (schemaHash >>> 8), (byte) schemaHash},
+                          new byte[]{bytes[1], bytes[2], bytes[3], bytes[4]});
+    }
+
+    @Test
+    void whenSchemaHashDoesNotMatch_thenTheEntryIsRejected()
+    {
+        byte[] bytes = newEmployee()._serialize();
+        bytes[4] ^= 0x01;
+
+        Employee e = new Employee();
+        assertThrows(CachingException.class, () -> e._deserialize(bytes));
+    }
+
+    @Test
+    void whenFormatVersionDoesNotMatch_thenTheEntryIsRejected()
+    {
+        byte[] bytes = newEmployee()._serialize();
+        bytes[0] = 1;
+
+        Employee e = new Employee();
+        assertThrows(CachingException.class, () -> e._deserialize(bytes));
+    }
+
+    @Test
+    void whenEntityReferencesAnotherEntity_thenTheReferencedIdIsRead()
+    {
+        Employee e = new Employee();
+        e._deserialize(newEmployee()._serialize());
+        assertEquals(2, e.getDepartment().getId());
+    }
+
+    @Test
+    void whenVarIntIsWritten_thenSevenBitsAreUsedPerByte() throws IOException
+    {
+        int[] values = {0, 1, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, -1};
+        int[] lengths = {1, 1, 1, 2, 2, 2, 3, 5, 5};
+
+        for (int i = 0; i < values.length; i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryCacheCodec.writeVarInt(new DataOutputStream(bytes), values[i]);
+
+            assertEquals(lengths[i], bytes.size(), "Length of " + values[i]);
+            assertEquals(values[i], BinaryCacheCodec.readVarInt(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        }//for
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCacheCodec.writeVarInt(new DataOutputStream(bytes), 300);
+        assertArrayEquals(new byte[]{(byte) 0xAC, 0x02}, bytes.toByteArray());
+    }
+
+    @Test
+    void whenVarIntIsMalformed_thenAnExceptionIsThrown()
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[]{-1, -1, -1, -1, -1, -1}));
+        assertThrows(IOException.class, () -> BinaryCacheCodec.readVarInt(in));
+    }
+
+    @Test
+    void whenBigDecimalIsWritten_thenTheValueAndScaleAreKept() throws IOException
+    {
+        BigDecimalFieldType fieldType = new BigDecimalFieldType();
+        BigDecimal[] values = {new BigDecimal("4000.0000"),
+                               new BigDecimal("-12.5"),
+                               BigDecimal.valueOf(Long.MAX_VALUE, 2),
+                               new BigDecimal("123456789012345678901234567890.1234"),
+                               new BigDecimal("-123456789012345678901234567890.1234")};
+
+        for (BigDecimal value : values) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            fieldType.writeField(value, new DataOutputStream(bytes));
+
+            BigDecimal result = fieldType.readField(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(value, result);
+            assertEquals(value.scale(), result.scale());
+        }//for
+    }
+
+    @Test
+    void whenBigDecimalFitsInALong_thenTheUnscaledValueIsWrittenAsALong() throws IOException
+    {
+        BigDecimalFieldType fieldType = new BigDecimalFieldType();
+
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        fieldType.writeField(new BigDecimal("4000.0000"), new DataOutputStream(small));
+        //scale, form and unscaled long
+        assertEquals(4 + 1 + 8, small.size());
+        assertEquals(0, small.toByteArray()[4]);
+
+        ByteArrayOutputStream large = new ByteArrayOutputStream();
+        BigDecimal value = new BigDecimal("123456789012345678901234567890.1234");
+        fieldType.writeField(value, new DataOutputStream(large));
+        //scale, form, length and unscaled bytes
+        assertEquals(4 + 1 + 4 + value.unscaledValue().toByteArray().length, large.size());
+        assertEquals(1, large.toByteArray()[4]);
+    }
+}
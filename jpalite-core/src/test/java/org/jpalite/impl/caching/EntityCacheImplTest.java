@@ -0,0 +1,267 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.caching;
+
+import jakarta.transaction.SystemException;
+import org.jpalite.EntityMetaDataManager;
+import org.jpalite.JPACache;
+import org.jpalite.impl.CacheFormat;
+import org.jpalite.impl.CustomPersistenceUnit;
+import org.jpalite.test.Employee;
+import org.jpalite.test.RatePlan;
+import org.jpalite.test.TestEntityMetaDataManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheImplTest
+{
+    private static final List<Class<?>> QUERY_ENTITIES = List.of(RatePlan.class);
+    private static final String QUERY_KEY = "SELECT r FROM RatePlan r";
+
+    private CustomPersistenceUnit persistenceUnit;
+    private EntityCacheImpl entityCache;
+
+    /**
+     * An in-memory cache provider. Every update moves the region timestamp forward by one millisecond so that the
+     * timestamps always change, independent of the clock resolution.
+     */
+    public static class MemoryCache implements JPACache
+    {
+        private static final AtomicLong CLOCK = new AtomicLong();
+        private static final Map<String, AtomicInteger> TOUCHES = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, Object>> regions = new ConcurrentHashMap<>();
+        private final Map<String, Instant> timestamps = new ConcurrentHashMap<>();
+
+        public MemoryCache(String cacheClient, String configuration, String regionPrefix)
+        {
+        }
+
+        private Map<String, Object> region(String cacheRegion)
+        {
+            return regions.computeIfAbsent(cacheRegion, r -> new ConcurrentHashMap<>());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T find(String cacheRegion, String key)
+        {
+            return (T) region(cacheRegion).get(key);
+        }
+
+        @Override
+        public boolean containsKey(String cacheRegion, String key)
+        {
+            return region(cacheRegion).containsKey(key);
+        }
+
+        @Override
+        public <T> void add(String cacheRegion, String key, T value, long expireTime, TimeUnit expireTimeUnit)
+        {
+            region(cacheRegion).put(key, value);
+            touch(cacheRegion);
+        }
+
+        @Override
+        public <T> void replace(String cacheRegion, String key, T value, long expireTime, TimeUnit expireTimeUnit)
+        {
+            add(cacheRegion, key, value, expireTime, expireTimeUnit);
+        }
+
+        @Override
+        public void evict(String cacheRegion, String key)
+        {
+            region(cacheRegion).remove(key);
+            touch(cacheRegion);
+        }
+
+        @Override
+        public <T> void putAll(String cacheRegion, Map<String, T> entries, long expireTime, TimeUnit expireTimeUnit)
+        {
+            region(cacheRegion).putAll(entries);
+        }
+
+        @Override
+        public void removeAll(String cacheRegion, Collection<String> keys)
+        {
+            region(cacheRegion).keySet().removeAll(keys);
+        }
+
+        @Override
+        public void evictAll(String cacheRegion)
+        {
+            region(cacheRegion).clear();
+            touch(cacheRegion);
+        }
+
+        @Override
+        public void evictAllRegions()
+        {
+            regions.clear();
+            timestamps.clear();
+        }
+
+        @Override
+        public Instant getLastModified(String cacheRegion)
+        {
+            return timestamps.computeIfAbsent(cacheRegion, r -> Instant.ofEpochMilli(CLOCK.incrementAndGet()));
+        }
+
+        @Override
+        public void touch(String cacheRegion)
+        {
+            TOUCHES.computeIfAbsent(cacheRegion, r -> new AtomicInteger()).incrementAndGet();
+            timestamps.put(cacheRegion, Instant.ofEpochMilli(CLOCK.incrementAndGet()));
+        }
+    }
+
+    @BeforeAll
+    static void beforeAll()
+    {
+        TestEntityMetaDataManager.init();
+    }
+
+    @BeforeEach
+    void setUp()
+    {
+        persistenceUnit = new CustomPersistenceUnit("cache-test");
+        persistenceUnit.setCacheProvider(MemoryCache.class.getName());
+        persistenceUnit.setCacheFormat(CacheFormat.JSON);
+        entityCache = new EntityCacheImpl(persistenceUnit);
+        MemoryCache.TOUCHES.clear();
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        EntityCacheImpl.release(persistenceUnit);
+    }
+
+    private void addQueryResult()
+    {
+        entityCache.addQueryResult(QUERY_KEY, List.of(1L, 2L), entityCache.getRegionTimestamps(QUERY_ENTITIES));
+    }
+
+    @Test
+    void whenRegionIsUnchanged_thenResultIsReturned()
+    {
+        addQueryResult();
+        assertEquals(List.of(1L, 2L), entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenRegionChangesWhileQueryIsRunning_thenResultIsStale()
+    {
+        Map<String, Instant> regionTimestamps = entityCache.getRegionTimestamps(QUERY_ENTITIES);
+        entityCache.markModified(RatePlan.class, false);
+        entityCache.addQueryResult(QUERY_KEY, List.of(1L, 2L), regionTimestamps);
+
+        assertNull(entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenInsertIsCommitted_thenResultIsStale() throws SystemException
+    {
+        addQueryResult();
+        entityCache.begin();
+        entityCache.markModified(RatePlan.class, false);
+        assertNotNull(entityCache.findQueryResult(QUERY_KEY), "The region must only be marked on commit");
+
+        entityCache.commit();
+        assertNull(entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenTransactionIsRolledBack_thenResultIsKept() throws SystemException
+    {
+        addQueryResult();
+        entityCache.begin();
+        entityCache.markModified(RatePlan.class, false);
+        entityCache.rollback();
+
+        assertNotNull(entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenTransactionWritesARegionSeveralTimes_thenTheRegionIsTouchedOnce() throws SystemException
+    {
+        String region = EntityMetaDataManager.getMetaData(RatePlan.class).getName();
+        for (int commit = 1; commit <= 2; commit++) {
+            entityCache.begin();
+            for (long id = 1; id <= 3; id++) {
+                RatePlan ratePlan = new RatePlan();
+                ratePlan.setId(id);
+                entityCache.replace(ratePlan);
+            }//for
+            if (commit == 2) {
+                entityCache.markModified(RatePlan.class, false);
+            }//if
+            entityCache.commit();
+
+            assertEquals(commit, MemoryCache.TOUCHES.get(region).get());
+        }//for
+    }
+
+    @Test
+    void whenBulkUpdateIsExecuted_thenResultIsStale()
+    {
+        addQueryResult();
+        entityCache.markModified(RatePlan.class, true);
+
+        assertNull(entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenNativeUpdateIsCommitted_thenResultIsStale() throws SystemException
+    {
+        addQueryResult();
+        entityCache.begin();
+        entityCache.markAllModified();
+        entityCache.commit();
+
+        assertNull(entityCache.findQueryResult(QUERY_KEY));
+    }
+
+    @Test
+    void whenEntityIsNotCacheable_thenResultIsNotCached()
+    {
+        assertNull(entityCache.getRegionTimestamps(List.of(RatePlan.class, Employee.class)));
+    }
+
+    @Test
+    void whenResultIsOlderThanMaxAge_thenResultIsDropped() throws InterruptedException
+    {
+        QueryResultCache queryCache = new QueryResultCache(10, 1);
+        queryCache.add(QUERY_KEY, List.of(1L), Map.of());
+        Thread.sleep(5);
+
+        assertNull(queryCache.find(QUERY_KEY));
+    }
+}
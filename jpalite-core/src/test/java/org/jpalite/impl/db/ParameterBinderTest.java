@@ -0,0 +1,144 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.db;
+
+import org.jpalite.EntityField;
+import org.jpalite.EntityMetaDataManager;
+import org.jpalite.test.Employee;
+import org.jpalite.test.PlanStatus;
+import org.jpalite.test.RatePlan;
+import org.jpalite.test.TestEntityMetaDataManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParameterBinderTest
+{
+    private final List<String> calls = new ArrayList<>();
+
+    @BeforeAll
+    static void beforeAll()
+    {
+        TestEntityMetaDataManager.init();
+    }
+
+    /**
+     * Create a statement that records the parameters bound and the arrays created
+     */
+    private PreparedStatement newStatement()
+    {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (method.getName().equals("createArrayOf")) {
+                calls.add("createArrayOf " + args[0] + " " + Arrays.toString((Object[]) args[1]));
+            }//if
+            return null;
+        });
+
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }//if
+            calls.add(method.getName() + " " + Arrays.toString(args));
+            return null;
+        });
+    }
+
+    private static EntityField getField(String fieldName)
+    {
+        return EntityMetaDataManager.getMetaData(RatePlan.class).getEntityField(fieldName);
+    }
+
+    @Test
+    void whenBooleanFieldIsBound_thenItIsBoundUntypedAsOneOrZero() throws SQLException
+    {
+        //The column may be an integer column on a legacy table
+        ParameterBinder.bindField(newStatement(), 1, true, getField("active"));
+        ParameterBinder.bindField(newStatement(), 2, false, getField("active"));
+
+        assertEquals(List.of("setObject [1, 1, " + Types.OTHER + "]", "setObject [2, 0, " + Types.OTHER + "]"), calls);
+    }
+
+    @Test
+    void whenBooleanColumnIsDeclared_thenTheBooleanIsTyped() throws SQLException
+    {
+        ParameterBinder.bindField(newStatement(), 1, true, getField("published"));
+
+        assertEquals(List.of("setBoolean [1, true]"), calls);
+    }
+
+    @Test
+    void whenFieldIsAReference_thenTheConverterOfTheReferencedIdIsUsed() throws SQLException
+    {
+        EntityField department = EntityMetaDataManager.getMetaData(Employee.class).getEntityField("department");
+        ParameterBinder.bindField(newStatement(), 3, 7, department);
+
+        assertEquals(List.of("setInt [3, 7]"), calls);
+    }
+
+    @Test
+    void whenFieldIsNotKnown_thenTheValueIsBoundUntyped() throws SQLException
+    {
+        ParameterBinder.bindField(newStatement(), 1, true, null);
+        ParameterBinder.bindField(newStatement(), 2, 5L, null);
+
+        assertEquals(List.of("setObject [1, 1, " + Types.OTHER + "]", "setObject [2, 5, " + Types.OTHER + "]"), calls);
+    }
+
+    @Test
+    void whenBooleanArrayIsBound_thenTheElementsAreBoundUntypedAsOneOrZero() throws SQLException
+    {
+        ParameterBinder.bindArray(newStatement(), 1, List.of(true, false), getField("active"));
+
+        assertEquals(List.of("setObject [1, {\"1\",\"0\"}, " + Types.OTHER + "]"), calls);
+    }
+
+    @Test
+    void whenArrayIsComparedWithEnumField_thenNamesAreBoundUntyped() throws SQLException
+    {
+        ParameterBinder.bindArray(newStatement(), 1, List.of(PlanStatus.DRAFT, PlanStatus.APPROVED), getField("status"));
+
+        //The database infers the type from the column, which may be a varchar or an enum type
+        assertEquals(List.of("setObject [1, {\"DRAFT\",\"APPROVED\"}, " + Types.OTHER + "]"), calls);
+    }
+
+    @Test
+    void whenArrayIsComparedWithIdField_thenArrayIsTyped() throws SQLException
+    {
+        ParameterBinder.bindArray(newStatement(), 2, List.of(1L, 2L), getField("id"));
+
+        assertEquals(List.of("createArrayOf bigint [1, 2]", "setArray [2, null]"), calls);
+    }
+
+    @Test
+    void whenFieldIsNotKnown_thenStringsAreBoundUntyped() throws SQLException
+    {
+        ParameterBinder.bindArray(newStatement(), 1, new String[]{"a", "b"}, null);
+
+        assertEquals(List.of("setObject [1, {\"a\",\"b\"}, " + Types.OTHER + "]"), calls);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.db;
+
+import org.jpalite.PersistenceAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.jpalite.PersistenceAction.DELETE;
+import static org.jpalite.PersistenceAction.INSERT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersistenceContextImplTest
+{
+    /**
+     * A pending flush, identified by name, with the action and entity type used to batch it
+     */
+    private record Pending(String name, PersistenceAction action, String entityType)
+    {
+        List<Object> group()
+        {
+            return List.of(action, entityType);
+        }
+    }
+
+    /**
+     * Return the names of the entities in every run flushed as one batch
+     */
+    private static List<List<String>> runs(Pending... pending)
+    {
+        List<Pending> entities = List.of(pending);
+        List<List<String>> runs = new ArrayList<>();
+        PersistenceContextImpl.forEachRun(entities, entities.stream().map(Pending::group).toList(),
+                                          (group, run) -> runs.add(run.stream().map(Pending::name).toList()));
+        return runs;
+    }
+
+    @Test
+    void whenConsecutiveEntitiesShareTheGroup_thenTheyAreBatched()
+    {
+        assertEquals(List.of(List.of("X1", "X2"), List.of("Y1")),
+                     runs(new Pending("X1", INSERT, "A"), new Pending("X2", INSERT, "A"), new Pending("Y1", INSERT, "B")));
+    }
+
+    @Test
+    void whenInsertReferencesAnEarlierInsertOfAnotherType_thenTheOrderIsKept()
+    {
+        //X2 references Y1, Y1 must be inserted first
+        assertEquals(List.of(List.of("X1"), List.of("Y1"), List.of("X2")),
+                     runs(new Pending("X1", INSERT, "A"), new Pending("Y1", INSERT, "B"), new Pending("X2", INSERT, "A")));
+    }
+
+    @Test
+    void whenDeleteIsReferencedByAnEarlierDelete_thenTheOrderIsKept()
+    {
+        //C1 references P1, C1 must be deleted before P1
+        assertEquals(List.of(List.of("P2"), List.of("C1"), List.of("P1")),
+                     runs(new Pending("P2", DELETE, "A"), new Pending("C1", DELETE, "B"), new Pending("P1", DELETE, "A")));
+    }
+
+    @Test
+    void whenInsertReusesTheUniqueKeyOfADelete_thenTheDeleteIsExecutedFirst()
+    {
+        //a2 reuses the unique key of a0
+        assertEquals(List.of(List.of("a1"), List.of("a0"), List.of("a2")),
+                     runs(new Pending("a1", INSERT, "A"), new Pending("a0", DELETE, "A"), new Pending("a2", INSERT, "A")));
+    }
+
+    @Test
+    void whenThereIsNothingToFlush_thenNoRunIsReturned()
+    {
+        assertEquals(List.of(), runs());
+    }
+}
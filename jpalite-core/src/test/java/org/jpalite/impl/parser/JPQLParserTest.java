@@ -22,7 +22,11 @@ import net.sf.jsqlparser.JSQLParserException;
 import org.jpalite.EntityMetaData;
 import org.jpalite.EntityMetaDataManager;
 import org.jpalite.JPALiteEntityManager;
+import org.jpalite.impl.EntityGraphImpl;
 import org.jpalite.impl.parsers.JPQLParser;
+import org.jpalite.impl.parsers.QueryParserFactory;
+import org.jpalite.parsers.QueryParser;
+import org.jpalite.queries.QueryLanguage;
 import org.jpalite.test.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -30,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,7 +51,7 @@ class JPQLParserTest
     {
         JPQLParser vParser = new JPQLParser("select RatePlan from RatePlan where (uid, resourceVersion) in (select e.uid, max(e.resourceVersion) from RatePlan e group by e.uid)", new HashMap<>());
         Assertions.assertEquals("SELECT t1.ID \"c1-1\", t1.UID \"c1-2\", t1.RESOURCE_VERSION \"c1-3\", t1.OPERATOR_ID \"c1-4\", t1.PLAN_NAME \"c1-5\", t1.CREATED_BY \"c1-6\", t1.APPROVED_BY \"c1-7\", t1.EFFECTIVE_DATE \"c1-8\", " +
-                                "t1.RATE_PLAN_CONFIG \"c1-9\", t1.MODIFIED_ON \"c1-10\", t1.CREATED_DATE \"c1-11\" " +
+                                "t1.RATE_PLAN_CONFIG \"c1-9\", t1.MODIFIED_ON \"c1-10\", t1.CREATED_DATE \"c1-11\", t1.STATUS \"c1-12\", t1.ACTIVE \"c1-13\", t1.PUBLISHED \"c1-14\" " +
                                 "FROM RATE_PLAN t1 " +
                                 "WHERE (t1.UID, t1.RESOURCE_VERSION) IN (SELECT t2.UID \"c1\", max(t2.RESOURCE_VERSION) \"c2\" " +
                                 "FROM RATE_PLAN t2 GROUP BY t2.UID)",
@@ -300,6 +305,47 @@ class JPQLParserTest
 
     }
 
+    @Test
+    void whenWhereINParameterIsUsed()
+    {
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee e where e.age in (:ages) and e.id not in (:ids)", new HashMap<>());
+
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", t1.NAME \"c1-2-1\", t1.SURNAME \"c1-2-2\", t1.AGE \"c1-3\", " +
+                                "t2.IRN \"c1-5-1\", t2.NAME \"c1-5-2\", " +
+                                "t3.IRN \"c1-5-3-1\", t3.NAME \"c1-5-3-2\" " +
+                                "FROM EMPLOYEE t1 " +
+                                "INNER JOIN DEPT t2 ON t1.DEPT = t2.IRN " +
+                                "INNER JOIN COMPANY t3 ON t2.COMP = t3.IRN " +
+                                "WHERE t1.AGE = ANY(?) AND t1.IRN <> ALL(?)",
+                                vParser.getQuery());
+        Assertions.assertEquals(2, vParser.getQueryParameters().size());
+        Assertions.assertTrue(vParser.getQueryParameters().get(0).isArray());
+        Assertions.assertTrue(vParser.getQueryParameters().get(1).isArray());
+        Assertions.assertFalse(vParser.isSelectUsingPrimaryKey());
+    }
+
+    @Test
+    void whenBulkUpdateIsUsed_thenQueryEntitiesAreReported()
+    {
+        //The query entities are used to invalidate the L2 cache regions after the update
+        JPQLParser vParser = new JPQLParser("UPDATE RatePlan r SET r.name = :name WHERE r.operatorId = :operatorId", new HashMap<>());
+        Assertions.assertEquals(Set.of(RatePlan.class), vParser.getQueryEntities());
+    }
+
+    @Test
+    void whenWhereINParameterIsUsedOnEnumField_thenArrayFieldIsResolved()
+    {
+        JPQLParser vParser = new JPQLParser("SELECT r FROM RatePlan r where r.status in (:statuses) and r.id not in (:ids)", new HashMap<>());
+
+        Assertions.assertTrue(vParser.getQuery().endsWith("WHERE t1.STATUS = ANY(?) AND t1.ID <> ALL(?)"), vParser.getQuery());
+        Assertions.assertEquals(2, vParser.getQueryParameters().size());
+        Assertions.assertTrue(vParser.getQueryParameters().get(0).isArray());
+        //The elements are converted using the enum converter of the field, not bound as varchar
+        Assertions.assertEquals("status", vParser.getQueryParameters().get(0).getArrayField().getName());
+        Assertions.assertEquals(PlanStatus.class, vParser.getQueryParameters().get(0).getArrayField().getType());
+        Assertions.assertEquals("id", vParser.getQueryParameters().get(1).getArrayField().getName());
+    }
+
     @Test
     void whenIsNullIsUsed() throws JSQLParserException
     {
@@ -589,6 +635,149 @@ class JPQLParserTest
                                 vParser.getQuery());
     }
 
+    @Test
+    void whenUsingLoadGraph_thenFieldsNotInGraphUseTheirFetchType()
+    {
+        EntityGraphImpl<Employee1> graph = new EntityGraphImpl<>(null, Employee1.class);
+        graph.addAttributeNodes("department");
+
+        Map<String, Object> vHints = new HashMap<>();
+        vHints.put(JPALiteEntityManager.PERSISTENCE_LOADGRAPH, graph);
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e", vHints);
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", t1.NAME \"c1-2\", t1.AGE \"c1-3\", " +
+                                "t2.IRN \"c1-5-1\", t2.NAME \"c1-5-2\", t2.COMP \"c1-5-3\" " +
+                                "FROM EMPLOYEE t1 " +
+                                "LEFT JOIN DEPT t2 ON t1.DEPT = t2.IRN",
+                                vParser.getQuery());
+    }
+
+    @Test
+    void whenUsingFetchGraph_thenFieldsNotInGraphAreLazy()
+    {
+        EntityGraphImpl<Employee1> graph = new EntityGraphImpl<>(null, Employee1.class);
+        graph.addAttributeNodes("department");
+
+        Map<String, Object> vHints = new HashMap<>();
+        vHints.put(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph);
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e", vHints);
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", " +
+                                "t2.IRN \"c1-5-1\", t2.NAME \"c1-5-2\", t2.COMP \"c1-5-3\" " +
+                                "FROM EMPLOYEE t1 " +
+                                "LEFT JOIN DEPT t2 ON t1.DEPT = t2.IRN",
+                                vParser.getQuery());
+    }
+
+    @Test
+    void whenUsingFetchGraphWithSubgraph_thenJoinsTheSubgraph()
+    {
+        EntityGraphImpl<Employee1> graph = new EntityGraphImpl<>(null, Employee1.class);
+        graph.addSubgraph("department").addAttributeNodes("company");
+
+        Map<String, Object> vHints = new HashMap<>();
+        vHints.put(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph);
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e", vHints);
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", " +
+                                "t2.IRN \"c1-5-1\", " +
+                                "t3.IRN \"c1-5-3-1\", t3.NAME \"c1-5-3-2\" " +
+                                "FROM EMPLOYEE t1 " +
+                                "LEFT JOIN DEPT t2 ON t1.DEPT = t2.IRN " +
+                                "LEFT JOIN COMPANY t3 ON t2.COMP = t3.IRN",
+                                vParser.getQuery());
+    }
+
+    @Test
+    void whenUsingFetchGraph_thenVersionFieldIsAlwaysFetched()
+    {
+        EntityGraphImpl<RatePlan> graph = new EntityGraphImpl<>(null, RatePlan.class);
+        graph.addAttributeNodes("name");
+
+        Map<String, Object> vHints = new HashMap<>();
+        vHints.put(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph);
+        JPQLParser vParser = new JPQLParser("SELECT r FROM RatePlan r", vHints);
+        Assertions.assertEquals("SELECT t1.ID \"c1-1\", t1.PLAN_NAME \"c1-5\", t1.MODIFIED_ON \"c1-10\" " +
+                                "FROM RATE_PLAN t1",
+                                vParser.getQuery());
+    }
+
+    @Test
+    void whenGraphsHaveTheSameFetchPlan_thenTheParsedQueryIsShared()
+    {
+        EntityGraphImpl<Employee1> graph1 = new EntityGraphImpl<>("graph1", Employee1.class);
+        graph1.addAttributeNodes("name", "department");
+        EntityGraphImpl<Employee1> graph2 = new EntityGraphImpl<>("graph2", Employee1.class);
+        graph2.addAttributeNodes("department", "name");
+        EntityGraphImpl<Employee1> graph3 = new EntityGraphImpl<>("graph3", Employee1.class);
+        graph3.addSubgraph("department").addAttributeNodes("company");
+
+        assertEquals(Employee1.class.getName() + "(department,name)", graph1.getFetchPlan());
+        assertEquals(graph1.getFetchPlan(), graph2.getFetchPlan());
+        assertEquals(Employee1.class.getName() + "(department(company))", graph3.getFetchPlan());
+
+        String query = "SELECT e FROM Employee1 e where e.age = :age";
+        QueryParser parser1 = QueryParserFactory.getParser(QueryLanguage.JPQL, query, Map.of(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph1));
+        QueryParser parser2 = QueryParserFactory.getParser(QueryLanguage.JPQL, query, Map.of(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph2));
+        QueryParser parser3 = QueryParserFactory.getParser(QueryLanguage.JPQL, query, Map.of(JPALiteEntityManager.PERSISTENCE_FETCHGRAPH, graph3));
+        QueryParser parser4 = QueryParserFactory.getParser(QueryLanguage.JPQL, query, Map.of(JPALiteEntityManager.PERSISTENCE_LOADGRAPH, graph1));
+        assertSame(parser1, parser2);
+        assertNotSame(parser1, parser3);
+        assertNotSame(parser1, parser4);
+    }
+
+    @Test
+    void whenNamedGraphIsRegistered_thenTheNamedGraphIsImmutable()
+    {
+        EntityGraphImpl<Employee1> graph = new EntityGraphImpl<>(null, Employee1.class);
+        graph.addAttributeNodes("department");
+        EntityMetaDataManager.registerEntityGraph("employeeWithDepartment", graph);
+
+        //Changes made to the graph after it was registered are not visible in the named graph
+        graph.addAttributeNodes("name");
+        EntityGraphImpl<?> namedGraph = (EntityGraphImpl<?>) EntityMetaDataManager.getEntityGraph("employeeWithDepartment");
+        assertEquals("employeeWithDepartment", namedGraph.getName());
+        assertEquals(Employee1.class.getName() + "(department)", namedGraph.getFetchPlan());
+        assertThrows(IllegalStateException.class, () -> namedGraph.addAttributeNodes("name"));
+        assertThrows(IllegalStateException.class, () -> namedGraph.addSubgraph("department"));
+
+        EntityGraphImpl<?> copy = namedGraph.copy(null, false);
+        copy.addAttributeNodes("name");
+        assertEquals(Employee1.class.getName() + "(department,name)", copy.getFetchPlan());
+        assertEquals(Employee1.class.getName() + "(department)", namedGraph.getFetchPlan());
+    }
+
+    @Test
+    void whenLimitsAreAdded_thenParametersFollowTheQueryParameters()
+    {
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e where e.age = :age and e.name = :name", new HashMap<>());
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", t1.NAME \"c1-2\", t1.AGE \"c1-3\", t1.DEPT \"c1-5\" " +
+                                "FROM EMPLOYEE t1 WHERE t1.AGE = ? AND t1.NAME = ?",
+                                vParser.getQuery());
+        Assertions.assertEquals(vParser.getQuery() + " LIMIT ? OFFSET ?", vParser.getQueryWithLimits());
+        Assertions.assertEquals(3, vParser.getLimitParameterPosition());
+        Assertions.assertEquals(4, vParser.getOffsetParameterPosition());
+    }
+
+    @Test
+    void whenLimitsAreAddedToQueryWithQuotedQuestionMark_thenQuotedQuestionMarkIsNotCounted()
+    {
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e where e.name = 'Who?' and e.age = :age", new HashMap<>());
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", t1.NAME \"c1-2\", t1.AGE \"c1-3\", t1.DEPT \"c1-5\" " +
+                                "FROM EMPLOYEE t1 WHERE t1.NAME = 'Who?' AND t1.AGE = ?",
+                                vParser.getQuery());
+        Assertions.assertEquals(vParser.getQuery() + " LIMIT ? OFFSET ?", vParser.getQueryWithLimits());
+        Assertions.assertEquals(2, vParser.getLimitParameterPosition());
+        Assertions.assertEquals(3, vParser.getOffsetParameterPosition());
+    }
+
+    @Test
+    void whenQueryHasLimit_thenLimitsAreNotAdded()
+    {
+        JPQLParser vParser = new JPQLParser("SELECT e FROM Employee1 e where e.age = :age limit 10", new HashMap<>());
+        Assertions.assertEquals("SELECT t1.IRN \"c1-1\", t1.NAME \"c1-2\", t1.AGE \"c1-3\", t1.DEPT \"c1-5\" " +
+                                "FROM EMPLOYEE t1 WHERE t1.AGE = ? LIMIT 10",
+                                vParser.getQuery());
+        Assertions.assertNull(vParser.getQueryWithLimits());
+    }
+
     @Test
     void whenUsingNamedParameters_thenCheckIfNamesReused()
     {
@@ -0,0 +1,125 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.jpalite.impl.queries;
+
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultSetSpliteratorTest
+{
+    private final List<String> calls = new ArrayList<>();
+
+    /**
+     * Create a result set returning the given rows from getString(1) and recording when it is closed
+     */
+    private ResultSet newResultSet(String... rows)
+    {
+        Iterator<String> iterator = List.of(rows).iterator();
+        String[] current = new String[1];
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next" -> {
+                    current[0] = iterator.hasNext() ? iterator.next() : null;
+                    return current[0] != null;
+                }
+                case "getString" -> {
+                    if ("fail".equals(current[0])) {
+                        throw new SQLException("Read failed");
+                    }//if
+                    return current[0];
+                }
+                case "close" -> calls.add("closeResultSet");
+                default -> {
+                    //Ignore
+                }
+            }//switch
+            return null;
+        });
+    }
+
+    private Stream<String> newStream(ResultSet resultSet)
+    {
+        ResultSetSpliterator<String> spliterator = new ResultSetSpliterator<>(resultSet,
+                                                                              r -> r.getString(1),
+                                                                              ex -> new PersistenceException("Translated", ex),
+                                                                              () -> calls.add("release"));
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    @Test
+    void whenStreamIsExhausted_thenResourcesAreReleasedOnce()
+    {
+        try (Stream<String> stream = newStream(newResultSet("a", "b", "c"))) {
+            assertEquals(List.of("a", "b", "c"), stream.toList());
+            assertEquals(List.of("closeResultSet", "release"), calls, "The resources must be released when the last row was read");
+        }//try
+
+        assertEquals(List.of("closeResultSet", "release"), calls);
+    }
+
+    @Test
+    void whenStreamIsClosedEarly_thenResourcesAreReleased()
+    {
+        try (Stream<String> stream = newStream(newResultSet("a", "b", "c"))) {
+            assertEquals(List.of("a"), stream.limit(1).toList());
+            assertTrue(calls.isEmpty(), "The result set must stay open until the stream is closed");
+        }//try
+
+        assertEquals(List.of("closeResultSet", "release"), calls);
+    }
+
+    @Test
+    void whenReadingARowFails_thenTheErrorIsTranslatedAndResourcesAreReleased()
+    {
+        List<String> rows = new ArrayList<>();
+        try (Stream<String> stream = newStream(newResultSet("a", "fail", "c"))) {
+            PersistenceException ex = assertThrows(PersistenceException.class, () -> stream.forEach(rows::add));
+            assertEquals("Translated", ex.getMessage());
+            assertInstanceOf(SQLException.class, ex.getCause());
+        }//try
+
+        assertEquals(List.of("a"), rows);
+        assertEquals(List.of("closeResultSet", "release"), calls);
+    }
+
+    @Test
+    void whenMappingARowFails_thenResourcesAreReleased()
+    {
+        ResultSetSpliterator<String> spliterator = new ResultSetSpliterator<>(newResultSet("a"),
+                                                                              r -> {
+                                                                                  throw new IllegalStateException("Mapping failed");
+                                                                              },
+                                                                              ex -> new PersistenceException("Translated", ex),
+                                                                              () -> calls.add("release"));
+
+        assertThrows(IllegalStateException.class, () -> spliterator.tryAdvance(calls::add));
+        assertFalse(spliterator.tryAdvance(calls::add));
+        assertEquals(List.of("closeResultSet", "release"), calls);
+    }
+}
@@ -27,6 +27,7 @@ import java.sql.Timestamp;
 @Getter
 @Setter
 @Entity
+@Cacheable
 @Table(name = "RATE_PLAN")
 public class RatePlan extends JPAEntityImpl
 {
@@ -65,4 +66,14 @@ public class RatePlan extends JPAEntityImpl
 
 	@Column(name = "CREATED_DATE", nullable = false)
 	Timestamp createdDate;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "STATUS")
+	PlanStatus status;
+
+	@Column(name = "ACTIVE")
+	boolean active;
+
+	@Column(name = "PUBLISHED", columnDefinition = "boolean")
+	Boolean published;
 }
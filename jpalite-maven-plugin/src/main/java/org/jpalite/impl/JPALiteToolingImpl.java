@@ -19,6 +19,7 @@ package org.jpalite.impl;
 
 import jakarta.persistence.*;
 import javassist.*;
+import org.jpalite.EntityAccessor;
 import org.jpalite.JPALiteTooling;
 import org.jpalite.JPALiteToolingException;
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -42,6 +44,7 @@ public class JPALiteToolingImpl implements JPALiteTooling
     public static final String ERROR_PROCESSING_FILE = "Error processing file";
 
     private final Map<String, String> entityClasses = new TreeMap<>();
+    private final List<String> accessorClasses = new ArrayList<>();
     private final List<CtClass> converterClasses = new ArrayList<>();
     private String outputDir;
     private final ClassPool classPool;
@@ -111,6 +114,131 @@ public class JPALiteToolingImpl implements JPALiteTooling
         pEntityClass.addMethod(equals);
     }//applyEquals
 
+    private CtMethod findAccessorMethod(CtClass entityClass, String methodName, CtClass[] params)
+    {
+        try {
+            CtMethod method = entityClass.getDeclaredMethod(methodName, params);
+            return isPublic(method.getModifiers()) && !isStatic(method.getModifiers()) ? method : null;
+        }//try
+        catch (NotFoundException ex) {
+            return null;
+        }//catch
+    }//findAccessorMethod
+
+    private String unboxValue(CtClass type, String value)
+    {
+        if (type.isPrimitive()) {
+            CtPrimitiveType primitiveType = (CtPrimitiveType) type;
+            return "((" + primitiveType.getWrapperName() + ")" + value + ")." + primitiveType.getGetMethodName() + "()";
+        }//if
+
+        return "(" + type.getName() + ")" + value;
+    }//unboxValue
+
+    private StringBuilder primitiveSetMethod(String entityName, String methodName, CtClass primitiveType)
+    {
+        return new StringBuilder("public void ").append(methodName).append("(Object entity, int fieldIndex, ").append(primitiveType.getName()).append(" value){")
+                .append(entityName).append(" e = (").append(entityName).append(")entity;")
+                .append("switch (fieldIndex) {");
+    }//primitiveSetMethod
+
+    private StringBuilder primitiveGetMethod(String entityName, String methodName, CtClass primitiveType)
+    {
+        return new StringBuilder("public ").append(primitiveType.getName()).append(" ").append(methodName).append("(Object entity, int fieldIndex){")
+                .append(entityName).append(" e = (").append(entityName).append(")entity;")
+                .append("switch (fieldIndex) {");
+    }//primitiveGetMethod
+
+    /**
+     * Generate a class implementing {@link EntityAccessor} for the entity. The accessor assigns an index to every field
+     * that has a public getter and setter and calls the methods directly using a switch on the index. Fields declared
+     * as a primitive long, int, double or boolean also get a case in the matching primitive getter and setter so that
+     * values read from a result set or written to the cache are not boxed.
+     *
+     * @param entityClass The entity class
+     */
+    private void generateAccessor(CtClass entityClass) throws CannotCompileException, NotFoundException, IOException
+    {
+        String entityName = entityClass.getName();
+        StringBuilder indexMethod = new StringBuilder("public int getFieldIndex(String fieldName){");
+        StringBuilder getMethod = new StringBuilder("public Object get(Object entity, int fieldIndex){")
+                .append(entityName).append(" e = (").append(entityName).append(")entity;")
+                .append("switch (fieldIndex) {");
+        StringBuilder setMethod = new StringBuilder("public void set(Object entity, int fieldIndex, Object value){")
+                .append(entityName).append(" e = (").append(entityName).append(")entity;")
+                .append("switch (fieldIndex) {");
+        Map<CtClass, String> primitiveSetters = Map.of(CtClass.longType, "setLong",
+                                                       CtClass.intType, "setInt",
+                                                       CtClass.doubleType, "setDouble",
+                                                       CtClass.booleanType, "setBoolean");
+        Map<CtClass, String> primitiveGetters = Map.of(CtClass.longType, "getLong",
+                                                       CtClass.intType, "getInt",
+                                                       CtClass.doubleType, "getDouble",
+                                                       CtClass.booleanType, "getBoolean");
+        Map<CtClass, StringBuilder> primitiveMethods = new LinkedHashMap<>();
+        Map<CtClass, StringBuilder> primitiveGetMethods = new LinkedHashMap<>();
+
+        int fieldIndex = 0;
+        for (CtField field : entityClass.getDeclaredFields()) {
+            if (!isStatic(field.getModifiers()) && !isFinal(field.getModifiers()) && !isTransient(field.getModifiers()) && !field.hasAnnotation(Transient.class)) {
+                CtClass fieldType = field.getType();
+                String methodName = field.getName().substring(0, 1).toUpperCase() + field.getName().substring(1);
+                boolean booleanField = fieldType.getName().equals(Boolean.class.getName()) || fieldType == CtClass.booleanType;
+
+                CtMethod getter = findAccessorMethod(entityClass, (booleanField ? "is" : "get") + methodName, new CtClass[]{});
+                if (getter == null && booleanField) {
+                    getter = findAccessorMethod(entityClass, "get" + methodName, new CtClass[]{});
+                }//if
+                CtMethod setter = findAccessorMethod(entityClass, "set" + methodName, new CtClass[]{fieldType});
+                if (getter == null || setter == null) {
+                    LOG.debug("Field {}::{} have no public getter or setter method - Field accessor not generated.", entityName, field.getName());
+                    continue;
+                }//if
+
+                indexMethod.append("if (\"").append(field.getName()).append("\".equals(fieldName)) {return ").append(fieldIndex).append(";}");
+                getMethod.append("case ").append(fieldIndex).append(": return ($w)e.").append(getter.getName()).append("();");
+                setMethod.append("case ").append(fieldIndex).append(": e.").append(setter.getName()).append("(").append(unboxValue(fieldType, "value")).append("); return;");
+                if (primitiveSetters.containsKey(fieldType)) {
+                    primitiveMethods.computeIfAbsent(fieldType, t -> primitiveSetMethod(entityName, primitiveSetters.get(t), t))
+                                    .append("case ").append(fieldIndex).append(": e.").append(setter.getName()).append("(value); return;");
+                }//if
+                if (primitiveGetters.containsKey(fieldType) && getter.getReturnType() == fieldType) {
+                    primitiveGetMethods.computeIfAbsent(fieldType, t -> primitiveGetMethod(entityName, primitiveGetters.get(t), t))
+                                       .append("case ").append(fieldIndex).append(": return e.").append(getter.getName()).append("();");
+                }//if
+                fieldIndex++;
+            }//if
+        }//for
+
+        indexMethod.append("return -1;}");
+        getMethod.append("default: break;}")
+                 .append("throw new IllegalArgumentException(\"Invalid field index \" + fieldIndex + \" for ").append(entityName).append("\");}");
+        setMethod.append("default: break;}")
+                 .append("throw new IllegalArgumentException(\"Invalid field index \" + fieldIndex + \" for ").append(entityName).append("\");}");
+
+        CtClass accessorClass = classPool.makeClass(entityName + EntityAccessor.ACCESSOR_SUFFIX);
+        accessorClass.setModifiers(PUBLIC | FINAL);
+        accessorClass.addInterface(classPool.get(EntityAccessor.class.getName()));
+        accessorClass.addConstructor(CtNewConstructor.defaultConstructor(accessorClass));
+        accessorClass.addMethod(CtMethod.make(indexMethod.toString(), accessorClass));
+        accessorClass.addMethod(CtMethod.make(getMethod.toString(), accessorClass));
+        accessorClass.addMethod(CtMethod.make(setMethod.toString(), accessorClass));
+        for (StringBuilder primitiveMethod : primitiveMethods.values()) {
+            //Fields of other types fall back to the boxed setter
+            primitiveMethod.append("default: set(entity, fieldIndex, ($w)value);}}");
+            accessorClass.addMethod(CtMethod.make(primitiveMethod.toString(), accessorClass));
+        }//for
+        for (Map.Entry<CtClass, StringBuilder> primitiveMethod : primitiveGetMethods.entrySet()) {
+            //Fields of other types fall back to the boxed getter
+            primitiveMethod.getValue().append("default: return ").append(unboxValue(primitiveMethod.getKey(), "get(entity, fieldIndex)")).append(";}}");
+            accessorClass.addMethod(CtMethod.make(primitiveMethod.getValue().toString(), accessorClass));
+        }//for
+        accessorClass.writeFile(outputDir);
+        accessorClass.detach();
+
+        accessorClasses.add(accessorClass.getName());
+    }//generateAccessor
+
     private void applyTooling(CtClass entityClass) throws JPALiteToolingException
     {
         try {
@@ -150,6 +278,13 @@ public class JPALiteToolingImpl implements JPALiteTooling
             ctClass.addField(checkField);
 
             ctClass.writeFile(outputDir);
+
+            try {
+                generateAccessor(ctClass);
+            }//try
+            catch (NotFoundException accessorEx) {
+                throw new JPALiteToolingException("Error generating field accessor for " + ctClass.getName(), accessorEx);
+            }//catch
         }//else
     }//toolClass
 
@@ -207,6 +342,7 @@ public class JPALiteToolingImpl implements JPALiteTooling
         this.outputDir = outputDir;
         try {
             entityClasses.clear();
+            accessorClasses.clear();
             converterClasses.clear();
 
             classPool.insertClassPath(outputDir);
@@ -252,6 +388,19 @@ public class JPALiteToolingImpl implements JPALiteTooling
 
                     }
 
+                    //The generated accessors are loaded with Class.forName() and must be registered for reflection
+                    for (String accessorClass : accessorClasses) {
+                        if (first) {
+                            first = false;
+                        } else {
+                            nativeImageStream.write(',');
+                        }//else
+
+                        nativeImageStream.write("{\n\"name\": \"".getBytes());
+                        nativeImageStream.write(accessorClass.getBytes());
+                        nativeImageStream.write(vAttrs.getBytes());
+                    }//for
+
                     if (!converterClasses.isEmpty()) {
                         try (FileOutputStream converterStream = new FileOutputStream(outputDir + "/META-INF/services/org.jpalite.FieldConvertType")) {
                             for (CtClass convertClass : converterClasses) {
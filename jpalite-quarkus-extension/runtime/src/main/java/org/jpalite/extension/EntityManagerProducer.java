@@ -1,6 +1,7 @@
 package org.jpalite.extension;
 
 import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.persistence.EntityManager;
@@ -48,6 +49,13 @@ public class EntityManagerProducer
         return entityManagerFactoryList.computeIfAbsent(persistenceUnitName, Persistence::createEntityManagerFactory);
     }
 
+    @PreDestroy
+    public void close()
+    {
+        entityManagerFactoryList.values().forEach(EntityManagerFactory::close);
+        entityManagerFactoryList.clear();
+    }//close
+
     public EntityManager getEntityManager(String persistenceUnit)
     {
         return new TransactionScopedEntityManagerImpl(getEntityManagerFactory(persistenceUnit),
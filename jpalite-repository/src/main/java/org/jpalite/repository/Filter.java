@@ -57,22 +57,9 @@ public class Filter
 					yield field + " " + operator.getOperator() + " :" + paramName + "1 and :" + paramName + "2";
 				}
 				case IN, NOTIN -> {
-					StringBuilder expr = new StringBuilder(field);
-					expr.append(" ")
-							.append(operator.getOperator())
-							.append(" (");
-
-					int paramNr = 1;
-					for (Object param : parameter) {
-						params.put(paramName + paramNr, param);
-						if (paramNr > 1) {
-							expr.append(",");
-						}//if
-						expr.append(":").append(paramName).append(paramNr);
-						paramNr++;
-					}//for
-					expr.append(")");
-					yield expr.toString();
+					//The values are passed as a single list parameter that is bound as an array, so that the expression is the same for any number of values
+					params.put(paramName + "1", Arrays.asList(parameter));
+					yield field + " " + operator.getOperator() + " (:" + paramName + "1)";
 				}
 				case CONTAINS, CONTAINS_NOT, BEGINS_WITH, ENDS_WITH -> {
 					StringBuilder expr = new StringBuilder(field);
@@ -193,6 +193,7 @@ public class JPALiteRepositoryProcessor extends AbstractProcessor
         out.println("\";");
         out.println("  Map<String, Object> parameters = new HashMap<>();");
         out.println("  if (!filter.isUnfiltered()) q = q+\" where \"+filter.getExpression(parameters); ");
+        out.println("  if (!pageable.getKeyset().isEmpty()) q = q+(filter.isUnfiltered() ? \" where \" : \" and \")+pageable.getKeysetExpression(parameters);");
         out.println("  if (!pageable.getSort().isUnsorted()) q = q+\" order by \"+pageable.getSort().getExpression();");
         out.print("  TypedQuery<");
         out.print(vArgType);
@@ -17,11 +17,32 @@
 
 package org.jpalite.repository;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The pageable control. Two modes of paging are supported:
+ * <ul>
+ * <li>Offset paging, selecting a page using an offset and a limit. Deep pages will read and discard all the preceding
+ * rows.</li>
+ * <li>Keyset paging, selecting the page following the last-seen values of the sort fields. The cost of reading a page
+ * is independent of the depth of the page. See {@link #ofKeyset(int, Sort)} and {@link #after(Object...)}.</li>
+ * </ul>
+ */
 public class Pageable
 {
+	private static final String KEYSET_PARAM = "pageKeyset";
 	private final int pageNumber;
 	private final int pageSize;
 	private final Sort sort;
+	/**
+	 * The last-seen values of the sort fields. Null when using offset paging and empty on the first keyset page
+	 */
+	private final List<Object> keyset;
 
 	public static Pageable unpaged()
 	{
@@ -54,11 +75,34 @@ public class Pageable
 		return Pageable.of(parser.getOffset() / parser.getLimit(), parser.getLimit(), parser.getSort());
 	}
 
+	/**
+	 * Create a pageable control for the first page using keyset paging. The sort fields must uniquely identify an
+	 * entity (end the sort with the id field) and must not be null.
+	 *
+	 * @param pageSize The page size
+	 * @param sort     The sort control
+	 * @return The pageable control
+	 */
+	public static Pageable ofKeyset(int pageSize, Sort sort)
+	{
+		if (sort == null || sort.isUnsorted()) {
+			throw new IllegalArgumentException("Keyset paging requires a sort control");
+		}//if
+
+		return new Pageable(0, pageSize, sort, Collections.emptyList());
+	}//ofKeyset
+
 	private Pageable(int pageNumber, int pageSize, Sort sort)
+	{
+		this(pageNumber, pageSize, sort, null);
+	}
+
+	private Pageable(int pageNumber, int pageSize, Sort sort, List<Object> keyset)
 	{
 		this.pageNumber = pageNumber;
 		this.pageSize = pageSize;
 		this.sort = sort;
+		this.keyset = keyset;
 	}
 
 	public int getPageNumber()
@@ -79,9 +123,90 @@ public class Pageable
 
 	public int getPageIndex()
 	{
-		return pageNumber * pageSize;
+		return isKeyset() ? 0 : pageNumber * pageSize;
 	}
 
+	public boolean isKeyset()
+	{
+		return keyset != null;
+	}
+
+	/**
+	 * @return The last-seen values of the sort fields, empty if this is the first page or if not using keyset paging
+	 */
+	public List<Object> getKeyset()
+	{
+		return keyset == null ? Collections.emptyList() : Collections.unmodifiableList(keyset);
+	}
+
+	/**
+	 * Return the pageable control for the page following the entity with the given sort field values. The values must
+	 * be given in the order of the sort fields.
+	 *
+	 * @param lastSortKeys The sort field values of the last entity on the current page
+	 * @return The pageable control for the next page
+	 */
+	public Pageable after(Object... lastSortKeys)
+	{
+		if (!isKeyset()) {
+			throw new IllegalStateException("Pageable is not using keyset paging");
+		}//if
+
+		if (lastSortKeys == null || lastSortKeys.length != sort.stream().count()) {
+			throw new IllegalArgumentException("A value must be provided for every sort field");
+		}//if
+
+		return new Pageable(getPageNumber() + 1, getPageSize(), getSort(), Arrays.asList(lastSortKeys));
+	}//after
+
+	/**
+	 * Build the predicate selecting the entities following the last-seen sort field values. If all the sort fields are
+	 * sorted in the same direction a row value comparison is used, eg (name, id) > (:pageKeyset1, :pageKeyset2).
+	 *
+	 * @param params The map the parameters are added to
+	 * @return The predicate or an empty string if this is the first page or if not using keyset paging
+	 */
+	public String getKeysetExpression(Map<String, Object> params)
+	{
+		if (keyset == null || keyset.isEmpty()) {
+			return "";
+		}//if
+
+		List<SortOrder> orders = sort.stream().toList();
+		for (int i = 0; i < orders.size(); i++) {
+			params.put(KEYSET_PARAM + (i + 1), keyset.get(i));
+		}//for
+
+		boolean descending = orders.getFirst().getDirection().isDescending();
+		if (orders.size() == 1) {
+			return "(" + orders.getFirst().getField() + (descending ? " < :" : " > :") + KEYSET_PARAM + "1)";
+		}//if
+
+		if (orders.stream().allMatch(o -> o.getDirection().isDescending() == descending)) {
+			return "((" + orders.stream().map(SortOrder::getField).collect(Collectors.joining(", ")) + ")" +
+					(descending ? " < (" : " > (") +
+					IntStream.rangeClosed(1, orders.size()).mapToObj(i -> ":" + KEYSET_PARAM + i).collect(Collectors.joining(", ")) + "))";
+		}//if
+
+		//Mixed directions, (a > :k1) or (a = :k1 and b < :k2) ...
+		StringBuilder expression = new StringBuilder("(");
+		for (int i = 0; i < orders.size(); i++) {
+			if (i > 0) {
+				expression.append(" or ");
+			}//if
+			expression.append("(");
+			for (int j = 0; j < i; j++) {
+				expression.append(orders.get(j).getField()).append(" = :").append(KEYSET_PARAM).append(j + 1).append(" and ");
+			}//for
+			SortOrder order = orders.get(i);
+			expression.append(order.getField())
+					.append(order.getDirection().isDescending() ? " < :" : " > :")
+					.append(KEYSET_PARAM).append(i + 1)
+					.append(")");
+		}//for
+		return expression.append(")").toString();
+	}//getKeysetExpression
+
 	public boolean isUnpaged()
 	{
 		return (pageSize == Integer.MAX_VALUE);
@@ -89,17 +214,25 @@ public class Pageable
 
 	public Pageable next()
 	{
+		if (isKeyset()) {
+			throw new IllegalStateException("Use after() to move to the next page when using keyset paging");
+		}//if
+
 		return new Pageable(getPageNumber() + 1, getPageSize(), getSort());
 	}
 
 	public Pageable previous()
 	{
+		if (isKeyset()) {
+			throw new IllegalStateException("Keyset paging can only move forward");
+		}//if
+
 		return getPageNumber() == 0 ? this : new Pageable(getPageNumber() - 1, getPageSize(), getSort());
 	}
 
 	public Pageable first()
 	{
-		return new Pageable(0, getPageSize(), getSort());
+		return isKeyset() ? ofKeyset(getPageSize(), getSort()) : new Pageable(0, getPageSize(), getSort());
 	}
 
 	public String getExpression()
@@ -109,8 +242,10 @@ public class Pageable
 			stringBuilder.append("order by ").append(sort.getExpression());
 		}//if
 		if (!isUnpaged()) {
-			stringBuilder.append(" offset ").append(getPageIndex())
-					.append(" limit ").append(getPageSize());
+			if (!isKeyset()) {
+				stringBuilder.append(" offset ").append(getPageIndex());
+			}//if
+			stringBuilder.append(" limit ").append(getPageSize());
 		}//if
 		return stringBuilder.toString();
 	}
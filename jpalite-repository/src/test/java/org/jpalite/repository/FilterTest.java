@@ -20,6 +20,7 @@ package org.jpalite.repository;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,20 +108,20 @@ class FilterTest
 		Filter filter = Filter.of("test", Operators.IN, 2, 3, 4);
 		Map<String, Object> parameters = new HashMap<>();
 		String expression = filter.getExpression(parameters);
-		assertEquals("test in (:test1,:test2,:test3)", expression);
-		assertEquals(3, parameters.size());
-		assertEquals(2, parameters.get("test1"));
-		assertEquals(3, parameters.get("test2"));
-		assertEquals(4, parameters.get("test3"));
+		assertEquals("test in (:test1)", expression);
+		assertEquals(1, parameters.size());
+		assertEquals(List.of(2, 3, 4), parameters.get("test1"));
 
 		filter = Filter.of("test", Operators.NOTIN, 2, 3, 4);
 		parameters = new HashMap<>();
 		expression = filter.getExpression(parameters);
-		assertEquals("test not in (:test1,:test2,:test3)", expression);
-		assertEquals(3, parameters.size());
-		assertEquals(2, parameters.get("test1"));
-		assertEquals(3, parameters.get("test2"));
-		assertEquals(4, parameters.get("test3"));
+		assertEquals("test not in (:test1)", expression);
+		assertEquals(1, parameters.size());
+		assertEquals(List.of(2, 3, 4), parameters.get("test1"));
+
+		//The expression must not depend on the number of values
+		assertEquals(Filter.of("test", Operators.IN, 2).getExpression(new HashMap<>()),
+					 Filter.of("test", Operators.IN, 2, 3, 4, 5).getExpression(new HashMap<>()));
 	}
 
 	@Test
@@ -19,8 +19,10 @@ package org.jpalite.repository;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class PageableTest
 {
@@ -76,4 +78,28 @@ class PageableTest
 		assertEquals(100, test.getPageSize());
 		assertEquals("order by test ASC offset 100 limit 100", test.getExpression());
 	}
+
+	@Test
+	void testKeyset()
+	{
+		Map<String, Object> params = new HashMap<>();
+		Pageable test = Pageable.ofKeyset(10, Sort.by("name", "id"));
+		assertTrue(test.isKeyset());
+		assertEquals(0, test.getPageIndex());
+		assertEquals("", test.getKeysetExpression(params));
+		assertEquals("order by name ASC, id ASC limit 10", test.getExpression());
+
+		test = test.after("Smith", 100L);
+		assertEquals(1, test.getPageNumber());
+		assertEquals(0, test.getPageIndex());
+		assertEquals("((name, id) > (:pageKeyset1, :pageKeyset2))", test.getKeysetExpression(params));
+		assertEquals("Smith", params.get("pageKeyset1"));
+		assertEquals(100L, params.get("pageKeyset2"));
+
+		test = Pageable.ofKeyset(10, Sort.by(new SortOrder(Direction.DESC, "name"), new SortOrder(Direction.ASC, "id"))).after("Smith", 100L);
+		assertEquals("((name < :pageKeyset1) or (name = :pageKeyset1 and id > :pageKeyset2))", test.getKeysetExpression(params));
+
+		assertThrows(IllegalArgumentException.class, () -> Pageable.ofKeyset(10, Sort.by("name")).after("Smith", 100L));
+		assertThrows(IllegalStateException.class, () -> Pageable.of(0, 10).after("Smith"));
+	}
 }